@@ -0,0 +1,51 @@
+#!/bin/env python
+# Startup benchmark: time until a script prints its first output,
+# graalphp-native (pre-initialized context) compared to the JVM launcher.
+import os
+import statistics
+import subprocess
+import sys
+import time
+
+RUNS = 20
+
+
+def out(val):
+    print(val, flush=True)
+
+
+# microseconds from process start until first byte on stdout
+def time_to_first_output(binary, script):
+    start = time.perf_counter()
+    process = subprocess.Popen([binary, script], stdout=subprocess.PIPE)
+    process.stdout.read(1)
+    first_output = time.perf_counter()
+    process.stdout.read()
+    process.wait()
+    return int((first_output - start) * 1000 * 1000)
+
+
+def run(name, binary, script):
+    if not os.path.exists(binary):
+        out("[!] binary not found: " + binary)
+        return
+    # first run warms up the file system cache
+    time_to_first_output(binary, script)
+    timings = [time_to_first_output(binary, script) for _ in range(RUNS)]
+    out("%s: min %d us, median %d us, max %d us (%d runs)" % (
+        name, min(timings), statistics.median(timings), max(timings), RUNS))
+
+
+def do_startup_benchmark():
+    GRAALPHP_HOME = os.environ.get('GRAALPHP_HOME')
+    if not GRAALPHP_HOME:
+        out("[!] GRAALPHP_HOME not set to run graalphp")
+        sys.exit(1)
+    dir = os.path.dirname(os.path.realpath(__file__))
+    script = os.path.join(dir, 'startup', 'hello.graalphp')
+
+    run('graalphp-native', os.path.join(GRAALPHP_HOME, 'graalphp-native', 'graalphp-native'), script)
+    run('graalphp', os.path.join(GRAALPHP_HOME, 'graalphp'), script)
+
+
+do_startup_benchmark()
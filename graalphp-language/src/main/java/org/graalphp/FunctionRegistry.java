@@ -3,6 +3,7 @@ package org.graalphp;
 import org.graalphp.exception.PhpException;
 import org.graalphp.types.PhpFunction;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -28,6 +29,10 @@ public final class FunctionRegistry {
         return this.functions.get(name);
     }
 
+    public Collection<PhpFunction> getFunctions() {
+        return this.functions.values();
+    }
+
     public void register(String name, PhpFunction fn, boolean allowOverwrite) {
         boolean contains = this.functions.containsKey(name);
         if (contains) {
@@ -1,94 +1,98 @@
 package org.graalphp;
 
-import com.oracle.truffle.api.RootCallTarget;
-import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.TruffleLanguage;
-import com.oracle.truffle.api.dsl.NodeFactory;
-import com.oracle.truffle.api.frame.FrameDescriptor;
-import org.graalphp.builtins.MaxBuiltin;
-import org.graalphp.builtins.MaxBuiltinFactory;
-import org.graalphp.builtins.MinBuiltin;
-import org.graalphp.builtins.MinBuiltinFactory;
-import org.graalphp.builtins.PhpBuiltinNode;
-import org.graalphp.builtins.SqrtBuiltin;
-import org.graalphp.builtins.SqrtBuiltinFactory;
-import org.graalphp.builtins.TimeNsBuiltin;
-import org.graalphp.builtins.TimeNsBuiltinFactory;
-import org.graalphp.builtins.language.ArrayFillBuiltin;
-import org.graalphp.builtins.language.ArrayFillBuiltinFactory;
-import org.graalphp.builtins.language.PrintBuiltin;
-import org.graalphp.builtins.language.PrintBuiltinFactory;
-import org.graalphp.builtins.language.PrintlnBuiltin;
-import org.graalphp.builtins.language.PrintlnBuiltinFactory;
-import org.graalphp.nodes.PhpExprNode;
-import org.graalphp.nodes.function.PhpFunctionRootNode;
-import org.graalphp.nodes.localvar.ReadArgNode;
-import org.graalphp.parser.ParseScope;
-import org.graalphp.runtime.assign.AssignRuntimeFactory;
+import org.graalphp.exception.PhpException;
+import org.graalphp.runtime.PhpOutput;
 import org.graalphp.types.PhpFunction;
 
 import java.io.BufferedReader;
 import java.io.InputStreamReader;
-import java.io.PrintWriter;
+import java.util.Arrays;
 
 /**
  * @author abertschi
  */
 public final class PhpContext {
 
-    private final BufferedReader input;
-    private final PrintWriter output;
+    // XXX: not final, a pre-initialized context is patched with the environment at startup
+    private BufferedReader input;
+    private PhpOutput output;
     private final PhpLanguage language;
-    private ParseScope rootScope;
+
+    // functions defined in this context, indexed by function id
+    private PhpFunction[] functions = new PhpFunction[0];
+
+    // 0 if arrays are never stored off-heap
+    private int offHeapArrayThreshold;
 
     public PhpContext(PhpLanguage language, TruffleLanguage.Env env) {
-        this.input = new BufferedReader(new InputStreamReader(env.in()));
-        this.output = new PrintWriter(env.out(), true);
         this.language = language;
-        this.rootScope = ParseScope.newGlobalScope();
-        installBuiltins();
+        patch(env);
+    }
+
+    /**
+     * Define builtins and functions of the prelude.
+     * May run while the native image is built, must not depend on the environment.
+     */
+    public void initialize() {
+        for (PhpFunction builtin : language.getBuiltins().getFunctions()) {
+            defineFunction(builtin);
+        }
+        for (PhpFunction function : language.getPrelude()) {
+            defineFunction(function);
+        }
+    }
+
+    /**
+     * Use streams and options of given environment
+     */
+    public void patch(TruffleLanguage.Env env) {
+        this.input = new BufferedReader(new InputStreamReader(env.in()));
+        this.output = new PhpOutput(env.out());
+        this.offHeapArrayThreshold = env.getOptions().get(PhpOptions.OffHeapArrayThreshold);
     }
 
     public BufferedReader getInput() {
         return input;
     }
 
-    public PrintWriter getOutput() {
+    public PhpOutput getOutput() {
         return output;
     }
 
-    private void installBuiltins() {
-        installBuiltin(PrintBuiltin.NAME, PrintBuiltinFactory.getInstance());
-        installBuiltin(PrintlnBuiltin.NAME, PrintlnBuiltinFactory.getInstance());
-        installBuiltin(TimeNsBuiltin.NAME, TimeNsBuiltinFactory.getInstance());
-        installBuiltin(MinBuiltin.NAME, MinBuiltinFactory.getInstance());
-        installBuiltin(MaxBuiltin.NAME, MaxBuiltinFactory.getInstance());
-        installBuiltin(ArrayFillBuiltin.NAME, ArrayFillBuiltinFactory.getInstance());
-        installBuiltin(SqrtBuiltin.NAME, SqrtBuiltinFactory.getInstance());
+    public PhpLanguage getLanguage() {
+        return language;
     }
 
-    public void installBuiltin(String name, NodeFactory<? extends PhpBuiltinNode> factory) {
-        final int argCount = factory.getExecutionSignature().size();
-        PhpExprNode[] arguments = new PhpExprNode[argCount];
-        for (int i = 0; i < argCount; i++) {
-            // XXX: Builtin functions currently always get values assigned by value
-            arguments[i] = AssignRuntimeFactory.createForwardValueNode(false, new ReadArgNode(i));
-        }
-        PhpBuiltinNode builtin = factory.createNode((Object) arguments);
-        FrameDescriptor functionDescriptor = new FrameDescriptor();
-        PhpFunctionRootNode rootNode =
-                new PhpFunctionRootNode(language, functionDescriptor, name, builtin);
-        RootCallTarget callTarget = Truffle.getRuntime().createCallTarget(rootNode);
-        PhpFunction function =
-                new PhpFunction(name, new ParseScope(functionDescriptor, rootScope), callTarget);
-        rootScope.getFunctions().register(name, function, false);
+    /**
+     * @return true if a long or double array of given capacity is stored off-heap
+     * @see PhpOptions#OffHeapArrayThreshold
+     */
+    public boolean isOffHeapArray(int capacity) {
+        return offHeapArrayThreshold > 0 && capacity >= offHeapArrayThreshold;
     }
 
-    public ParseScope getRootScope() {
-        return rootScope;
+    /**
+     * @return function defined in this context with given id, null if not defined
+     * @see PhpLanguage#getFunctionId(String)
+     */
+    public PhpFunction getFunction(int id) {
+        final PhpFunction[] fns = this.functions;
+        return id < fns.length ? fns[id] : null;
     }
 
-    public void setRootScope(ParseScope rootScope) {
-        this.rootScope = rootScope;
+    // XXX: Defining the same declaration twice is allowed, e.g. if a script is evaluated twice
+    @TruffleBoundary
+    public void defineFunction(PhpFunction function) {
+        final int id = language.getFunctionId(function.getName());
+        if (id >= functions.length) {
+            functions = Arrays.copyOf(functions, Math.max(id + 1, functions.length * 2));
+        }
+        final PhpFunction defined = functions[id];
+        if (defined != null && defined != function) {
+            throw new PhpException("Function already defined: " + function.getName(), null);
+        }
+        functions[id] = function;
     }
 }
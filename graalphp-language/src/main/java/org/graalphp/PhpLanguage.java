@@ -1,17 +1,64 @@
 package org.graalphp;
 
 import com.oracle.truffle.api.*;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.TruffleLanguage.ContextPolicy;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.frame.FrameDescriptor;
 import com.oracle.truffle.api.interop.InteropLibrary;
 import com.oracle.truffle.api.interop.TruffleObject;
 import com.oracle.truffle.api.interop.UnsupportedMessageException;
 import com.oracle.truffle.api.source.Source;
+import org.graalphp.builtins.MaxBuiltin;
+import org.graalphp.builtins.MaxBuiltinFactory;
+import org.graalphp.builtins.MinBuiltin;
+import org.graalphp.builtins.MinBuiltinFactory;
+import org.graalphp.builtins.PhpBuiltinNode;
+import org.graalphp.builtins.SqrtBuiltin;
+import org.graalphp.builtins.SqrtBuiltinFactory;
+import org.graalphp.builtins.TimeNsBuiltin;
+import org.graalphp.builtins.TimeNsBuiltinFactory;
+import org.graalphp.builtins.language.ArrayFillBuiltin;
+import org.graalphp.builtins.language.ArrayFillBuiltinFactory;
+import org.graalphp.builtins.language.CountBuiltin;
+import org.graalphp.builtins.language.CountBuiltinFactory;
+import org.graalphp.builtins.language.ObFlushBuiltin;
+import org.graalphp.builtins.language.ObFlushBuiltinFactory;
+import org.graalphp.builtins.language.ObGetCleanBuiltin;
+import org.graalphp.builtins.language.ObGetCleanBuiltinFactory;
+import org.graalphp.builtins.language.ObStartBuiltin;
+import org.graalphp.builtins.language.ObStartBuiltinFactory;
+import org.graalphp.builtins.language.PrintBuiltin;
+import org.graalphp.builtins.language.PrintBuiltinFactory;
+import org.graalphp.builtins.language.PrintlnBuiltin;
+import org.graalphp.builtins.language.PrintlnBuiltinFactory;
+import org.graalphp.builtins.language.StrlenBuiltin;
+import org.graalphp.builtins.language.StrlenBuiltinFactory;
+import org.graalphp.exception.PhpException;
+import org.graalphp.nodes.PhpExprNode;
 import org.graalphp.nodes.PhpGlobalRootNode;
+import org.graalphp.nodes.function.PhpFunctionRootNode;
+import org.graalphp.nodes.localvar.ReadArgNode;
+import org.graalphp.parser.PhpParseCache;
 import org.graalphp.parser.PhpParser;
 import org.graalphp.parser.StmtVisitor;
+import org.graalphp.runtime.PhpInternTable;
+import org.graalphp.runtime.assign.AssignRuntimeFactory;
+import org.graalphp.types.PhpFunction;
 import org.graalphp.types.PhpNull;
+import org.graalphp.types.PhpString;
 import org.graalphp.util.PhpLogger;
 import org.graalphp.util.Logger;
+import org.graalvm.options.OptionDescriptors;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @TruffleLanguage.Registration(
         id = PhpLanguage.ID,
@@ -28,20 +75,159 @@ public final class PhpLanguage extends TruffleLanguage<PhpContext> {
 
     public static boolean RETURN_LAST_EXPR = true;
 
+    private static final String PRELUDE = "/org/graalphp/prelude.php";
+
     private final static Logger LOG = PhpLogger
             .getLogger(PhpLanguage.class.getCanonicalName());
 
+    // shared by all contexts, see ContextPolicy.SHARED
+    private final PhpInternTable internTable = new PhpInternTable();
+
+    // parsed sources by content, see ContextPolicy.SHARED
+    private final PhpParseCache parseCache = new PhpParseCache();
+
+    // number of sources parsed by parse(), i.e. misses of all caches
+    private final AtomicInteger parsedSources = new AtomicInteger();
+
+    // builtins and ASTs do not depend on a context and are shared by all contexts
+    private FunctionRegistry builtins;
+
+    // parsed once, ASTs of pre-initialized contexts are stored in the native image
+    private PhpFunction[] prelude;
+
+    // functions are looked up by id in the function table of the current context
+    private final Map<String, Integer> functionIds = new HashMap<>();
+
     public PhpLanguage() {
     }
 
+    public PhpParseCache getParseCache() {
+        return parseCache;
+    }
+
+    public int getParsedSourceCount() {
+        return parsedSources.get();
+    }
+
+    public PhpInternTable getInternTable() {
+        return internTable;
+    }
+
+    // XXX: call targets cannot be created before the language is initialized
+    public synchronized FunctionRegistry getBuiltins() {
+        if (builtins == null) {
+            builtins = new FunctionRegistry();
+            installBuiltins();
+        }
+        return builtins;
+    }
+
+    /**
+     * @return id of the function with given name, same id for all contexts
+     * @see PhpContext#getFunction(int)
+     */
+    @TruffleBoundary
+    public synchronized int getFunctionId(String name) {
+        Integer id = functionIds.get(name);
+        if (id == null) {
+            id = functionIds.size();
+            functionIds.put(name, id);
+        }
+        return id;
+    }
+
+    /**
+     * @return functions of the prelude, standard library functions implemented in PHP
+     */
+    public synchronized PhpFunction[] getPrelude() {
+        if (prelude == null) {
+            prelude = parsePrelude();
+        }
+        return prelude;
+    }
+
+    private PhpFunction[] parsePrelude() {
+        final InputStream stream = PhpLanguage.class.getResourceAsStream(PRELUDE);
+        if (stream == null) {
+            throw new PhpException("Prelude not found: " + PRELUDE, null);
+        }
+        try (Reader reader = new InputStreamReader(stream, StandardCharsets.UTF_8)) {
+            final Source source =
+                    Source.newBuilder(ID, reader, "prelude.php").internal(true).build();
+            return new PhpParser(this).parseSource(source).getScope().getDeclaredFunctions();
+        } catch (IOException e) {
+            throw new PhpException("Could not read prelude: " + e.getMessage(), null);
+        }
+    }
+
+    private void installBuiltins() {
+        installBuiltin(PrintBuiltin.NAME, PrintBuiltinFactory.getInstance());
+        installBuiltin(PrintlnBuiltin.NAME, PrintlnBuiltinFactory.getInstance());
+        installBuiltin(TimeNsBuiltin.NAME, TimeNsBuiltinFactory.getInstance());
+        installBuiltin(MinBuiltin.NAME, MinBuiltinFactory.getInstance());
+        installBuiltin(MaxBuiltin.NAME, MaxBuiltinFactory.getInstance());
+        installBuiltin(ArrayFillBuiltin.NAME, ArrayFillBuiltinFactory.getInstance());
+        installBuiltin(CountBuiltin.NAME, CountBuiltinFactory.getInstance());
+        installBuiltin(SqrtBuiltin.NAME, SqrtBuiltinFactory.getInstance());
+        installBuiltin(StrlenBuiltin.NAME, StrlenBuiltinFactory.getInstance());
+        installBuiltin(ObStartBuiltin.NAME, ObStartBuiltinFactory.getInstance());
+        installBuiltin(ObGetCleanBuiltin.NAME, ObGetCleanBuiltinFactory.getInstance());
+        installBuiltin(ObFlushBuiltin.NAME, ObFlushBuiltinFactory.getInstance());
+    }
+
+    public void installBuiltin(String name, NodeFactory<? extends PhpBuiltinNode> factory) {
+        final int argCount = factory.getExecutionSignature().size();
+        PhpExprNode[] arguments = new PhpExprNode[argCount];
+        for (int i = 0; i < argCount; i++) {
+            // XXX: Builtin functions currently always get values assigned by value
+            arguments[i] = AssignRuntimeFactory.createForwardValueNode(false, new ReadArgNode(i));
+        }
+        PhpBuiltinNode builtin = factory.createNode((Object) arguments);
+        FrameDescriptor functionDescriptor = new FrameDescriptor();
+        PhpFunctionRootNode rootNode =
+                new PhpFunctionRootNode(this, functionDescriptor, name, builtin);
+        RootCallTarget callTarget = Truffle.getRuntime().createCallTarget(rootNode);
+        PhpFunction function = new PhpFunction(name, null, callTarget);
+        function.setBuiltinFactory(factory);
+        getBuiltins().register(name, function, false);
+    }
+
+    @Override
+    protected OptionDescriptors getOptionDescriptors() {
+        return new PhpOptionsOptionDescriptors();
+    }
+
     @Override
     protected PhpContext createContext(Env env) {
         return new PhpContext(this, env);
     }
 
+    @Override
+    protected void initializeContext(PhpContext context) {
+        context.initialize();
+    }
+
+    // called at startup if the context was pre-initialized in a native image
+    @Override
+    protected boolean patchContext(PhpContext context, Env newEnv) {
+        context.patch(newEnv);
+        return true;
+    }
+
+    @Override
+    protected void disposeContext(PhpContext context) {
+        context.getOutput().close();
+    }
+
     @Override
     protected CallTarget parse(ParsingRequest request) throws Exception {
         Source source = request.getSource();
+        final boolean returnLastExpr = RETURN_LAST_EXPR;
+        final CallTarget cached = parseCache.get(source, returnLastExpr);
+        if (cached != null) {
+            return cached;
+        }
+        parsedSources.incrementAndGet();
         PhpParser phpParser = new PhpParser(this);
 
         StmtVisitor.StmtVisitorContext parseResult = phpParser.parseSource(source);
@@ -50,10 +236,11 @@ public final class PhpLanguage extends TruffleLanguage<PhpContext> {
                         this,
                         parseResult.getScope().getFrameDesc(),
                         parseResult.getStmts(),
-                        RETURN_LAST_EXPR);
-
-        getCurrentContext().setRootScope(parseResult.getScope());
-        return Truffle.getRuntime().createCallTarget(evalMain);
+                        parseResult.getScope().getDeclaredFunctions(),
+                        returnLastExpr);
+        final CallTarget target = Truffle.getRuntime().createCallTarget(evalMain);
+        parseCache.put(source, returnLastExpr, target);
+        return target;
     }
 
     @Override
@@ -65,7 +252,7 @@ public final class PhpLanguage extends TruffleLanguage<PhpContext> {
     protected boolean isObjectOfLanguage(Object object) {
         if (!(object instanceof TruffleObject)) {
             return false;
-        } else if (object instanceof PhpNull) {
+        } else if (object instanceof PhpNull || object instanceof PhpString) {
             return true;
         } else {
             return false;
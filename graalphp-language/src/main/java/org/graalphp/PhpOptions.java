@@ -0,0 +1,24 @@
+package org.graalphp;
+
+import com.oracle.truffle.api.Option;
+import org.graalvm.options.OptionCategory;
+import org.graalvm.options.OptionKey;
+import org.graalvm.options.OptionStability;
+
+/**
+ * Context options of graalphp, i.e. --php.OffHeapArrayThreshold=1000000
+ *
+ * @author abertschi
+ */
+@Option.Group(PhpLanguage.ID)
+public final class PhpOptions {
+
+    @Option(help = "Store long and double arrays with at least this many elements off-heap. " +
+            "0 disables off-heap arrays.",
+            category = OptionCategory.EXPERT,
+            stability = OptionStability.EXPERIMENTAL)
+    public static final OptionKey<Integer> OffHeapArrayThreshold = new OptionKey<>(0);
+
+    private PhpOptions() {
+    }
+}
@@ -13,4 +13,12 @@ public abstract class PhpBuiltinNode extends PhpExprNode {
 
     protected abstract PhpExprNode[] getArguments();
 
+    /**
+     * @return true if a result is never referenced by anything else, e.g. a new array.
+     * Assignments of a fresh result skip copy-on-write.
+     */
+    public boolean isResultFresh() {
+        return false;
+    }
+
 }
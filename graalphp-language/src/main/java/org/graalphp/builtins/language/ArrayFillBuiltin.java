@@ -1,14 +1,21 @@
 package org.graalphp.builtins.language;
 
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.CachedContext;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.library.CachedLibrary;
 import com.oracle.truffle.api.nodes.NodeInfo;
+import org.graalphp.PhpContext;
+import org.graalphp.PhpLanguage;
 import org.graalphp.builtins.PhpBuiltinNode;
 import org.graalphp.exception.ArrayCapacityExceededException;
 import org.graalphp.runtime.array.ArrayFactory;
 import org.graalphp.runtime.array.ArrayLibrary;
+import org.graalphp.runtime.array.BooleanArrayAllocator;
+import org.graalphp.runtime.array.DoubleArrayAllocator;
 import org.graalphp.runtime.array.LongArrayAllocator;
+import org.graalphp.runtime.array.NativeDoubleArrayAllocator;
+import org.graalphp.runtime.array.NativeLongArrayAllocator;
 import org.graalphp.runtime.array.ObjectArrayAllocator;
 import org.graalphp.runtime.array.PhpArray;
 
@@ -27,30 +34,59 @@ public abstract class ArrayFillBuiltin extends PhpBuiltinNode {
 
     public static final String NAME = "array_fill";
 
+    @Override
+    public boolean isResultFresh() {
+        return true;
+    }
+
+    // XXX: must precede arrayFillLong, booleans are implicitly cast to long
+    @Specialization
+    protected PhpArray arrayFillBoolean(long startIndex, long num, boolean val,
+                                        @CachedLibrary(limit = "1") ArrayLibrary libs) {
+        int arraySize = toInt(num);
+        int start = toInt(startIndex);
+        Object backend = BooleanArrayAllocator.INSTANCE.createArray(arraySize);
+        PhpArray phpArray = ArrayFactory.newArray(backend, arraySize);
+        phpArray.setSize(arraySize);
+
+        if (start < arraySize) {
+            libs.fill(backend, start, arraySize, val);
+        }
+        return phpArray;
+    }
+
     @Specialization
     protected PhpArray arrayFillLong(long startIndex, long num, long val,
-                                     @CachedLibrary(limit = "1") ArrayLibrary libs) {
+                                     @CachedLibrary(limit = "2") ArrayLibrary libs,
+                                     @CachedContext(PhpLanguage.class) PhpContext context) {
         int arraySize = toInt(num);
         int start = toInt(startIndex);
-        Object backend = LongArrayAllocator.INSTANCE.createArray(arraySize);
+        Object backend = context.isOffHeapArray(arraySize)
+                ? NativeLongArrayAllocator.INSTANCE.createArray(arraySize)
+                : LongArrayAllocator.INSTANCE.createArray(arraySize);
         PhpArray phpArray = ArrayFactory.newArray(backend, arraySize);
+        phpArray.setSize(arraySize);
 
-        for (int i = start; i < arraySize; i++) {
-            libs.write(backend, i, val);
+        if (start < arraySize) {
+            libs.fill(backend, start, arraySize, val);
         }
         return phpArray;
     }
 
     @Specialization
     protected PhpArray arrayFillDouble(long startIndex, long num, double val,
-                                       @CachedLibrary(limit = "1") ArrayLibrary libs) {
+                                       @CachedLibrary(limit = "2") ArrayLibrary libs,
+                                       @CachedContext(PhpLanguage.class) PhpContext context) {
         int arraySize = toInt(num);
         int start = toInt(startIndex);
-        Object backend = ArrayLibrary.getArrayCreatorForValue(val).createArray(arraySize);
+        Object backend = context.isOffHeapArray(arraySize)
+                ? NativeDoubleArrayAllocator.INSTANCE.createArray(arraySize)
+                : DoubleArrayAllocator.INSTANCE.createArray(arraySize);
         PhpArray phpArray = ArrayFactory.newArray(backend, arraySize);
+        phpArray.setSize(arraySize);
 
-        for (int i = start; i < arraySize; i++) {
-            libs.write(backend, i, val);
+        if (start < arraySize) {
+            libs.fill(backend, start, arraySize, val);
         }
         return phpArray;
     }
@@ -62,9 +98,10 @@ public abstract class ArrayFillBuiltin extends PhpBuiltinNode {
         int start = toInt(startIndex);
         Object backend = ObjectArrayAllocator.INSTANCE.createArray(arraySize);
         PhpArray phpArray = ArrayFactory.newArray(backend, arraySize);
+        phpArray.setSize(arraySize);
 
-        for (int i = start; i < arraySize; i++) {
-            libs.write(backend, i, val);
+        if (start < arraySize) {
+            libs.fill(backend, start, arraySize, val);
         }
         return phpArray;
     }
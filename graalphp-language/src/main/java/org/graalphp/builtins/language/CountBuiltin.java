@@ -0,0 +1,36 @@
+package org.graalphp.builtins.language;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.NodeInfo;
+import org.graalphp.builtins.PhpBuiltinNode;
+import org.graalphp.runtime.array.PhpArray;
+
+import java.util.Arrays;
+
+/**
+ * Implementation of the count builtin in PHP
+ * count ( array $value ) : int
+ * <p>
+ * Constant time, arrays keep track of their number of elements.
+ * <p>
+ * https://www.php.net/manual/en/function.count.php
+ *
+ * @author abertschi
+ */
+@NodeInfo(shortName = CountBuiltin.NAME)
+public abstract class CountBuiltin extends PhpBuiltinNode {
+
+    public static final String NAME = "count";
+
+    @Specialization
+    protected long count(PhpArray array) {
+        return array.getSize();
+    }
+
+    @Override
+    @TruffleBoundary
+    public String toString() {
+        return "CountBuiltin{" + Arrays.toString(getArguments()) + "}";
+    }
+}
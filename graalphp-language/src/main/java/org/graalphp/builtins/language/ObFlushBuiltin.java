@@ -0,0 +1,25 @@
+package org.graalphp.builtins.language;
+
+import com.oracle.truffle.api.dsl.CachedContext;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.NodeInfo;
+import org.graalphp.PhpContext;
+import org.graalphp.PhpLanguage;
+import org.graalphp.builtins.PhpBuiltinNode;
+
+/**
+ * Passes the contents of the top output buffer on to the buffer below.
+ * The buffer stays active.
+ *
+ * @author abertschi
+ */
+@NodeInfo(shortName = ObFlushBuiltin.NAME)
+public abstract class ObFlushBuiltin extends PhpBuiltinNode {
+
+    public static final String NAME = "ob_flush";
+
+    @Specialization
+    public boolean obFlush(@CachedContext(PhpLanguage.class) PhpContext ctx) {
+        return ctx.getOutput().flushBuffer();
+    }
+}
@@ -0,0 +1,27 @@
+package org.graalphp.builtins.language;
+
+import com.oracle.truffle.api.dsl.CachedContext;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.NodeInfo;
+import org.graalphp.PhpContext;
+import org.graalphp.PhpLanguage;
+import org.graalphp.builtins.PhpBuiltinNode;
+import org.graalphp.types.PhpString;
+
+/**
+ * Returns the contents of the top output buffer and turns it off.
+ *
+ * @author abertschi
+ */
+@NodeInfo(shortName = ObGetCleanBuiltin.NAME)
+public abstract class ObGetCleanBuiltin extends PhpBuiltinNode {
+
+    public static final String NAME = "ob_get_clean";
+
+    // false if output buffering is not active
+    @Specialization
+    public Object obGetClean(@CachedContext(PhpLanguage.class) PhpContext ctx) {
+        final PhpString contents = ctx.getOutput().getAndEndBuffer();
+        return contents == null ? false : contents;
+    }
+}
@@ -0,0 +1,26 @@
+package org.graalphp.builtins.language;
+
+import com.oracle.truffle.api.dsl.CachedContext;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.NodeInfo;
+import org.graalphp.PhpContext;
+import org.graalphp.PhpLanguage;
+import org.graalphp.builtins.PhpBuiltinNode;
+
+/**
+ * Turns on output buffering, output is collected until the buffer is flushed or cleaned.
+ * XXX: Callbacks and chunk sizes are not supported
+ *
+ * @author abertschi
+ */
+@NodeInfo(shortName = ObStartBuiltin.NAME)
+public abstract class ObStartBuiltin extends PhpBuiltinNode {
+
+    public static final String NAME = "ob_start";
+
+    @Specialization
+    public boolean obStart(@CachedContext(PhpLanguage.class) PhpContext ctx) {
+        ctx.getOutput().startBuffer();
+        return true;
+    }
+}
@@ -9,10 +9,9 @@ import org.graalphp.PhpContext;
 import org.graalphp.PhpLanguage;
 import org.graalphp.nodes.PhpExprNode;
 import org.graalphp.nodes.array.ExecuteValuesNode;
+import org.graalphp.runtime.PhpOutput;
 import org.graalphp.types.PhpNull;
 
-import java.io.PrintWriter;
-
 /**
  * Builtin which prints a string along with values
  * This is used for benchmarks as long as we do not have support for strings
@@ -34,7 +33,7 @@ public abstract class PrintArgsBuiltin extends PhpExprNode {
     }
 
     @TruffleBoundary
-    private void print(PrintWriter out, Object[] values) {
+    private void print(PhpOutput out, Object[] values) {
         StringBuilder build = new StringBuilder();
         build.append(getTitle()).append(";");
         for (Object o : values) {
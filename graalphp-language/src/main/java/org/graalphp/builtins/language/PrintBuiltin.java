@@ -1,17 +1,17 @@
 package org.graalphp.builtins.language;
 
-import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.CachedContext;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.nodes.NodeInfo;
 import org.graalphp.PhpContext;
 import org.graalphp.PhpLanguage;
 import org.graalphp.builtins.PhpBuiltinNode;
-
-import java.io.PrintWriter;
+import org.graalphp.runtime.PhpOutput;
+import org.graalphp.types.PhpNull;
+import org.graalphp.types.PhpString;
 
 /**
- * Prints a value to stdout
+ * Prints a value to the output, see {@link PhpOutput} for buffering
  *
  * @author abertschi
  */
@@ -22,25 +22,26 @@ public abstract class PrintBuiltin extends PhpBuiltinNode {
 
     @Specialization
     public long doPrintLong(long val, @CachedContext(PhpLanguage.class) PhpContext ctx) {
-        printLong(ctx.getOutput(), val);
+        ctx.getOutput().print(val);
         return val;
     }
 
     @Specialization
     public double doPrintDouble(double val, @CachedContext(PhpLanguage.class) PhpContext ctx) {
-        printDouble(ctx.getOutput(), val);
+        ctx.getOutput().print(val);
         return val;
     }
 
-    @TruffleBoundary
-    private static void printLong(PrintWriter out, long value) {
-        out.print(value);
-        out.flush(); // TODO: increase performance
+    @Specialization
+    public PhpString doPrintString(PhpString val,
+                                   @CachedContext(PhpLanguage.class) PhpContext ctx) {
+        ctx.getOutput().print(val);
+        return val;
     }
 
-    @TruffleBoundary
-    private static void printDouble(PrintWriter out, double value) {
-        out.print(value);
-        out.flush(); // TODO: increase performance
+    // null prints as empty string
+    @Specialization
+    public PhpNull doPrintNull(PhpNull val) {
+        return val;
     }
 }
@@ -1,6 +1,5 @@
 package org.graalphp.builtins.language;
 
-import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.CachedContext;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.library.CachedLibrary;
@@ -8,10 +7,11 @@ import com.oracle.truffle.api.nodes.NodeInfo;
 import org.graalphp.PhpContext;
 import org.graalphp.PhpLanguage;
 import org.graalphp.builtins.PhpBuiltinNode;
+import org.graalphp.runtime.PhpOutput;
 import org.graalphp.runtime.array.ArrayLibrary;
 import org.graalphp.runtime.array.PhpArray;
-
-import java.io.PrintWriter;
+import org.graalphp.types.PhpNull;
+import org.graalphp.types.PhpString;
 
 /**
  * Graalphp specific builtin for case in development where no strings are supported yet
@@ -43,18 +43,36 @@ public abstract class PrintlnBuiltin extends PhpBuiltinNode {
         return val;
     }
 
-    @TruffleBoundary
-    private static void printLong(PrintWriter out, long value) {
-        out.println(value);
+    @Specialization
+    public PhpString doPrintString(PhpString val,
+                                   @CachedContext(PhpLanguage.class) PhpContext ctx) {
+        printString(ctx.getOutput(), val);
+        return val;
     }
 
-    @TruffleBoundary
-    private static void printString(PrintWriter out, String value) {
-        out.println(value);
+    // null prints as empty string
+    @Specialization
+    public PhpNull doPrintNull(PhpNull val, @CachedContext(PhpLanguage.class) PhpContext ctx) {
+        printString(ctx.getOutput(), "");
+        return val;
     }
 
-    @TruffleBoundary
-    private static void printDouble(PrintWriter out, double value) {
+    private static void printLong(PhpOutput out, long value) {
+        out.print(value);
+        out.println();
+    }
+
+    private static void printString(PhpOutput out, String value) {
         out.println(value);
     }
+
+    private static void printString(PhpOutput out, PhpString value) {
+        out.print(value);
+        out.println();
+    }
+
+    private static void printDouble(PhpOutput out, double value) {
+        out.print(value);
+        out.println();
+    }
 }
@@ -0,0 +1,46 @@
+package org.graalphp.builtins.language;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.NodeInfo;
+import org.graalphp.builtins.PhpBuiltinNode;
+import org.graalphp.nodes.unary.PhpConvertToStringNode;
+import org.graalphp.types.PhpString;
+
+import java.util.Arrays;
+
+/**
+ * Implementation of the strlen builtin in PHP
+ * strlen ( string $string ) : int
+ * <p>
+ * Returns the number of bytes rather than the number of characters.
+ * Constant time, a concatenation is not flattened.
+ * <p>
+ * https://www.php.net/manual/en/function.strlen.php
+ *
+ * @author abertschi
+ */
+@NodeInfo(shortName = StrlenBuiltin.NAME)
+public abstract class StrlenBuiltin extends PhpBuiltinNode {
+
+    public static final String NAME = "strlen";
+
+    @Specialization
+    protected long strlen(PhpString string) {
+        return string.length();
+    }
+
+    @Specialization(replaces = "strlen")
+    protected long strlenConverted(
+            Object value,
+            @Cached("createWithoutChild()") PhpConvertToStringNode toString) {
+        return toString.executeConvert(value).length();
+    }
+
+    @Override
+    @TruffleBoundary
+    public String toString() {
+        return "StrlenBuiltin{" + Arrays.toString(getArguments()) + "}";
+    }
+}
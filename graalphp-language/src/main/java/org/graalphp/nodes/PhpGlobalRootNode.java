@@ -1,12 +1,17 @@
 package org.graalphp.nodes;
 
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.frame.FrameDescriptor;
+import com.oracle.truffle.api.frame.FrameSlot;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.nodes.NodeInfo;
 import com.oracle.truffle.api.nodes.RootNode;
+import org.graalphp.PhpContext;
 import org.graalphp.PhpLanguage;
+import org.graalphp.nodes.controlflow.Completion;
 import org.graalphp.nodes.controlflow.PhpReturnException;
 import org.graalphp.nodes.controlflow.PhpReturnNode;
+import org.graalphp.types.PhpFunction;
 import org.graalphp.types.PhpNull;
 
 import java.util.ArrayList;
@@ -21,11 +26,21 @@ public final class PhpGlobalRootNode extends RootNode {
     @Child
     private PhpStmtNode body;
 
+    private final FrameSlot returnSlot;
+    private final FrameSlot completionSlot;
+
+    // functions declared in source, can be called before their declaration
+    private final PhpFunction[] functions;
+
     public PhpGlobalRootNode(PhpLanguage language,
                              FrameDescriptor globalDescriptor,
                              List<PhpStmtNode> body,
+                             PhpFunction[] functions,
                              boolean returnLastExpr) {
         super(language, globalDescriptor);
+        this.returnSlot = Completion.findReturnSlot(globalDescriptor);
+        this.completionSlot = Completion.findCompletionSlot(globalDescriptor);
+        this.functions = functions;
         prepareBody(body, returnLastExpr);
     }
 
@@ -48,14 +63,35 @@ public final class PhpGlobalRootNode extends RootNode {
         }
     }
 
+    @TruffleBoundary
+    private void defineFunctions() {
+        final PhpContext context = PhpLanguage.getCurrentContext();
+        for (PhpFunction function : functions) {
+            context.defineFunction(function);
+        }
+    }
+
+    @TruffleBoundary
+    private static void flushOutput() {
+        PhpLanguage.getCurrentContext().getOutput().close();
+    }
+
     @Override
     public Object execute(VirtualFrame frame) {
         // TODO: integrate arguments for argv, argc
         Object result = PhpNull.SINGLETON;
+        defineFunctions();
         try {
-            body.executeVoid(frame);
+            final int completion = body.complete(frame);
+            if (completion == Completion.RETURN) {
+                result = Completion.take(frame, returnSlot, completionSlot);
+            } else if (completion != Completion.NORMAL) {
+                throw Completion.notInLoop(completion, this);
+            }
         } catch (PhpReturnException e) {
             result = e.getReturnValue();
+        } finally {
+            flushOutput();
         }
         return result;
     }
@@ -3,6 +3,7 @@ package org.graalphp.nodes;
 import com.oracle.truffle.api.dsl.TypeSystemReference;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.nodes.NodeInfo;
+import org.graalphp.nodes.controlflow.Completion;
 import org.graalphp.types.PhpTypes;
 
 /**
@@ -27,6 +28,15 @@ public abstract class PhpStmtNode extends PhpNode {
      **/
     public abstract void executeVoid(VirtualFrame frame);
 
+    /**
+     * Execute stmt and report how it completed, one of {@link Completion}.
+     * Stmts which do not override this complete normally or throw control flow exceptions.
+     */
+    public int complete(VirtualFrame frame) {
+        executeVoid(frame);
+        return Completion.NORMAL;
+    }
+
     public final void setSourceSection(int charLeft, int len) {
         assert (srcSectionStart == SRC_SECTION_NOT_SET) : "source section already set";
 
@@ -3,6 +3,8 @@ package org.graalphp.nodes;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.nodes.BlockNode;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
+import org.graalphp.nodes.controlflow.Completion;
 
 import java.util.Arrays;
 import java.util.Collections;
@@ -39,6 +41,22 @@ public final class StmtListNode extends PhpStmtNode
         }
     }
 
+    @ExplodeLoop
+    @Override
+    public int complete(VirtualFrame frame) {
+        if (block == null) {
+            return Completion.NORMAL;
+        }
+        final PhpStmtNode[] stmts = block.getElements();
+        for (int i = 0; i < stmts.length; i++) {
+            final int completion = stmts[i].complete(frame);
+            if (completion != Completion.NORMAL) {
+                return completion;
+            }
+        }
+        return Completion.NORMAL;
+    }
+
     @Override
     public void executeVoid(VirtualFrame frame, PhpStmtNode node, int index, int argument) {
         node.executeVoid(frame);
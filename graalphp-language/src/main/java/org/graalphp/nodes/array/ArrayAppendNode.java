@@ -0,0 +1,152 @@
+package org.graalphp.nodes.array;
+
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.CachedContext;
+import com.oracle.truffle.api.dsl.NodeChild;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.nodes.Node;
+import org.graalphp.PhpContext;
+import org.graalphp.PhpLanguage;
+import org.graalphp.nodes.PhpExprNode;
+import org.graalphp.runtime.array.ArrayAllocationSite;
+import org.graalphp.runtime.array.ArrayAllocator;
+import org.graalphp.runtime.array.ArrayFactory;
+import org.graalphp.runtime.array.ArrayLibrary;
+import org.graalphp.runtime.array.PhpArray;
+
+/**
+ * Append a value to an array, $A[] = value.
+ * <p>
+ * Packed arrays append at index size and grow geometrically if full.
+ * Hash arrays append at the largest integer key + 1.
+ * Like {@link ArrayWriteNode}, an append expression returns the value.
+ *
+ * @author abertschi
+ */
+@NodeChild(value = "receiver")
+@NodeChild(value = "value")
+public abstract class ArrayAppendNode extends PhpExprNode {
+
+    public static final String LIMIT = ArrayLibrary.SPECIALIZATION_LIMIT;
+
+    public static ArrayAppendNode create() {
+        return ArrayAppendNodeGen.create(null, null);
+    }
+
+    public abstract Object executeAppend(PhpArray array, Object value);
+
+    @Specialization(guards = "array.isShared()")
+    protected Object appendShared(
+            PhpArray array,
+            Object value,
+            @Cached("createWithoutChild()") ArraySeparateNode separateNode,
+            @Cached ArrayAppendNode appendNode) {
+        return appendNode.executeAppend(separateNode.executeSeparate(array), value);
+    }
+
+    @Specialization(
+            guards = {
+                    "!array.isShared()"
+                    , "library.isHashArray(array.getBackend())"
+            },
+            limit = LIMIT)
+    protected Object appendHash(
+            PhpArray array,
+            Object value,
+            @CachedLibrary("array.getBackend()") ArrayLibrary library) {
+        final Object backend = array.getBackend();
+        if (library.writeKey(backend, library.nextKey(backend), value)) {
+            array.setSize(array.getSize() + 1);
+        }
+        return value;
+    }
+
+    @Specialization(
+            guards = {
+                    "!array.isShared()"
+                    , "!library.isHashArray(array.getBackend())"
+                    , "library.acceptsValue(array.getBackend(), value)"
+                    , "hasFreeCapacity(array)"
+            },
+            limit = LIMIT)
+    protected Object appendSameType(
+            PhpArray array,
+            Object value,
+            @CachedLibrary("array.getBackend()") ArrayLibrary library) {
+        library.write(array.getBackend(), array.getSize(), value);
+        array.setSize(array.getSize() + 1);
+        return value;
+    }
+
+    @Specialization(
+            guards = {
+                    "!array.isShared()"
+                    , "!library.isHashArray(array.getBackend())"
+                    , "library.acceptsValue(array.getBackend(), value)"
+                    , "!hasFreeCapacity(array)"
+            },
+            limit = LIMIT)
+    protected Object appendGrow(
+            PhpArray array,
+            Object value,
+            @CachedLibrary("array.getBackend()") ArrayLibrary library,
+            @CachedLibrary(limit = LIMIT) ArrayLibrary libraryNewBackend,
+            @CachedContext(PhpLanguage.class) PhpContext context) {
+        final int newLength = ArrayFactory.growCapacity(array.getCapacity());
+        final ArrayAllocator allocator = library.getArrayAllocator(array.getBackend());
+        array.setBackend(ArrayFactory.growBackend(library, array.getBackend(), array.getSize(),
+                newLength, context.isOffHeapArray(newLength)));
+        array.setCapacity(newLength);
+        ArrayAllocationSite.report(array, allocator, allocator);
+
+        libraryNewBackend.write(array.getBackend(), array.getSize(), value);
+        array.setSize(array.getSize() + 1);
+        return value;
+    }
+
+    @Specialization(
+            guards = {
+                    "!array.isShared()"
+                    , "!library.isHashArray(array.getBackend())"
+                    , "!library.acceptsValue(array.getBackend(), value)"
+            },
+            limit = LIMIT)
+    protected Object appendTypeMismatch(
+            PhpArray array,
+            Object value,
+            @CachedLibrary("array.getBackend()") ArrayLibrary library,
+            @CachedLibrary(limit = LIMIT) ArrayLibrary libraryNewBackend) {
+        final int newLength = hasFreeCapacity(array)
+                ? array.getCapacity()
+                : ArrayFactory.growCapacity(array.getCapacity());
+        final Object oldBackend = array.getBackend();
+        final ArrayAllocator allocator =
+                ArrayFactory.generalizeForValue(library, oldBackend, array.getSize(), value);
+        final Object newBackend = allocator.createArray(newLength);
+        library.copyContents(oldBackend, newBackend, array.getSize());
+        array.setBackend(newBackend);
+        array.setCapacity(newLength);
+        ArrayAllocationSite.report(array, library.getArrayAllocator(oldBackend), allocator);
+
+        libraryNewBackend.write(array.getBackend(), array.getSize(), value);
+        array.setSize(array.getSize() + 1);
+        return value;
+    }
+
+    protected static boolean hasFreeCapacity(PhpArray array) {
+        return array.getSize() < array.getCapacity();
+    }
+
+    protected abstract Node getReceiver();
+
+    protected abstract Node getValue();
+
+    @Override
+    public String toString() {
+        return "ArrayAppendNode{"
+                + "Array: " + getReceiver()
+                + "; Value: " + getValue()
+                + "}";
+    }
+}
@@ -1,13 +1,16 @@
 package org.graalphp.nodes.array;
 
+import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.library.CachedLibrary;
 import com.oracle.truffle.api.nodes.Node;
-import org.graalphp.exception.ArrayCapacityExceededException;
 import org.graalphp.nodes.PhpExprNode;
+import org.graalphp.runtime.array.ArrayKey;
 import org.graalphp.runtime.array.ArrayLibrary;
 import org.graalphp.runtime.array.PhpArray;
+import org.graalphp.types.PhpNull;
+import org.graalphp.types.PhpString;
 
 /**
  * @author abertschi
@@ -22,23 +25,86 @@ public abstract class ArrayReadNode extends PhpExprNode {
 
     protected abstract Node getIndex();
 
-    // XXX: We currently support no Map like fallback containers if array capacity is exceeded
-    @Specialization(limit = LIMIT,
-            rewriteOn = ArrayCapacityExceededException.class)
+    public static ArrayReadNode createWithoutChildren() {
+        return ArrayReadNodeGen.create(null, null);
+    }
+
+    public abstract Object executeRead(PhpArray array, long index);
+
+    @Specialization(guards = "arrays.isHashArray(array.getBackend())", limit = LIMIT)
+    Object doHashLookup(PhpArray array,
+                        long index,
+                        @CachedLibrary("array.getBackend()") ArrayLibrary arrays) {
+
+        return nullToPhpNull(arrays.readKey(array.getBackend(), index));
+    }
+
+    @Specialization(guards = {
+            "!arrays.isHashArray(array.getBackend())",
+            "isArrayInBounds(array, index)"
+    }, limit = LIMIT)
     Object doLookup(PhpArray array,
                     long index,
                     @CachedLibrary("array.getBackend()") ArrayLibrary arrays) {
 
-        return arrays.read(array.getBackend(), convertToInt(index));
+        return arrays.read(array.getBackend(), (int) index);
+    }
+
+    // XXX: PHP emits a notice for undefined keys, we silently return null
+    @Specialization(guards = {
+            "!arrays.isHashArray(array.getBackend())",
+            "!isArrayInBounds(array, index)"
+    }, limit = LIMIT)
+    Object doLookupOutOfBounds(PhpArray array,
+                               long index,
+                               @CachedLibrary("array.getBackend()") ArrayLibrary arrays) {
+
+        return PhpNull.SINGLETON;
+    }
+
+    /**
+     * float keys are truncated to integer keys
+     */
+    @Specialization
+    Object doLookupDoubleIndex(PhpArray array,
+                               double index,
+                               @Cached("createWithoutChildren()") ArrayReadNode readNode) {
+
+        return readNode.executeRead(array, (long) index);
+    }
+
+    /**
+     * numeric strings are integer keys, see {@link ArrayKey}
+     */
+    @Specialization(guards = "isLongKey(key)")
+    Object doLookupLongStringKey(PhpArray array,
+                                 PhpString key,
+                                 @Cached("createWithoutChildren()") ArrayReadNode readNode) {
+
+        return readNode.executeRead(array, ArrayKey.toLongKey(key));
     }
 
-    private int convertToInt(long val) {
-        try {
-            return Math.toIntExact(val);
-        } catch (ArithmeticException e) {
-            throw new ArrayCapacityExceededException("array index is too large for java arrays"
-                    , this);
+    @Specialization(guards = "!isLongKey(key)", limit = LIMIT)
+    Object doLookupStringKey(PhpArray array,
+                             PhpString key,
+                             @CachedLibrary("array.getBackend()") ArrayLibrary arrays) {
+
+        if (!arrays.isHashArray(array.getBackend())) {
+            return PhpNull.SINGLETON;
         }
+        return nullToPhpNull(arrays.readKey(array.getBackend(), key));
+    }
+
+    protected static boolean isLongKey(PhpString key) {
+        return ArrayKey.isLongKey(key);
+    }
+
+    private static Object nullToPhpNull(Object value) {
+        return value == null ? PhpNull.SINGLETON : value;
+    }
+
+    protected static boolean isArrayInBounds(PhpArray array, long index) {
+        return index >= 0 && index < array.getSize();
     }
 
     @Override
@@ -0,0 +1,48 @@
+package org.graalphp.nodes.array;
+
+import com.oracle.truffle.api.dsl.NodeChild;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.library.CachedLibrary;
+import org.graalphp.nodes.PhpExprNode;
+import org.graalphp.runtime.array.ArrayLibrary;
+import org.graalphp.runtime.array.PhpArray;
+
+/**
+ * Arrays copied by value share their backend (copy-on-write).
+ * This node separates an array from other arrays sharing the same backend
+ * by copying the backend. It must be executed before an array is written to.
+ * <p>
+ * Used as a child node to separate the receiver of a nested write
+ * $A[0][1] = ... separates $A before $A[0] is read.
+ *
+ * @author abertschi
+ * @see org.graalphp.runtime.array.ArrayFactory#newCopyOnWriteArray(PhpArray)
+ */
+@NodeChild(value = "array")
+public abstract class ArraySeparateNode extends PhpExprNode {
+
+    private static final String LIMIT = ArrayLibrary.SPECIALIZATION_LIMIT;
+
+    public static ArraySeparateNode createWithoutChild() {
+        return ArraySeparateNodeGen.create(null);
+    }
+
+    public abstract PhpArray executeSeparate(PhpArray array);
+
+    @Specialization(guards = "!array.isShared()")
+    protected PhpArray notShared(PhpArray array) {
+        return array;
+    }
+
+    @Specialization(guards = "array.isShared()", limit = LIMIT)
+    protected PhpArray separate(PhpArray array,
+                                @CachedLibrary("array.getBackend()") ArrayLibrary library) {
+        final Object oldBackend = array.getBackend();
+        final Object newBackend =
+                library.getArrayAllocator(oldBackend).createArray(array.getCapacity());
+        library.copyDeepContents(oldBackend, newBackend, array.getSize());
+        array.setBackend(newBackend);
+        array.setSeparated();
+        return array;
+    }
+}
@@ -1,13 +1,22 @@
 package org.graalphp.nodes.array;
 
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.CachedContext;
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.library.CachedLibrary;
 import com.oracle.truffle.api.nodes.Node;
-import org.graalphp.exception.ArrayCapacityExceededException;
+import org.graalphp.PhpContext;
+import org.graalphp.PhpLanguage;
 import org.graalphp.nodes.PhpExprNode;
+import org.graalphp.runtime.array.ArrayAllocationSite;
+import org.graalphp.runtime.array.ArrayAllocator;
+import org.graalphp.runtime.array.ArrayFactory;
+import org.graalphp.runtime.array.ArrayKey;
 import org.graalphp.runtime.array.ArrayLibrary;
+import org.graalphp.runtime.array.HashArrayAllocator;
 import org.graalphp.runtime.array.PhpArray;
+import org.graalphp.types.PhpString;
 
 /**
  * Array write node uses variable array backends and generalizes if
@@ -19,6 +28,10 @@ import org.graalphp.runtime.array.PhpArray;
  * $a = array(1, 2, 3);
  * $b = $a[0] = 1;
  * print($b); // 1
+ * <p>
+ * Arrays with a shared backend (copy-on-write) are separated before they are written to.
+ * Packed arrays are dense and converted to a hash array if written with a negative index,
+ * an index which leaves a gap or a string key.
  *
  * @author abertschi
  */
@@ -28,7 +41,6 @@ import org.graalphp.runtime.array.PhpArray;
 public abstract class ArrayWriteNode extends PhpExprNode {
 
     public static final String LIMIT = ArrayLibrary.SPECIALIZATION_LIMIT;
-    private static final int INCREASE_FACTOR = 2;
 
     public static ArrayWriteNode create() {
         return ArrayWriteNodeGen.create(null, null, null);
@@ -36,12 +48,52 @@ public abstract class ArrayWriteNode extends PhpExprNode {
 
     public abstract Object executeWrite(PhpArray array, long index, Object value);
 
+    /**
+     * @param key long, double or PhpString
+     */
+    public abstract Object executeWriteKey(PhpArray array, Object key, Object value);
+
+    /**
+     * backend is shared with other arrays, copy backend before we write
+     */
+    @Specialization(guards = "array.isShared()")
+    protected Object writeShared(
+            PhpArray array,
+            long index,
+            Object value,
+            @Cached("createWithoutChild()") ArraySeparateNode separateNode,
+            @Cached ArrayWriteNode writeNode) {
+        return writeNode.executeWrite(separateNode.executeSeparate(array), index, value);
+    }
+
+    /**
+     * map like backend, we write with key
+     */
+    @Specialization(
+            guards = {
+                    "!array.isShared()"
+                    , "library.isHashArray(array.getBackend())"
+            },
+            limit = LIMIT)
+    protected Object writeHash(
+            PhpArray array,
+            long index,
+            Object value,
+            @CachedLibrary("array.getBackend()") ArrayLibrary library) {
+        if (library.writeKey(array.getBackend(), index, value)) {
+            array.setSize(array.getSize() + 1);
+        }
+        return value;
+    }
+
     /**
      * write within bounds of same type
      */
     @Specialization(
             guards = {
-                    "library.acceptsValue(array.getBackend(), value)"
+                    "!array.isShared()"
+                    , "!library.isHashArray(array.getBackend())"
+                    , "library.acceptsValue(array.getBackend(), value)"
                     , "isArrayInBounds(array, index)"
             },
             limit = LIMIT)
@@ -50,7 +102,8 @@ public abstract class ArrayWriteNode extends PhpExprNode {
             long index,
             Object value,
             @CachedLibrary("array.getBackend()") ArrayLibrary library) {
-        library.write(array.getBackend(), convertToInt(index), value);
+        library.write(array.getBackend(), (int) index, value);
+        updateSize(array, index);
         return value;
     }
 
@@ -59,7 +112,9 @@ public abstract class ArrayWriteNode extends PhpExprNode {
      */
     @Specialization(
             guards = {
-                    "!library.acceptsValue(array.getBackend(), value)"
+                    "!array.isShared()"
+                    , "!library.isHashArray(array.getBackend())"
+                    , "!library.acceptsValue(array.getBackend(), value)"
                     , "isArrayInBounds(array, index)"
             },
             limit = LIMIT)
@@ -70,29 +125,20 @@ public abstract class ArrayWriteNode extends PhpExprNode {
             @CachedLibrary("array.getBackend()") ArrayLibrary library,
             @CachedLibrary(limit = LIMIT) ArrayLibrary libraryNewBackend) {
 
-        final int newLength = getIncreasedCapacity(array, index);
-        final Object oldBackend = array.getBackend();
-        final Object newBackend = library
-                .generalizeForValue(array.getBackend(), value).createArray(newLength);
-        library.copyContents(oldBackend, newBackend, array.getCapacity());
-        array.setBackend(newBackend);
-        array.setCapacity(newLength);
-
-        libraryNewBackend.write(array.getBackend(), convertToInt(index), value);
+        generalizeBackend(array, value, array.getCapacity(), library);
+        libraryNewBackend.write(array.getBackend(), (int) index, value);
+        updateSize(array, index);
         return value;
     }
 
     /**
      * Capacity is too little, we grow array, same type
-     * <p>
-     * XXX: This may be inefficient if index is too large
-     * Ideally we distinguish between to more cases once we implement map data structures
-     *   1. do we insert at the end of the array (index: backend.capacity)
-     *   2. do we insert somewhere else -> convert to map structure
      */
     @Specialization(
             guards = {
-                    "library.acceptsValue(array.getBackend(), value)"
+                    "!array.isShared()"
+                    , "!library.isHashArray(array.getBackend())"
+                    , "library.acceptsValue(array.getBackend(), value)"
                     , "isOutOfBounds(array, index)"
             },
             limit = LIMIT)
@@ -101,23 +147,28 @@ public abstract class ArrayWriteNode extends PhpExprNode {
             long index,
             Object value,
             @CachedLibrary("array.getBackend()") ArrayLibrary library,
-            @CachedLibrary(limit = LIMIT) ArrayLibrary libraryNewBackend) {
-        int newLength = getIncreasedCapacity(array, index);
-        array.setBackend(library.grow(array.getBackend(), newLength));
+            @CachedLibrary(limit = LIMIT) ArrayLibrary libraryNewBackend,
+            @CachedContext(PhpLanguage.class) PhpContext context) {
+        final int newLength = ArrayFactory.growCapacity(array.getCapacity());
+        final ArrayAllocator allocator = library.getArrayAllocator(array.getBackend());
+        array.setBackend(ArrayFactory.growBackend(library, array.getBackend(), array.getSize(),
+                newLength, context.isOffHeapArray(newLength)));
         array.setCapacity(newLength);
+        ArrayAllocationSite.report(array, allocator, allocator);
 
-        libraryNewBackend.write(array.getBackend(), convertToInt(index), value);
+        libraryNewBackend.write(array.getBackend(), (int) index, value);
+        updateSize(array, index);
         return value;
     }
 
     /**
      * Capacity is too little, we grow array, different type
-     *
-     * XXX: This may be inefficient if index is too large
      */
     @Specialization(
             guards = {
-                    "!library.acceptsValue(array.getBackend(), value)"
+                    "!array.isShared()"
+                    , "!library.isHashArray(array.getBackend())"
+                    , "!library.acceptsValue(array.getBackend(), value)"
                     , "isOutOfBounds(array, index)"
             },
             limit = LIMIT)
@@ -128,17 +179,99 @@ public abstract class ArrayWriteNode extends PhpExprNode {
             @CachedLibrary("array.getBackend()") ArrayLibrary library,
             @CachedLibrary(limit = LIMIT) ArrayLibrary libraryNewBackend) {
 
-        growBackendGeneralize(array, value, getIncreasedCapacity(array, index), library);
-        libraryNewBackend.write(array.getBackend(), convertToInt(index), value);
+        generalizeBackend(array, value, ArrayFactory.growCapacity(array.getCapacity()), library);
+        libraryNewBackend.write(array.getBackend(), (int) index, value);
+        updateSize(array, index);
         return value;
     }
 
+    /**
+     * Negative index or index which leaves a gap, we convert packed backend to a hash array
+     */
+    @Specialization(
+            guards = {
+                    "!array.isShared()"
+                    , "!library.isHashArray(array.getBackend())"
+                    , "isSparse(array, index)"
+            },
+            limit = LIMIT)
+    protected Object writeSparse(
+            PhpArray array,
+            long index,
+            Object value,
+            @CachedLibrary("array.getBackend()") ArrayLibrary library,
+            @CachedLibrary(limit = LIMIT) ArrayLibrary libraryNewBackend) {
+
+        convertToHash(array, library);
+        libraryNewBackend.writeKey(array.getBackend(), index, value);
+        array.setSize(array.getSize() + 1);
+        return value;
+    }
+
+    /**
+     * numeric strings are integer keys, see {@link ArrayKey}
+     */
+    @Specialization(guards = "isLongKey(key)")
+    protected Object writeLongStringKey(
+            PhpArray array,
+            PhpString key,
+            Object value,
+            @Cached ArrayWriteNode writeNode) {
+        return writeNode.executeWrite(array, ArrayKey.toLongKey(key), value);
+    }
+
+    /**
+     * string key, a packed backend is converted to a hash array
+     */
+    @Specialization(guards = "!isLongKey(key)")
+    protected Object writeStringKey(
+            PhpArray array,
+            PhpString key,
+            Object value,
+            @Cached("createWithoutChild()") ArraySeparateNode separateNode,
+            @CachedLibrary(limit = LIMIT) ArrayLibrary library) {
+        separateNode.executeSeparate(array);
+        if (!library.isHashArray(array.getBackend())) {
+            convertToHash(array, library);
+        }
+        if (library.writeKey(array.getBackend(), key, value)) {
+            array.setSize(array.getSize() + 1);
+        }
+        return value;
+    }
+
+    /**
+     * float keys are truncated to integer keys
+     */
+    @Specialization
+    protected Object writeDoubleIndex(
+            PhpArray array,
+            double index,
+            Object value,
+            @Cached ArrayWriteNode writeNode) {
+        return writeNode.executeWrite(array, (long) index, value);
+    }
+
     protected static boolean isArrayInBounds(PhpArray array, long index) {
-        return index >= 0 && index < array.getCapacity();
+        return index >= 0 && index <= array.getSize() && index < array.getCapacity();
     }
 
+    /**
+     * append to a packed backend which is full
+     */
     protected static boolean isOutOfBounds(PhpArray array, long index) {
-        return array.getCapacity() <= index;
+        return index == array.getSize() && index == array.getCapacity();
+    }
+
+    /**
+     * index is negative or leaves a gap in a packed backend
+     */
+    protected static boolean isSparse(PhpArray array, long index) {
+        return index < 0 || index > array.getSize();
+    }
+
+    protected static boolean isLongKey(PhpString key) {
+        return ArrayKey.isLongKey(key);
     }
 
     protected abstract Node getReceiver();
@@ -147,32 +280,32 @@ public abstract class ArrayWriteNode extends PhpExprNode {
 
     protected abstract Node getValue();
 
-    private void growBackendGeneralize(PhpArray array,
-                                       Object value,
-                                       int newLength,
-                                       ArrayLibrary library) {
+    private static void generalizeBackend(PhpArray array,
+                                          Object value,
+                                          int newLength,
+                                          ArrayLibrary library) {
         final Object oldBackend = array.getBackend();
-        final Object newBackend = library
-                .generalizeForValue(array.getBackend(), value).createArray(newLength);
-        library.copyContents(oldBackend, newBackend, array.getCapacity());
+        final ArrayAllocator allocator =
+                ArrayFactory.generalizeForValue(library, oldBackend, array.getSize(), value);
+        final Object newBackend = allocator.createArray(newLength);
+        library.copyContents(oldBackend, newBackend, array.getSize());
         array.setBackend(newBackend);
         array.setCapacity(newLength);
+        ArrayAllocationSite.report(array, library.getArrayAllocator(oldBackend), allocator);
     }
 
-    private int getIncreasedCapacity(PhpArray array, long index) {
-        int newLength = array.getCapacity() * INCREASE_FACTOR;
-        if (newLength < index) {
-            newLength = convertToInt(index) * INCREASE_FACTOR;
-        }
-        return newLength;
+    private static void convertToHash(PhpArray array, ArrayLibrary library) {
+        final Object oldBackend = array.getBackend();
+        final Object newBackend = HashArrayAllocator.INSTANCE.createArray(array.getSize() + 1);
+        library.copyContents(oldBackend, newBackend, array.getSize());
+        array.setBackend(newBackend);
+        ArrayAllocationSite.report(
+                array, library.getArrayAllocator(oldBackend), HashArrayAllocator.INSTANCE);
     }
 
-    private int convertToInt(long val) {
-        try {
-            return Math.toIntExact(val);
-        } catch (ArithmeticException e) {
-            throw new ArrayCapacityExceededException("array index is too large for java arrays"
-                    , this);
+    private static void updateSize(PhpArray array, long index) {
+        if (index == array.getSize()) {
+            array.setSize(array.getSize() + 1);
         }
     }
 
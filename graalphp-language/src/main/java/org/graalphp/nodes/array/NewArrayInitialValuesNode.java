@@ -5,6 +5,7 @@ import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.nodes.ExplodeLoop;
 import org.graalphp.nodes.PhpExprNode;
+import org.graalphp.runtime.array.ArrayAllocationSite;
 import org.graalphp.runtime.array.ArrayFactory;
 import org.graalphp.runtime.array.PhpArray;
 
@@ -12,6 +13,7 @@ import java.util.List;
 
 /**
  * Create new array with initial values
+ * The node remembers the backend and capacity arrays created here end up with.
  *
  * @author abertschi
  * @see NewArrayNode
@@ -19,6 +21,8 @@ import java.util.List;
 @NodeChild(value = "initialValues", type = ExecuteValuesNode.class)
 public abstract class NewArrayInitialValuesNode extends PhpExprNode {
 
+    private final ArrayAllocationSite site = new ArrayAllocationSite(0);
+
     public static NewArrayInitialValuesNode create(List<PhpExprNode> nodes) {
         return NewArrayInitialValuesNodeGen.create(new ExecuteValuesNode(nodes));
     }
@@ -28,7 +32,7 @@ public abstract class NewArrayInitialValuesNode extends PhpExprNode {
     protected PhpArray createNew(Object[] values,
                                  @Cached ArrayWriteNode writeNode) {
         if (values != null) {
-            PhpArray array = ArrayFactory.newArray(values.length);
+            PhpArray array = site.allocate(values.length);
             for (int i = 0; i < values.length; i++) {
                 writeNode.executeWrite(array, i, values[i]);
             }
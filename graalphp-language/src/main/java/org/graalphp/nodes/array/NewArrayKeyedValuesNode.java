@@ -0,0 +1,87 @@
+package org.graalphp.nodes.array;
+
+import com.oracle.truffle.api.CompilerAsserts;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
+import org.graalphp.exception.PhpException;
+import org.graalphp.nodes.PhpExprNode;
+import org.graalphp.runtime.array.ArrayAllocationSite;
+import org.graalphp.runtime.array.ArrayKey;
+import org.graalphp.runtime.array.PhpArray;
+import org.graalphp.types.PhpString;
+
+/**
+ * Create new array with initial values of which some have explicit keys.
+ * <p>
+ * array(5 => 1, 2, -1 => 3, "a" => 4) creates {5 => 1, 6 => 2, -1 => 3, "a" => 4}.
+ * An element without key is stored at the largest integer key written so far + 1.
+ *
+ * @author abertschi
+ * @see NewArrayInitialValuesNode
+ */
+public final class NewArrayKeyedValuesNode extends PhpExprNode {
+
+    // EmptyExprNode if element has no key
+    @Children
+    private final PhpExprNode[] keys;
+
+    @Children
+    private final PhpExprNode[] values;
+
+    @CompilationFinal(dimensions = 1)
+    private final boolean[] hasKey;
+
+    @Child
+    private ArrayWriteNode writeNode;
+
+    private final ArrayAllocationSite site = new ArrayAllocationSite(0);
+
+    public NewArrayKeyedValuesNode(PhpExprNode[] keys, PhpExprNode[] values, boolean[] hasKey) {
+        this.keys = keys;
+        this.values = values;
+        this.hasKey = hasKey;
+        this.writeNode = ArrayWriteNode.create();
+    }
+
+    @ExplodeLoop
+    @Override
+    public PhpArray executeGeneric(VirtualFrame frame) {
+        CompilerAsserts.partialEvaluationConstant(values.length);
+
+        final PhpArray array = site.allocate(values.length);
+        long nextIndex = 0;
+        for (int i = 0; i < values.length; i++) {
+            final Object key;
+            if (hasKey[i]) {
+                key = convertKey(keys[i].executeGeneric(frame));
+            } else {
+                key = nextIndex;
+            }
+            if (key instanceof Long && (long) key >= nextIndex) {
+                nextIndex = (long) key + 1;
+            }
+            writeNode.executeWriteKey(array, key, values[i].executeGeneric(frame));
+        }
+        return array;
+    }
+
+    /**
+     * @return long or a PhpString which is no integer key
+     */
+    private Object convertKey(Object key) {
+        if (key instanceof Long) {
+            return key;
+        } else if (key instanceof Double) {
+            return (long) (double) key;
+        } else if (key instanceof Boolean) {
+            return (boolean) key ? 1L : 0L;
+        } else if (key instanceof PhpString) {
+            final PhpString string = (PhpString) key;
+            return ArrayKey.isLongKey(string) ? (Object) ArrayKey.toLongKey(string) : string;
+        }
+        CompilerDirectives.transferToInterpreter();
+        throw new PhpException("Illegal offset type: " + key, this);
+    }
+}
@@ -2,18 +2,21 @@ package org.graalphp.nodes.array;
 
 import com.oracle.truffle.api.frame.VirtualFrame;
 import org.graalphp.nodes.PhpExprNode;
-import org.graalphp.runtime.array.ArrayFactory;
+import org.graalphp.runtime.array.ArrayAllocationSite;
 import org.graalphp.runtime.array.PhpArray;
 
 /**
  * Creates a new long based array node, which generalizes if needed.
+ * The node remembers the backend and capacity arrays created here end up with.
  *
  * @author abertschi
  */
 public final class NewArrayNode extends PhpExprNode {
-    
+
+    private final ArrayAllocationSite site = new ArrayAllocationSite();
+
     @Override
     public PhpArray executeGeneric(VirtualFrame frame) {
-        return ArrayFactory.newArray();
+        return site.allocate();
     }
 }
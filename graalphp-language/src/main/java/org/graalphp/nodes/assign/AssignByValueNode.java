@@ -2,16 +2,16 @@ package org.graalphp.nodes.assign;
 
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.Specialization;
-import com.oracle.truffle.api.library.CachedLibrary;
 import org.graalphp.nodes.PhpExprNode;
-import org.graalphp.runtime.array.ArrayAllocator;
 import org.graalphp.runtime.array.ArrayFactory;
-import org.graalphp.runtime.array.ArrayLibrary;
 import org.graalphp.runtime.array.PhpArray;
 
 /**
  * Node which forwards all values but arrays and copy arrays before forwarding.
  * This implements PHP default assign by value semantics
+ * <p>
+ * Arrays are not copied eagerly. The copy shares the backend of the source
+ * and the backend is copied once either of them is written to.
  *
  * @author abertschi
  */
@@ -38,14 +38,8 @@ public abstract class AssignByValueNode extends AssignSemanticNode {
     }
 
     @Specialization
-    protected Object copyArray(
-            PhpArray array,
-            @CachedLibrary(limit = ArrayLibrary.SPECIALIZATION_LIMIT) ArrayLibrary lib) {
-
-        ArrayAllocator allocator = lib.getArrayAllocator(array.getBackend());
-        Object newBackend = allocator.createArray(array.getCapacity());
-        lib.copyDeepContents(array.getBackend(), newBackend, array.getCapacity());
-        return ArrayFactory.newArray(newBackend, array.getCapacity());
+    protected Object copyArray(PhpArray array) {
+        return ArrayFactory.newCopyOnWriteArray(array);
     }
 
     @Specialization(guards = "notArray(val)")
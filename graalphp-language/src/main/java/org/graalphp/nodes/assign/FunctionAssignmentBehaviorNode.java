@@ -66,8 +66,12 @@ public final class FunctionAssignmentBehaviorNode extends PhpExprNode {
     @CompilationFinal
     private boolean functionResultByRef;
 
+    /**
+     * True once functions with both return behaviors were seen, e.g. in contexts sharing
+     * this node. functionResultByRef is then read from the function on each execution.
+     */
     @CompilationFinal
-    private PhpFunction phpFunction;
+    private boolean generic;
 
     /**
      * True if assignments assigns by ref
@@ -87,40 +91,50 @@ public final class FunctionAssignmentBehaviorNode extends PhpExprNode {
         this.assignByValueNode = AssignByValueNode.createWithoutChild();
     }
 
-    private void initializeNode(VirtualFrame frame) {
-        PhpFunction fun = getFunction(frame);
+    private void initializeNode(PhpFunction fun) {
         CompilerDirectives.transferToInterpreterAndInvalidate();
 
         // change compilation final fields
+        if (this.initialized) {
+            // do not respecialize on each change of the function
+            this.generic = true;
+        }
         this.functionResultByRef = fun.isReturnReference();
-        this.phpFunction = fun;
         this.initialized = true;
     }
 
-    private boolean copyByReference() {
-        return functionResultByRef && assignmentByRef;
+    private boolean copyByReference(boolean resultByRef) {
+        return resultByRef && assignmentByRef;
     }
 
-    private boolean copyByValue() {
-        return functionResultByRef && !assignmentByRef;
+    private boolean copyByValue(boolean resultByRef) {
+        return resultByRef && !assignmentByRef;
     }
 
     @Override
     public Object executeGeneric(VirtualFrame frame) {
-        if (!this.initialized) {
-            initializeNode(frame);
+        // XXX: The function may be another one in another context sharing this node
+        final PhpFunction fun = getFunction(frame);
+        final boolean resultByRef;
+        if (generic) {
+            resultByRef = fun.isReturnReference();
+        } else {
+            if (!this.initialized || fun.isReturnReference() != functionResultByRef) {
+                initializeNode(fun);
+            }
+            resultByRef = functionResultByRef;
         }
         Object val = sourceNode.executeGeneric(frame);
 
-        // XXX: control flow only depends on final fields during runtime.
+        // XXX: unless generic, control flow only depends on final fields during runtime.
         // no branch prediction needed
 
-        if (copyByReference()) {
+        if (copyByReference(resultByRef)) {
             return assignByRefNode.executeSource(val);
-        } else if (copyByValue()) {
+        } else if (copyByValue(resultByRef)) {
             // XXX: Function returns by reference but we dont assign by reference
             // in this case we are forced to make a copy, this unlikely to happen
-            warnForcedCopyByValue();
+            warnForcedCopyByValue(fun);
             return assignByValueNode.executeSource(val);
         } else {
             // XXX: We pass result directly and neither copy by reference nor value
@@ -130,9 +144,9 @@ public final class FunctionAssignmentBehaviorNode extends PhpExprNode {
     }
 
     @TruffleBoundary
-    private void warnForcedCopyByValue() {
+    private void warnForcedCopyByValue(PhpFunction fun) {
         String msg = "Function: " +
-                this.phpFunction.getName() +
+                fun.getName() +
                 " is defined to return by-reference but assignment uses by-value semantics.";
         PhpLanguage.getCurrentContext().getOutput().println(msg);
     }
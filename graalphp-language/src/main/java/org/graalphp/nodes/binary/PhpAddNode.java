@@ -1,7 +1,9 @@
 package org.graalphp.nodes.binary;
 
+import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.nodes.NodeInfo;
+import com.oracle.truffle.api.profiles.BranchProfile;
 
 /**
  * @author abertschi
@@ -14,6 +16,21 @@ public abstract class PhpAddNode extends PhpBinaryNode {
         return Math.addExact(left, right);
     }
 
+    /*
+     * Once an operation overflowed, a node promotes overflows to float
+     * for the operation which overflows only. All other operations remain integer.
+     */
+    @Specialization
+    protected Object addOrOverflow(long left, long right,
+                                   @Cached BranchProfile overflow) {
+        try {
+            return Math.addExact(left, right);
+        } catch (ArithmeticException e) {
+            overflow.enter();
+            return (double) left + (double) right;
+        }
+    }
+
     @Specialization
     protected double add(double left, double right) {
         return left + right;
@@ -0,0 +1,38 @@
+package org.graalphp.nodes.binary;
+
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.NodeInfo;
+import org.graalphp.nodes.unary.PhpConvertToStringNode;
+import org.graalphp.types.PhpString;
+
+/**
+ * String concatenation a . b and a .= b.
+ * <p>
+ * Concatenation creates a rope and does not copy its operands, see {@link PhpString}
+ *
+ * @author abertschi
+ */
+@NodeInfo(shortName = ".")
+public abstract class PhpConcatNode extends PhpBinaryNode {
+
+    @Specialization
+    protected PhpString concat(PhpString left, PhpString right) {
+        return PhpString.concat(left, right);
+    }
+
+    @Specialization(replaces = "concat")
+    protected PhpString concatConverted(
+            Object left,
+            Object right,
+            @Cached("createWithoutChild()") PhpConvertToStringNode leftToString,
+            @Cached("createWithoutChild()") PhpConvertToStringNode rightToString) {
+        return PhpString.concat(
+                leftToString.executeConvert(left), rightToString.executeConvert(right));
+    }
+
+    @Override
+    public String toString() {
+        return "PhpConcatNode{" + toStringChildren() + "}";
+    }
+}
@@ -1,25 +1,39 @@
 package org.graalphp.nodes.binary;
 
+import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.nodes.NodeInfo;
+import com.oracle.truffle.api.profiles.ConditionProfile;
 
 /**
+ * Division returns an integer if both operands are integers and the division is exact,
+ * a float otherwise.
+ * <p>
+ * Division by zero returns INF, -INF or NAN like PHP 7.
+ * XXX: PHP emits a warning "Division by zero"
+ * <p>
+ * https://www.php.net/manual/en/language.operators.arithmetic.php
+ *
  * @author abertschi
  */
 @NodeInfo(shortName = "/")
 public abstract class PhpDivNode extends PhpBinaryNode {
 
     @Specialization(rewriteOn = ArithmeticException.class)
-    protected long div(long left, long right) {
-        // XXX: can this be done with guards and removed from this specialization?
-        if (right == 0) {
-            throw new RuntimeException("div by 0");
+    protected long divExact(long left, long right) {
+        if (!isExact(left, right)) {
+            throw new ArithmeticException();
         }
-        long res = left / right;
-        if (left == Long.MIN_VALUE && right == -1) {
-            throw new NumberFormatException("long division overflow");
+        return left / right;
+    }
+
+    @Specialization
+    protected Object divLong(long left, long right,
+                             @Cached("createCountingProfile()") ConditionProfile exact) {
+        if (exact.profile(isExact(left, right))) {
+            return left / right;
         }
-        return res;
+        return (double) left / (double) right;
     }
 
     @Specialization
@@ -27,9 +41,17 @@ public abstract class PhpDivNode extends PhpBinaryNode {
         return left / right;
     }
 
+    /*
+     * Long.MIN_VALUE / -1 overflows, its result is a float
+     */
+    protected static boolean isExact(long left, long right) {
+        return right != 0
+                && left % right == 0
+                && !(left == Long.MIN_VALUE && right == -1);
+    }
+
     @Override
     public String toString() {
         return "PhpDivNode{" + toStringChildren() + "}";
     }
 }
-
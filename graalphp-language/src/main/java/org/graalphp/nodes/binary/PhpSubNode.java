@@ -1,7 +1,9 @@
 package org.graalphp.nodes.binary;
 
+import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.nodes.NodeInfo;
+import com.oracle.truffle.api.profiles.BranchProfile;
 
 /**
  * @author abertschi
@@ -14,6 +16,18 @@ public abstract class PhpSubNode extends PhpBinaryNode {
         return Math.subtractExact(left, right);
     }
 
+    // overflow promotes to float, see PhpAddNode
+    @Specialization
+    protected Object subOrOverflow(long left, long right,
+                                   @Cached BranchProfile overflow) {
+        try {
+            return Math.subtractExact(left, right);
+        } catch (ArithmeticException e) {
+            overflow.enter();
+            return (double) left - (double) right;
+        }
+    }
+
     @Specialization
     protected double sub(double left, double right) {
         return left - right;
@@ -22,7 +36,5 @@ public abstract class PhpSubNode extends PhpBinaryNode {
     @Override
     public String toString() {
         return "PhpSubNode{" + toStringChildren() + "}";
-
     }
 }
-
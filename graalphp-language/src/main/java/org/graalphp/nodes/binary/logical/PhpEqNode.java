@@ -2,9 +2,13 @@ package org.graalphp.nodes.binary.logical;
 
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
 import com.oracle.truffle.api.nodes.NodeInfo;
 import org.graalphp.nodes.binary.PhpBinaryNode;
+import org.graalphp.runtime.PhpEquality;
+import org.graalphp.runtime.array.ArrayLibrary;
 import org.graalphp.runtime.array.PhpArray;
+import org.graalphp.types.PhpString;
 
 /**
  * @author abertschi
@@ -22,13 +26,22 @@ public abstract class PhpEqNode extends PhpBinaryNode {
         return a == b;
     }
 
+    // XXX: numeric strings are compared as strings, PHP compares them as numbers
     @Specialization
-    public boolean doEqArray(VirtualFrame f, PhpArray a, PhpArray b) {
-        throw new UnsupportedOperationException("Array Equality not implemented");
+    public boolean doEqualsString(VirtualFrame f, PhpString a, PhpString b) {
+        // interned literals are equal by reference
+        return a == b || a.equals(b);
+    }
+
+    @Specialization(limit = ArrayLibrary.SPECIALIZATION_LIMIT)
+    public boolean doEqArray(VirtualFrame f, PhpArray a, PhpArray b,
+                            @CachedLibrary("a.getBackend()") ArrayLibrary library) {
+        return (a.getSize() == b.getSize()
+                && library.contentEquals(a.getBackend(), b.getBackend(), a.getSize()));
     }
 
     @Specialization()
     protected Object fallback(Object left, Object right) {
-        return left == right;
+        return PhpEquality.looseEquals(left, right);
     }
 }
@@ -2,9 +2,13 @@ package org.graalphp.nodes.binary.logical;
 
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
 import com.oracle.truffle.api.nodes.NodeInfo;
 import org.graalphp.nodes.binary.PhpBinaryNode;
+import org.graalphp.runtime.PhpEquality;
+import org.graalphp.runtime.array.ArrayLibrary;
 import org.graalphp.runtime.array.PhpArray;
+import org.graalphp.types.PhpString;
 
 /**
  * @see PhpEqNode
@@ -23,13 +27,22 @@ public abstract class PhpNeqNode extends PhpBinaryNode {
         return a != b;
     }
 
+    // XXX: numeric strings are compared as strings, PHP compares them as numbers
     @Specialization
-    public boolean doOpArray(VirtualFrame f, PhpArray a, PhpArray b) {
-        throw new UnsupportedOperationException("Array Equality not implemented");
+    public boolean doOpString(VirtualFrame f, PhpString a, PhpString b) {
+        // interned literals are equal by reference
+        return !(a == b || a.equals(b));
+    }
+
+    @Specialization(limit = ArrayLibrary.SPECIALIZATION_LIMIT)
+    public boolean doOpArray(VirtualFrame f, PhpArray a, PhpArray b,
+                            @CachedLibrary("a.getBackend()") ArrayLibrary library) {
+        return !(a.getSize() == b.getSize()
+                && library.contentEquals(a.getBackend(), b.getBackend(), a.getSize()));
     }
 
     @Specialization()
     protected Object fallback(Object left, Object right) {
-        return left != right;
+        return !PhpEquality.looseEquals(left, right);
     }
 }
\ No newline at end of file
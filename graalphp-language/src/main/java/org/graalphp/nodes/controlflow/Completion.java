@@ -0,0 +1,114 @@
+package org.graalphp.nodes.controlflow;
+
+import com.oracle.truffle.api.CompilerAsserts;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.frame.FrameDescriptor;
+import com.oracle.truffle.api.frame.FrameSlot;
+import com.oracle.truffle.api.frame.FrameSlotKind;
+import com.oracle.truffle.api.frame.FrameUtil;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.Node;
+import org.graalphp.exception.PhpException;
+
+/**
+ * Completion of a stmt executed with
+ * {@link org.graalphp.nodes.PhpStmtNode#complete(VirtualFrame)}.
+ * <p>
+ * Control flow stmts report how they completed instead of throwing control flow
+ * exceptions. A return stores its value in the return slot of the frame, a tail call
+ * its arguments. The completion slot records which of the two is pending, such that loops
+ * can report it after they exit. Exceptions are only thrown if a control flow stmt is
+ * nested in a stmt which does not support completions.
+ *
+ * @author abertschi
+ */
+public final class Completion {
+
+    public static final int NORMAL = 0;
+    public static final int BREAK = 1;
+    public static final int CONTINUE = 2;
+    public static final int RETURN = 3;
+    public static final int TAIL_CALL = 4;
+
+    private static final String RETURN_SLOT = "@return";
+    private static final String COMPLETION_SLOT = "@completion";
+
+    private Completion() {
+    }
+
+    public static FrameSlot findReturnSlot(FrameDescriptor desc) {
+        return desc.findOrAddFrameSlot(RETURN_SLOT, FrameSlotKind.Object);
+    }
+
+    /**
+     * Return slot in frame of the function node belongs to
+     */
+    public static FrameSlot findReturnSlot(Node node) {
+        CompilerAsserts.neverPartOfCompilation();
+        return findReturnSlot(node.getRootNode().getFrameDescriptor());
+    }
+
+    /**
+     * Slot recording the completion pending in the return slot
+     */
+    public static FrameSlot findCompletionSlot(FrameDescriptor desc) {
+        return desc.findOrAddFrameSlot(COMPLETION_SLOT, FrameSlotKind.Int);
+    }
+
+    /**
+     * Completion slot in frame of the function node belongs to
+     */
+    public static FrameSlot findCompletionSlot(Node node) {
+        CompilerAsserts.neverPartOfCompilation();
+        return findCompletionSlot(node.getRootNode().getFrameDescriptor());
+    }
+
+    /**
+     * Store value of a return or the arguments of a tail call in the return slot
+     */
+    public static void setPending(VirtualFrame frame, FrameSlot returnSlot,
+                                  FrameSlot completionSlot, int completion, Object value) {
+        frame.setObject(returnSlot, value);
+        frame.setInt(completionSlot, completion);
+    }
+
+    /**
+     * Completion of a return or tail call which is pending in the return slot,
+     * NORMAL if there is none
+     */
+    public static int pending(VirtualFrame frame, FrameSlot completionSlot) {
+        // slot is not initialized before the first return
+        return frame.isInt(completionSlot) ? FrameUtil.getIntSafe(frame, completionSlot) : NORMAL;
+    }
+
+    /**
+     * Throw control flow exception of a return or tail call pending in the return slot
+     */
+    public static void throwPending(VirtualFrame frame, FrameSlot returnSlot,
+                                    FrameSlot completionSlot, int completion) {
+        final Object value = take(frame, returnSlot, completionSlot);
+        if (completion == TAIL_CALL) {
+            throw new PhpTailCallException((Object[]) value);
+        }
+        throw new PhpReturnException(value);
+    }
+
+    /**
+     * Break or continue which is not within a loop
+     */
+    public static PhpException notInLoop(int completion, Node location) {
+        CompilerDirectives.transferToInterpreter();
+        final String stmt = completion == BREAK ? "break" : "continue";
+        return new PhpException("'" + stmt + "' not in the 'loop' context", location);
+    }
+
+    /**
+     * Read and clear value of the return slot and its pending completion
+     */
+    public static Object take(VirtualFrame frame, FrameSlot returnSlot, FrameSlot completionSlot) {
+        final Object value = FrameUtil.getObjectSafe(frame, returnSlot);
+        frame.setObject(returnSlot, null);
+        frame.setInt(completionSlot, NORMAL);
+        return value;
+    }
+}
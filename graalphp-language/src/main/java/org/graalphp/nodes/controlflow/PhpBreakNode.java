@@ -17,4 +17,9 @@ public final class PhpBreakNode extends PhpStmtNode {
     public void executeVoid(VirtualFrame frame) {
         throw new PhpBreakException();
     }
+
+    @Override
+    public int complete(VirtualFrame frame) {
+        return Completion.BREAK;
+    }
 }
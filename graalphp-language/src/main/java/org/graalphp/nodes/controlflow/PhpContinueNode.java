@@ -17,4 +17,9 @@ public final class PhpContinueNode extends PhpStmtNode {
     public void executeVoid(VirtualFrame frame) {
         throw new PhpContinueException();
     }
+
+    @Override
+    public int complete(VirtualFrame frame) {
+        return Completion.CONTINUE;
+    }
 }
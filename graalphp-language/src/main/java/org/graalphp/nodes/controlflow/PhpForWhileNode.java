@@ -7,7 +7,6 @@ import org.graalphp.nodes.PhpStmtNode;
 import org.graalphp.nodes.StmtListNode;
 import org.graalphp.nodes.unary.PhpConvertToBooleanNodeGen;
 
-import java.util.LinkedList;
 import java.util.List;
 
 /**
@@ -32,15 +31,18 @@ public final class PhpForWhileNode extends PhpStmtNode {
                 PhpConvertToBooleanNodeGen.createAndWrap(new ExprGroupNode(conditions));
         PhpStmtNode updater = new ExprGroupNode(updaters);
 
-        LinkedList<PhpStmtNode> bodyStmts = new LinkedList<>(loopBody);
-        bodyStmts.add(updater);
-
-        StmtListNode stmtList = new StmtListNode(bodyStmts);
-        this.whileNode = new PhpWhileNode(condition, stmtList);
+        StmtListNode stmtList = new StmtListNode(loopBody);
+        this.whileNode = new PhpWhileNode(condition, stmtList, updater, false);
     }
 
     public void executeVoid(VirtualFrame frame) {
         initNode.executeVoid(frame);
         whileNode.executeVoid(frame);
     }
+
+    @Override
+    public int complete(VirtualFrame frame) {
+        initNode.executeVoid(frame);
+        return whileNode.complete(frame);
+    }
 }
@@ -0,0 +1,121 @@
+package org.graalphp.nodes.controlflow;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.frame.FrameDescriptor;
+import com.oracle.truffle.api.frame.FrameSlot;
+import com.oracle.truffle.api.frame.FrameSlotKind;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.LoopNode;
+import com.oracle.truffle.api.nodes.NodeInfo;
+import com.oracle.truffle.api.profiles.BranchProfile;
+import org.graalphp.nodes.PhpExprNode;
+import org.graalphp.nodes.PhpStmtNode;
+import org.graalphp.runtime.array.PhpArray;
+
+/**
+ * foreach ($A as $key => $value) and foreach ($A as $key => &$value).
+ * <p>
+ * The loop state (array, backend, size and position) is kept in hidden frame slots
+ * such that the loop compiles to a counted loop over the backend.
+ * <p>
+ * By value iterates over a snapshot of the array. The array is marked as iterated
+ * while the loop runs, such that a write in the loop body copies the backend
+ * rather than changing the snapshot, see {@link PhpArray#enterIteration()}.
+ * By reference iterates over the live array and binds the value variable to the elements,
+ * see {@link PhpForeachRepeatingNode}.
+ *
+ * @author abertschi
+ */
+@NodeInfo(shortName = "foreach")
+public final class PhpForeachNode extends PhpStmtNode {
+
+    @Child
+    private PhpExprNode subjectNode;
+
+    @Child
+    private LoopNode loopNode;
+
+    private final FrameSlot arraySlot;
+    private final FrameSlot backendSlot;
+    private final FrameSlot sizeSlot;
+    private final FrameSlot positionSlot;
+    private final boolean byReference;
+
+    private final BranchProfile notArray = BranchProfile.create();
+
+    @CompilationFinal
+    private FrameSlot returnSlot;
+
+    @CompilationFinal
+    private FrameSlot completionSlot;
+
+    /**
+     * @param keySlot          variable of the key, null if loop has no key
+     * @param keyBindingSlot   binding of key variable to an element, null if never bound
+     * @param valueBindingSlot binding of value variable to an element, null if never bound
+     * @param id               unique name of this loop in frame, used to name hidden frame slots
+     */
+    public PhpForeachNode(PhpExprNode subjectNode,
+                          FrameSlot keySlot,
+                          FrameSlot keyBindingSlot,
+                          FrameSlot valueSlot,
+                          FrameSlot valueBindingSlot,
+                          boolean byReference,
+                          PhpStmtNode body,
+                          FrameDescriptor frameDesc,
+                          String id) {
+        this.subjectNode = subjectNode;
+        this.byReference = byReference;
+        this.arraySlot = frameDesc.findOrAddFrameSlot(id + ".array", FrameSlotKind.Object);
+        this.backendSlot = frameDesc.findOrAddFrameSlot(id + ".backend", FrameSlotKind.Object);
+        this.sizeSlot = frameDesc.findOrAddFrameSlot(id + ".size", FrameSlotKind.Long);
+        this.positionSlot = frameDesc.findOrAddFrameSlot(id + ".position", FrameSlotKind.Long);
+        this.loopNode = Truffle.getRuntime().createLoopNode(new PhpForeachRepeatingNode(
+                arraySlot, backendSlot, sizeSlot, positionSlot,
+                keySlot, keyBindingSlot, valueSlot, valueBindingSlot, byReference, body));
+    }
+
+    @Override
+    public void executeVoid(VirtualFrame frame) {
+        final int completion = complete(frame);
+        if (completion != Completion.NORMAL) {
+            // caller does not support completions
+            Completion.throwPending(frame, returnSlot, completionSlot, completion);
+        }
+    }
+
+    @Override
+    public int complete(VirtualFrame frame) {
+        if (returnSlot == null) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            returnSlot = Completion.findReturnSlot(this);
+            completionSlot = Completion.findCompletionSlot(this);
+        }
+        final Object subject = subjectNode.executeGeneric(frame);
+        if (!(subject instanceof PhpArray)) {
+            // XXX: PHP emits a warning and skips the loop
+            notArray.enter();
+            return Completion.NORMAL;
+        }
+        final PhpArray array = (PhpArray) subject;
+        final Object backend = array.getBackend();
+        frame.setObject(arraySlot, array);
+        frame.setObject(backendSlot, backend);
+        frame.setLong(sizeSlot, array.getSize());
+        frame.setLong(positionSlot, 0);
+        if (byReference) {
+            loopNode.execute(frame);
+        } else {
+            array.enterIteration();
+            try {
+                loopNode.execute(frame);
+            } finally {
+                array.exitIteration(backend);
+            }
+        }
+        // loop exits early if body returns
+        return Completion.pending(frame, completionSlot);
+    }
+}
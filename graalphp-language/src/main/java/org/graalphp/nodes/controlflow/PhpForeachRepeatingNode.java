@@ -0,0 +1,165 @@
+package org.graalphp.nodes.controlflow;
+
+import com.oracle.truffle.api.frame.FrameSlot;
+import com.oracle.truffle.api.frame.FrameUtil;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.nodes.RepeatingNode;
+import com.oracle.truffle.api.profiles.BranchProfile;
+import org.graalphp.nodes.PhpStmtNode;
+import org.graalphp.nodes.assign.AssignByValueNode;
+import org.graalphp.nodes.localvar.ReferenceVarNode;
+import org.graalphp.nodes.localvar.WriteLocalVarNode;
+import org.graalphp.nodes.localvar.WriteLocalVarNodeGen;
+import org.graalphp.runtime.array.ArrayLibrary;
+import org.graalphp.runtime.array.PhpArray;
+
+/**
+ * A single iteration of {@link PhpForeachNode}.
+ * <p>
+ * The library dispatches on the backend which is loop invariant for by value iteration.
+ * Its type check is thus hoisted out of the loop.
+ * <p>
+ * By reference iteration re-reads backend and size after each iteration as the body
+ * may grow the array. The value variable is bound to the element, see {@link ReferenceVarNode},
+ * and stays bound to the last element after the loop.
+ * By value iteration stores key and value into the element their variable is bound to.
+ *
+ * @author abertschi
+ */
+public final class PhpForeachRepeatingNode extends Node implements RepeatingNode {
+
+    private static final int LIBRARY_LIMIT = Integer.parseInt(ArrayLibrary.SPECIALIZATION_LIMIT);
+
+    private final BranchProfile continueTaken = BranchProfile.create();
+    private final BranchProfile breakTaken = BranchProfile.create();
+    private final BranchProfile returnTaken = BranchProfile.create();
+
+    private final FrameSlot arraySlot;
+    private final FrameSlot backendSlot;
+    private final FrameSlot sizeSlot;
+    private final FrameSlot positionSlot;
+    private final FrameSlot valueBindingSlot;
+    private final boolean byReference;
+
+    @Child
+    private ArrayLibrary library = ArrayLibrary.getFactory().createDispatched(LIBRARY_LIMIT);
+
+    @Child
+    private WriteLocalVarNode writeKeyNode;
+
+    @Child
+    private WriteLocalVarNode writeValueNode;
+
+    @Child
+    private AssignByValueNode copyValueNode;
+
+    @Child
+    private ReferenceVarNode keyReferenceNode;
+
+    @Child
+    private ReferenceVarNode valueReferenceNode;
+
+    @Child
+    private PhpStmtNode bodyNode;
+
+    public PhpForeachRepeatingNode(FrameSlot arraySlot,
+                                   FrameSlot backendSlot,
+                                   FrameSlot sizeSlot,
+                                   FrameSlot positionSlot,
+                                   FrameSlot keySlot,
+                                   FrameSlot keyBindingSlot,
+                                   FrameSlot valueSlot,
+                                   FrameSlot valueBindingSlot,
+                                   boolean byReference,
+                                   PhpStmtNode bodyNode) {
+        assert !byReference || valueBindingSlot != null;
+        this.arraySlot = arraySlot;
+        this.backendSlot = backendSlot;
+        this.sizeSlot = sizeSlot;
+        this.positionSlot = positionSlot;
+        this.valueBindingSlot = valueBindingSlot;
+        this.byReference = byReference;
+        this.bodyNode = bodyNode;
+        this.writeValueNode = WriteLocalVarNodeGen.create(null, valueSlot);
+        if (keySlot != null) {
+            this.writeKeyNode = WriteLocalVarNodeGen.create(null, keySlot);
+            if (keyBindingSlot != null) {
+                this.keyReferenceNode = new ReferenceVarNode(null, keySlot, keyBindingSlot, true);
+            }
+        }
+        if (!byReference) {
+            this.copyValueNode = AssignByValueNode.createWithoutChild();
+            if (valueBindingSlot != null) {
+                this.valueReferenceNode =
+                        new ReferenceVarNode(null, valueSlot, valueBindingSlot, true);
+            }
+        }
+    }
+
+    @Override
+    public boolean executeRepeating(VirtualFrame frame) {
+        final int position = (int) FrameUtil.getLongSafe(frame, positionSlot);
+        final PhpArray array = (PhpArray) FrameUtil.getObjectSafe(frame, arraySlot);
+        final Object backend;
+        if (byReference) {
+            if (position >= array.getSize()) {
+                return false;
+            }
+            backend = array.getBackend();
+        } else {
+            if (position >= FrameUtil.getLongSafe(frame, sizeSlot)) {
+                return false;
+            }
+            backend = FrameUtil.getObjectSafe(frame, backendSlot);
+        }
+        frame.setLong(positionSlot, position + 1);
+
+        final Object key = library.iterationKey(backend, position);
+        if (writeKeyNode != null) {
+            writeKeyNode.executeWrite(frame, key);
+            if (keyReferenceNode != null) {
+                keyReferenceNode.store(frame);
+            }
+        }
+        final Object value = library.iterationValue(backend, position);
+        if (byReference) {
+            ReferenceVarNode.bind(frame, valueBindingSlot, array, key);
+            writeValueNode.executeWrite(frame, value);
+        } else if (valueReferenceNode != null) {
+            final Object element = valueReferenceNode.readIterated(frame, array, key, value);
+            writeValueNode.executeWrite(frame, copyValueNode.executeSource(element));
+            valueReferenceNode.store(frame);
+        } else {
+            writeValueNode.executeWrite(frame, copyValueNode.executeSource(value));
+        }
+        return executeBody(frame);
+    }
+
+    // false if body leaves the loop
+    private boolean executeBody(VirtualFrame frame) {
+        try {
+            switch (bodyNode.complete(frame)) {
+                case Completion.BREAK:
+                    breakTaken.enter();
+                    return false;
+                case Completion.CONTINUE:
+                    continueTaken.enter();
+                    return true;
+                case Completion.RETURN:
+                case Completion.TAIL_CALL:
+                    // pending in return slot, see PhpForeachNode
+                    returnTaken.enter();
+                    return false;
+                default:
+                    return true;
+            }
+        } catch (PhpBreakException e) {
+            breakTaken.enter();
+            return false;
+        } catch (PhpContinueException e) {
+            continueTaken.enter();
+            return true;
+        }
+    }
+}
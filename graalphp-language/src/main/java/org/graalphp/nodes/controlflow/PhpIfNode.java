@@ -42,6 +42,16 @@ public final class PhpIfNode extends PhpStmtNode {
         }
     }
 
+    @Override
+    public int complete(VirtualFrame frame) {
+        if (condition.profile(evaluateCondition(frame))) {
+            return ifNode.complete(frame);
+        } else if (elseNode != null) {
+            return elseNode.complete(frame);
+        }
+        return Completion.NORMAL;
+    }
+
     private boolean evaluateCondition(VirtualFrame frame) {
         try {
             return conditionNode.executeBoolean(frame);
@@ -1,5 +1,8 @@
 package org.graalphp.nodes.controlflow;
 
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.frame.FrameSlot;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.nodes.NodeInfo;
 import org.graalphp.nodes.PhpExprNode;
@@ -21,14 +24,33 @@ public final class PhpReturnNode extends PhpStmtNode {
         this.exec = exec;
     }
 
+    @CompilationFinal
+    private FrameSlot returnSlot;
+
+    @CompilationFinal
+    private FrameSlot completionSlot;
+
     @Override
     public void executeVoid(VirtualFrame frame) {
-        Object returnVal = null;
+        throw new PhpReturnException(executeReturnValue(frame));
+    }
+
+    @Override
+    public int complete(VirtualFrame frame) {
+        if (returnSlot == null) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            returnSlot = Completion.findReturnSlot(this);
+            completionSlot = Completion.findCompletionSlot(this);
+        }
+        Completion.setPending(frame, returnSlot, completionSlot, Completion.RETURN, executeReturnValue(frame));
+        return Completion.RETURN;
+    }
+
+    private Object executeReturnValue(VirtualFrame frame) {
         if (exec != null) {
-            returnVal = exec.executeGeneric(frame);
+            return exec.executeGeneric(frame);
         } else {
-            returnVal = PhpNull.SINGLETON;
+            return PhpNull.SINGLETON;
         }
-        throw new PhpReturnException(returnVal);
     }
 }
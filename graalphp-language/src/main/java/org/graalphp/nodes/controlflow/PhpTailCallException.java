@@ -0,0 +1,22 @@
+package org.graalphp.nodes.controlflow;
+
+import com.oracle.truffle.api.nodes.ControlFlowException;
+
+/**
+ * Unwinds a function body to re-enter it with new arguments
+ *
+ * @author abertschi
+ * @see org.graalphp.nodes.function.PhpTailCallNode
+ */
+public final class PhpTailCallException extends ControlFlowException {
+
+    private final Object[] arguments;
+
+    public PhpTailCallException(Object[] arguments) {
+        this.arguments = arguments;
+    }
+
+    public Object[] getArguments() {
+        return arguments;
+    }
+}
@@ -1,6 +1,9 @@
 package org.graalphp.nodes.controlflow;
 
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.frame.FrameSlot;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.nodes.LoopNode;
 import com.oracle.truffle.api.nodes.NodeInfo;
@@ -18,12 +21,45 @@ public final class PhpWhileNode extends PhpStmtNode {
     private LoopNode loopNode;
 
     public PhpWhileNode(PhpExprNode condition, PhpStmtNode body) {
-        this.loopNode = Truffle.getRuntime().createLoopNode(
-                new PhpWhileRepeatingNode(PhpConvertToBooleanNode.createAndWrap(condition), body));
+        this(condition, body, null, false);
     }
 
+    /**
+     * @param update stmt executed after body and after continue, null if there is none
+     */
+    PhpWhileNode(PhpExprNode condition,
+                 PhpStmtNode body,
+                 PhpStmtNode update,
+                 boolean conditionAfterBody) {
+        this.loopNode = Truffle.getRuntime().createLoopNode(new PhpWhileRepeatingNode(
+                PhpConvertToBooleanNode.createAndWrap(condition), body, update,
+                conditionAfterBody));
+    }
+
+    @CompilationFinal
+    private FrameSlot returnSlot;
+
+    @CompilationFinal
+    private FrameSlot completionSlot;
+
     @Override
     public void executeVoid(VirtualFrame frame) {
+        final int completion = complete(frame);
+        if (completion != Completion.NORMAL) {
+            // caller does not support completions
+            Completion.throwPending(frame, returnSlot, completionSlot, completion);
+        }
+    }
+
+    @Override
+    public int complete(VirtualFrame frame) {
+        if (returnSlot == null) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            returnSlot = Completion.findReturnSlot(this);
+            completionSlot = Completion.findCompletionSlot(this);
+        }
         loopNode.execute(frame);
+        // loop exits early if body returns
+        return Completion.pending(frame, completionSlot);
     }
 }
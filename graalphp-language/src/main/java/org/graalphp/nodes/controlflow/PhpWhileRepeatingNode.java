@@ -11,6 +11,10 @@ import org.graalphp.nodes.unary.PhpConvertToBooleanNode;
 
 /**
  * Truffle idiomatic way to represent a while node
+ * <p>
+ * A do-while loop evaluates the condition after the body. It is the same loop node
+ * such that Truffle can compile its body on stack replacement (OSR) in all loop kinds.
+ * A for loop executes its update stmt after the body, also if the body continues.
  *
  * @author abertschi
  */
@@ -18,6 +22,7 @@ public final class PhpWhileRepeatingNode extends Node implements RepeatingNode {
 
     private final BranchProfile continueTaken = BranchProfile.create();
     private final BranchProfile breakTaken = BranchProfile.create();
+    private final BranchProfile returnTaken = BranchProfile.create();
 
     @Child
     private PhpConvertToBooleanNode conditionNode;
@@ -25,22 +30,61 @@ public final class PhpWhileRepeatingNode extends Node implements RepeatingNode {
     @Child
     private PhpStmtNode bodyNode;
 
+    @Child
+    private PhpStmtNode updateNode;
+
+    // true for do-while loops
+    private final boolean conditionAfterBody;
+
     public PhpWhileRepeatingNode(PhpConvertToBooleanNode conditionNode,
                                  PhpStmtNode bodyNode) {
+        this(conditionNode, bodyNode, null, false);
+    }
+
+    public PhpWhileRepeatingNode(PhpConvertToBooleanNode conditionNode,
+                                 PhpStmtNode bodyNode,
+                                 PhpStmtNode updateNode,
+                                 boolean conditionAfterBody) {
         this.conditionNode = conditionNode;
         this.bodyNode = bodyNode;
+        this.updateNode = updateNode;
+        this.conditionAfterBody = conditionAfterBody;
     }
 
     @Override
     public boolean executeRepeating(VirtualFrame frame) {
-        if (!evaluateCondition(frame)) {
+        if (!conditionAfterBody && !evaluateCondition(frame)) {
             // XXX: do we need profiling here or is it already applied by truffle?
             // exit loop
             return false;
         }
+        if (!executeBody(frame)) {
+            return false;
+        }
+        if (updateNode != null) {
+            updateNode.executeVoid(frame);
+        }
+        return !conditionAfterBody || evaluateCondition(frame);
+    }
+
+    // false if body leaves the loop
+    private boolean executeBody(VirtualFrame frame) {
         try {
-            bodyNode.executeVoid(frame);
-            return true;
+            switch (bodyNode.complete(frame)) {
+                case Completion.BREAK:
+                    breakTaken.enter();
+                    return false;
+                case Completion.RETURN:
+                case Completion.TAIL_CALL:
+                    // pending in return slot, see PhpWhileNode
+                    returnTaken.enter();
+                    return false;
+                case Completion.CONTINUE:
+                    continueTaken.enter();
+                    return true;
+                default:
+                    return true;
+            }
         } catch (PhpBreakException e) {
             breakTaken.enter();
             return false;
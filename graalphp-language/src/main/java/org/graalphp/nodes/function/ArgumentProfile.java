@@ -0,0 +1,70 @@
+package org.graalphp.nodes.function;
+
+import com.oracle.truffle.api.Assumption;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.Truffle;
+
+import java.util.Arrays;
+
+/**
+ * Profiles the exact types of the arguments a function is called with.
+ * <p>
+ * If all callers pass a long for an argument, the argument is read as exact Long
+ * and the function stores it unboxed in its frame slot. The type is checked once on entry,
+ * against a constant class, rather than by the specializations of each use.
+ * Compiled code assumes that the profiled types do not change. An argument of another
+ * type invalidates that assumption and the argument is no longer profiled.
+ *
+ * @author abertschi
+ */
+public final class ArgumentProfile {
+
+    // null if argument was not seen yet, Object.class if argument is not profiled
+    @CompilationFinal(dimensions = 1)
+    private Class<?>[] types = new Class<?>[0];
+
+    /** utility to assume that the profiled types do not change **/
+    @CompilationFinal
+    private Assumption stable = createAssumption();
+
+    /**
+     * Profile value of argument at given index
+     *
+     * @return value, cast to its exact type if profiled
+     */
+    public Object profile(int index, Object value) {
+        if (stable.isValid()) {
+            final Class<?> type = getType(index);
+            if (type == Object.class) {
+                return value;
+            } else if (type != null && value != null && value.getClass() == type) {
+                return CompilerDirectives.castExact(value, type);
+            }
+        }
+        CompilerDirectives.transferToInterpreterAndInvalidate();
+        update(index, getType(index) == null && value != null ? value.getClass() : Object.class);
+        return value;
+    }
+
+    private void update(int index, Class<?> type) {
+        if (index >= types.length) {
+            types = Arrays.copyOf(types, index + 1);
+        }
+        types[index] = type;
+        stable.invalidate();
+        stable = createAssumption();
+    }
+
+    public Class<?> getType(int index) {
+        return index < types.length ? types[index] : null;
+    }
+
+    public Assumption getAssumption() {
+        return stable;
+    }
+
+    private static Assumption createAssumption() {
+        return Truffle.getRuntime().createAssumption("argument types");
+    }
+}
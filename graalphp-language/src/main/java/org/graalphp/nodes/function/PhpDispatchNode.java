@@ -0,0 +1,71 @@
+package org.graalphp.nodes.function;
+
+import com.oracle.truffle.api.Assumption;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.ReportPolymorphism;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.DirectCallNode;
+import com.oracle.truffle.api.nodes.IndirectCallNode;
+import com.oracle.truffle.api.nodes.Node;
+import org.graalphp.nodes.assign.AssignByReferenceNode;
+import org.graalphp.nodes.assign.AssignByValueNode;
+import org.graalphp.nodes.assign.AssignSemanticNode;
+import org.graalphp.types.PhpFunction;
+
+/**
+ * Calls a function and forwards its return value either by-ref or by-value.
+ * <p>
+ * Call targets of up to {@link #INLINE_CACHE_SIZE} functions are cached and called
+ * directly. A cached entry is dropped once the implementation of its function changes.
+ * Megamorphic call sites call all functions indirectly.
+ *
+ * @author abertschi
+ */
+@ReportPolymorphism
+public abstract class PhpDispatchNode extends Node {
+
+    public static final int INLINE_CACHE_SIZE = 3;
+
+    public static PhpDispatchNode create() {
+        return PhpDispatchNodeGen.create();
+    }
+
+    public abstract Object executeDispatch(PhpFunction function, Object[] args);
+
+    @Specialization(
+            guards = "function == cachedFunction",
+            assumptions = "callTargetStable",
+            limit = "INLINE_CACHE_SIZE")
+    protected Object callDirect(
+            PhpFunction function,
+            Object[] args,
+            @Cached("function") PhpFunction cachedFunction,
+            @Cached("cachedFunction.getCallTargetStable()") Assumption callTargetStable,
+            @Cached("create(cachedFunction.getCallTarget())") DirectCallNode callNode,
+            @Cached("createForwardNode(cachedFunction.isReturnReference())")
+                    AssignSemanticNode forwardNode) {
+        return forwardNode.executeSource(callNode.call(args));
+    }
+
+    @Specialization(replaces = "callDirect")
+    protected Object callIndirect(
+            PhpFunction function,
+            Object[] args,
+            @Cached IndirectCallNode callNode,
+            @Cached("createForwardNode(true)") AssignSemanticNode forwardRefNode,
+            @Cached("createForwardNode(false)") AssignSemanticNode forwardValueNode) {
+        final Object result = callNode.call(function.getCallTarget(), args);
+        return function.isReturnReference()
+                ? forwardRefNode.executeSource(result)
+                : forwardValueNode.executeSource(result);
+    }
+
+    // Forward node dictates semantics of forwarding values; either by-ref or by-value
+    protected static AssignSemanticNode createForwardNode(boolean ref) {
+        if (ref) {
+            return AssignByReferenceNode.createWithoutChild();
+        } else {
+            return AssignByValueNode.createWithoutChild();
+        }
+    }
+}
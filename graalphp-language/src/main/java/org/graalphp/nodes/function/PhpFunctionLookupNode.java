@@ -1,53 +1,55 @@
 package org.graalphp.nodes.function;
 
 import com.oracle.truffle.api.CompilerDirectives;
-import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.CachedContext;
+import com.oracle.truffle.api.dsl.CachedLanguage;
+import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.frame.VirtualFrame;
+import org.graalphp.PhpContext;
+import org.graalphp.PhpLanguage;
 import org.graalphp.exception.PhpUndefFunctionException;
 import org.graalphp.nodes.PhpExprNode;
-import org.graalphp.parser.ParseScope;
 import org.graalphp.types.PhpFunction;
 
 /**
  * Function implementation may only be known after a function call
  * in terms of location in source code.
  * <p>
- * During runtime, this node looks up the implementation of the function.
+ * During runtime, this node looks up the implementation of the function
+ * in the function table of the current context. The node only caches the id of the
+ * function, which is the same for all contexts, such that the AST can be shared.
  *
  * @author abertschi
  */
-public final class PhpFunctionLookupNode extends PhpExprNode {
+public abstract class PhpFunctionLookupNode extends PhpExprNode {
 
     private final String name;
 
-    // lazy load function because not yet available when this node is created
-    @CompilationFinal
-    private PhpFunction function;
+    protected PhpFunctionLookupNode(String name) {
+        this.name = name;
+    }
 
-    private final ParseScope scope;
+    public static PhpFunctionLookupNode create(String name) {
+        return PhpFunctionLookupNodeGen.create(name);
+    }
 
-    public PhpFunctionLookupNode(String name, ParseScope scope) {
-        this.name = name;
-        this.scope = scope;
+    protected String getName() {
+        return name;
     }
 
     @Override
-    public PhpFunction executeGeneric(VirtualFrame frame) {
+    public abstract PhpFunction executeGeneric(VirtualFrame frame);
+
+    @Specialization
+    protected PhpFunction doLookup(
+            @CachedLanguage PhpLanguage language,
+            @CachedContext(PhpLanguage.class) PhpContext context,
+            @Cached("language.getFunctionId(getName())") int id) {
+        final PhpFunction function = context.getFunction(id);
         if (function == null) {
-            // We are about to change a @CompilationFinal field.
-            CompilerDirectives.transferToInterpreterAndInvalidate();
-
-            PhpFunction fn = this.scope.resolveFunction(this.name);
-            if (fn == null) {
-                StringBuilder buf = new StringBuilder()
-                        .append("Function ")
-                        .append(name)
-                        .append(" not found.")
-                        .append(" scope: ")
-                        .append(scope.getGlobal() == scope ? "<global>" : "<function>");
-                throw new PhpUndefFunctionException(buf.toString(), this);
-            }
-            this.function = fn;
+            CompilerDirectives.transferToInterpreter();
+            throw new PhpUndefFunctionException("Function " + name + " not found.", this);
         }
         return function;
     }
@@ -7,6 +7,7 @@ import org.graalphp.PhpLanguage;
 import org.graalphp.nodes.EmptyExprNode;
 import org.graalphp.nodes.PhpExprNode;
 import org.graalphp.nodes.StmtListNode;
+import org.graalphp.nodes.controlflow.Completion;
 import org.graalphp.nodes.PhpStmtNode;
 
 import java.util.List;
@@ -24,6 +25,8 @@ public final class PhpFunctionRootNode extends RootNode {
 
     private final String name;
 
+    private final ArgumentProfile argumentProfile = new ArgumentProfile();
+
     public PhpFunctionRootNode(PhpLanguage lang,
                                FrameDescriptor desc,
                                String name,
@@ -37,6 +40,9 @@ public final class PhpFunctionRootNode extends RootNode {
                                                       FrameDescriptor desc,
                                                       String name,
                                                       List<PhpStmtNode> stmts) {
+        Completion.findReturnSlot(desc);
+        Completion.findCompletionSlot(desc);
+        PhpTailCallNode.findArgumentsSlot(desc);
         StmtListNode stmt = new StmtListNode(stmts);
         PhpReturnBodyNode fnBody = new PhpReturnBodyNode(stmt);
         return new PhpFunctionRootNode(lang, desc, name, fnBody);
@@ -49,6 +55,10 @@ public final class PhpFunctionRootNode extends RootNode {
         return new PhpFunctionRootNode(lang, desc, name, new EmptyExprNode());
     }
 
+    public ArgumentProfile getArgumentProfile() {
+        return argumentProfile;
+    }
+
     @Override
     public Object execute(VirtualFrame frame) {
         return body.executeGeneric(frame);
@@ -1,42 +1,128 @@
 package org.graalphp.nodes.function;
 
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.frame.FrameDescriptor;
+import com.oracle.truffle.api.frame.FrameSlot;
 import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
 import com.oracle.truffle.api.profiles.BranchProfile;
 import org.graalphp.nodes.PhpExprNode;
 import org.graalphp.nodes.PhpStmtNode;
+import org.graalphp.nodes.controlflow.Completion;
 import org.graalphp.nodes.controlflow.PhpReturnException;
+import org.graalphp.nodes.controlflow.PhpTailCallException;
+import org.graalphp.runtime.PhpUnset;
 import org.graalphp.types.PhpNull;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Node to represent a construct in PHP which can return a value
  * (function, or return from global scope)
  * <p>
- * Uses Truffle idiomatic way to wrap return type into Control Flow exception.
+ * Stmts report a return by their completion, see {@link Completion}.
+ * Returns nested in stmts without completion support use a Control Flow exception.
+ * Tail calls re-execute the body, see {@link PhpTailCallNode}.
  *
  * @author abertschi
  */
 public final class PhpReturnBodyNode extends PhpExprNode {
 
     private final BranchProfile continueTaken = BranchProfile.create();
+    private final BranchProfile tailCallTaken = BranchProfile.create();
+    private final BranchProfile returnTaken = BranchProfile.create();
 
     @Child
     private PhpStmtNode body;
 
+    @CompilationFinal
+    private FrameSlot returnSlot;
+
+    @CompilationFinal
+    private FrameSlot completionSlot;
+
+    @CompilationFinal
+    private FrameSlot argumentsSlot;
+
+    // variables which are no parameters, reset on a tail call
+    @CompilationFinal(dimensions = 1)
+    private FrameSlot[] localSlots;
+
     public PhpReturnBodyNode(PhpStmtNode body) {
         this.body = body;
     }
 
     @Override
     public Object executeGeneric(VirtualFrame frame) {
-        try {
-            body.executeVoid(frame);
-        } catch (PhpReturnException e) {
-            continueTaken.enter();
-            return e.getReturnValue();
+        if (returnSlot == null) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            returnSlot = Completion.findReturnSlot(this);
+            completionSlot = Completion.findCompletionSlot(this);
+            argumentsSlot = PhpTailCallNode.findArgumentsSlot(getRootNode().getFrameDescriptor());
+        }
+        while (true) {
+            final int completion;
+            try {
+                completion = body.complete(frame);
+            } catch (PhpReturnException e) {
+                continueTaken.enter();
+                return e.getReturnValue();
+            } catch (PhpTailCallException e) {
+                tailCallTaken.enter();
+                reenter(frame, e.getArguments());
+                continue;
+            }
+            if (completion == Completion.RETURN) {
+                returnTaken.enter();
+                return Completion.take(frame, returnSlot, completionSlot);
+            } else if (completion == Completion.TAIL_CALL) {
+                tailCallTaken.enter();
+                reenter(frame, (Object[]) Completion.take(frame, returnSlot, completionSlot));
+            } else if (completion != Completion.NORMAL) {
+                throw Completion.notInLoop(completion, this);
+            } else {
+                return PhpNull.SINGLETON;
+            }
         }
-        return PhpNull.SINGLETON;
     }
 
+    /*
+     * A tail call executes the body again in the same frame. Like in a new invocation,
+     * local variables are undefined. Parameters are assigned at the beginning of the body and
+     * read the new values from the arguments slot. The arguments array of the invocation is not
+     * reused, it lacks parameters which were assigned their default value.
+     */
+    @ExplodeLoop
+    private void reenter(VirtualFrame frame, Object[] newArgs) {
+        if (localSlots == null) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            localSlots = findLocalSlots(frame.getFrameDescriptor(),
+                    returnSlot, completionSlot, argumentsSlot);
+        }
+        for (FrameSlot slot : localSlots) {
+            frame.setObject(slot, PhpUnset.SINGLETON);
+        }
+        frame.setObject(argumentsSlot, newArgs);
+    }
+
+    // parameter slots store their argument index as info
+    @TruffleBoundary
+    private static FrameSlot[] findLocalSlots(FrameDescriptor descriptor,
+                                              FrameSlot returnSlot,
+                                              FrameSlot completionSlot,
+                                              FrameSlot argumentsSlot) {
+        final List<FrameSlot> locals = new ArrayList<>();
+        for (FrameSlot slot : descriptor.getSlots()) {
+            if (slot != returnSlot && slot != completionSlot && slot != argumentsSlot
+                    && !(slot.getInfo() instanceof Integer)) {
+                locals.add(slot);
+            }
+        }
+        return locals.toArray(new FrameSlot[0]);
+    }
 
     @Override
     public String toString() {
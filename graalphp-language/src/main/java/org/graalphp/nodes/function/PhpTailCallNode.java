@@ -0,0 +1,87 @@
+package org.graalphp.nodes.function;
+
+import com.oracle.truffle.api.CompilerAsserts;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.frame.FrameDescriptor;
+import com.oracle.truffle.api.frame.FrameSlot;
+import com.oracle.truffle.api.frame.FrameSlotKind;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
+import com.oracle.truffle.api.nodes.NodeInfo;
+import org.graalphp.nodes.PhpExprNode;
+import org.graalphp.nodes.PhpStmtNode;
+import org.graalphp.nodes.controlflow.Completion;
+import org.graalphp.nodes.controlflow.PhpTailCallException;
+
+/**
+ * Models return foo(...) within function foo.
+ * <p>
+ * Instead of a call, the arguments are evaluated and the body of the current
+ * invocation is executed again with them. The stack does not grow for tail recursive
+ * functions. The arguments are stored in a frame slot, see {@link #findArgumentsSlot},
+ * as the arguments array of the invocation may be shorter if parameters have defaults.
+ *
+ * @author abertschi
+ * @see PhpReturnBodyNode
+ */
+@NodeInfo(shortName = "tailcall")
+public final class PhpTailCallNode extends PhpStmtNode {
+
+    private static final String ARGUMENTS_SLOT = "@arguments";
+
+    @Children
+    private final PhpExprNode[] argNodes;
+
+    public PhpTailCallNode(PhpExprNode[] argNodes) {
+        this.argNodes = argNodes;
+    }
+
+    @CompilationFinal
+    private FrameSlot returnSlot;
+
+    @CompilationFinal
+    private FrameSlot completionSlot;
+
+    @Override
+    public void executeVoid(VirtualFrame frame) {
+        throw new PhpTailCallException(executeArguments(frame));
+    }
+
+    @Override
+    public int complete(VirtualFrame frame) {
+        if (returnSlot == null) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            returnSlot = Completion.findReturnSlot(this);
+            completionSlot = Completion.findCompletionSlot(this);
+        }
+        Completion.setPending(frame, returnSlot, completionSlot,
+                Completion.TAIL_CALL, executeArguments(frame));
+        return Completion.TAIL_CALL;
+    }
+
+    /**
+     * Slot with arguments of the last tail call, null before the first tail call
+     */
+    public static FrameSlot findArgumentsSlot(FrameDescriptor desc) {
+        return desc.findOrAddFrameSlot(ARGUMENTS_SLOT, FrameSlotKind.Object);
+    }
+
+    /**
+     * @return arguments slot, null if function cannot be re-entered by a tail call
+     */
+    public static FrameSlot getArgumentsSlot(FrameDescriptor desc) {
+        return desc.findFrameSlot(ARGUMENTS_SLOT);
+    }
+
+    @ExplodeLoop
+    private Object[] executeArguments(VirtualFrame frame) {
+        CompilerAsserts.partialEvaluationConstant(argNodes.length);
+
+        final Object[] args = new Object[argNodes.length];
+        for (int i = 0; i < argNodes.length; i++) {
+            args[i] = argNodes[i].executeGeneric(frame);
+        }
+        return args;
+    }
+}
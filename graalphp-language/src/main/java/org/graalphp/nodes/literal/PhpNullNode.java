@@ -0,0 +1,25 @@
+package org.graalphp.nodes.literal;
+
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.NodeInfo;
+import org.graalphp.nodes.PhpExprNode;
+import org.graalphp.types.PhpNull;
+
+/**
+ * Represents the null literal in graalphp
+ *
+ * @author abertschi
+ */
+@NodeInfo(shortName = "null")
+public final class PhpNullNode extends PhpExprNode {
+
+    @Override
+    public Object executeGeneric(VirtualFrame frame) {
+        return PhpNull.SINGLETON;
+    }
+
+    @Override
+    public String toString() {
+        return "PhpNullNode{}";
+    }
+}
@@ -0,0 +1,35 @@
+package org.graalphp.nodes.literal;
+
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.NodeInfo;
+import org.graalphp.nodes.PhpExprNode;
+import org.graalphp.types.PhpString;
+
+/**
+ * Represents string literals in graalphp
+ * <p>
+ * PhpString is immutable, all evaluations return the same instance
+ *
+ * @author abertschi
+ */
+@NodeInfo(shortName = "string")
+public final class PhpStringNode extends PhpExprNode {
+
+    private final PhpString val;
+
+    public PhpStringNode(PhpString val) {
+        this.val = val;
+    }
+
+    @Override
+    public Object executeGeneric(VirtualFrame frame) {
+        return val;
+    }
+
+    @Override
+    public String toString() {
+        return "PhpStringNode{" +
+                "val=" + val +
+                '}';
+    }
+}
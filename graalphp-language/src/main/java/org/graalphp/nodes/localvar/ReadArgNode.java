@@ -1,11 +1,22 @@
 package org.graalphp.nodes.localvar;
 
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.frame.FrameSlot;
+import com.oracle.truffle.api.frame.FrameUtil;
 import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.RootNode;
 import com.oracle.truffle.api.profiles.BranchProfile;
 import org.graalphp.nodes.PhpExprNode;
+import org.graalphp.nodes.function.ArgumentProfile;
+import org.graalphp.nodes.function.PhpFunctionRootNode;
+import org.graalphp.nodes.function.PhpTailCallNode;
 
 /**
  * Node which returns argument from truffle frame
+ * <p>
+ * Arguments are read with the exact type profiled for the function, see {@link ArgumentProfile}.
+ * If the argument is not given, the default value of the parameter is evaluated.
  *
  * @author abertschi
  * @see org.graalphp.runtime.assign.AssignRuntimeFactory for wrappers to assign by reference/ value
@@ -14,20 +25,66 @@ public final class ReadArgNode extends PhpExprNode {
 
     private final int index;
 
+    // default value of an optional parameter, null if parameter is required
+    @Child
+    private PhpExprNode defaultValueNode;
+
     public ReadArgNode(int index) {
+        this(index, null);
+    }
+
+    public ReadArgNode(int index, PhpExprNode defaultValueNode) {
         this.index = index;
+        this.defaultValueNode = defaultValueNode;
     }
 
     private final BranchProfile invalidArgumentProfile = BranchProfile.create();
 
+    // profile of the function this argument belongs to, null if root is no function
+    @CompilationFinal
+    private ArgumentProfile profile;
+
+    @CompilationFinal
+    private boolean initialized;
+
+    // arguments of a tail call, null if function has no tail calls
+    @CompilationFinal
+    private FrameSlot tailCallArgumentsSlot;
+
     @Override
     public Object executeGeneric(VirtualFrame frame) {
-        Object[] args = frame.getArguments();
+        if (!initialized) {
+            initialize(frame);
+        }
+        final Object[] args = getArguments(frame);
         if (index < args.length) {
-            return args[index];
+            return profile == null ? args[index] : profile.profile(index, args[index]);
+        } else if (defaultValueNode != null) {
+            return defaultValueNode.executeGeneric(frame);
         } else {
             invalidArgumentProfile.enter();
             throw new UnsupportedOperationException("invalid argument count given");
         }
     }
+
+    private void initialize(VirtualFrame frame) {
+        CompilerDirectives.transferToInterpreterAndInvalidate();
+        tailCallArgumentsSlot = PhpTailCallNode.getArgumentsSlot(frame.getFrameDescriptor());
+        // other roots, e.g. tests, are not profiled
+        final RootNode root = getRootNode();
+        profile = root instanceof PhpFunctionRootNode
+                ? ((PhpFunctionRootNode) root).getArgumentProfile()
+                : null;
+        initialized = true;
+    }
+
+    private Object[] getArguments(VirtualFrame frame) {
+        if (tailCallArgumentsSlot != null) {
+            final Object tailCallArgs = FrameUtil.getObjectSafe(frame, tailCallArgumentsSlot);
+            if (tailCallArgs != null) {
+                return (Object[]) tailCallArgs;
+            }
+        }
+        return frame.getArguments();
+    }
 }
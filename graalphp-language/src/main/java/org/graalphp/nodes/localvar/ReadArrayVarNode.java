@@ -0,0 +1,57 @@
+package org.graalphp.nodes.localvar;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.frame.FrameDescriptor;
+import com.oracle.truffle.api.frame.FrameSlot;
+import com.oracle.truffle.api.frame.FrameSlotKind;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.profiles.BranchProfile;
+import org.graalphp.nodes.PhpExprNode;
+import org.graalphp.runtime.PhpUnset;
+import org.graalphp.runtime.array.ArrayFactory;
+import org.graalphp.types.PhpNull;
+
+/**
+ * Reads the variable an array write $A[...] = ... writes into.
+ * <p>
+ * Like PHP, writing into an undefined, unset or null variable creates a new array.
+ * XXX: Nested writes $A[0][1] = ... do not create the nested array.
+ *
+ * @author abertschi
+ */
+public final class ReadArrayVarNode extends PhpExprNode {
+
+    private final FrameSlot slot;
+
+    private final BranchProfile arrayCreated = BranchProfile.create();
+
+    public ReadArrayVarNode(FrameSlot slot) {
+        this.slot = slot;
+    }
+
+    @Override
+    public Object executeGeneric(VirtualFrame frame) {
+        if (!frame.isObject(slot)) {
+            // a primitive value, the write fails like a write into a scalar
+            return frame.getValue(slot);
+        }
+        final Object value = frame.getValue(slot);
+        if (value == null || value == PhpUnset.SINGLETON || value == PhpNull.SINGLETON) {
+            arrayCreated.enter();
+            final FrameDescriptor descriptor = frame.getFrameDescriptor();
+            if (descriptor.getFrameSlotKind(slot) != FrameSlotKind.Object) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                descriptor.setFrameSlotKind(slot, FrameSlotKind.Object);
+            }
+            final Object array = ArrayFactory.newArray();
+            frame.setObject(slot, array);
+            return array;
+        }
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return "ReadArrayVarNode{slot: " + slot + "}";
+    }
+}
@@ -0,0 +1,144 @@
+package org.graalphp.nodes.localvar;
+
+import com.oracle.truffle.api.frame.FrameSlot;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.profiles.ConditionProfile;
+import org.graalphp.nodes.PhpExprNode;
+import org.graalphp.nodes.array.ArrayWriteNode;
+import org.graalphp.runtime.array.ArrayLibrary;
+import org.graalphp.runtime.array.ElementReference;
+import org.graalphp.runtime.array.PhpArray;
+
+/**
+ * Access of a variable which foreach ($A as &$v) may bind to an array element.
+ * <p>
+ * While the variable is bound, the element is loaded into the variable before the access,
+ * and the variable is stored into the element after an access which writes the variable.
+ * The binding is kept in a hidden frame slot, see {@link #bindingName(String)}, and is
+ * removed by unset. Variables which are never bound by reference are accessed directly.
+ *
+ * @author abertschi
+ */
+public final class ReferenceVarNode extends PhpExprNode {
+
+    private static final String BINDING_SUFFIX = "@ref";
+    private static final int LIBRARY_LIMIT = Integer.parseInt(ArrayLibrary.SPECIALIZATION_LIMIT);
+
+    @Child
+    private PhpExprNode accessNode;
+
+    @Child
+    private WriteLocalVarNode loadNode;
+
+    @Child
+    private ReadLocalVarNode readNode;
+
+    @Child
+    private ArrayWriteNode storeNode;
+
+    @Child
+    private ArrayLibrary library = ArrayLibrary.getFactory().createDispatched(LIBRARY_LIMIT);
+
+    private final FrameSlot bindingSlot;
+    private final boolean writes;
+
+    private final ConditionProfile bound = ConditionProfile.createBinaryProfile();
+
+    /**
+     * @param accessNode  access of the variable, null if only {@link #store} is used
+     * @param slot        slot of the variable
+     * @param bindingSlot slot of the binding of the variable
+     * @param writes      true if access writes the variable
+     */
+    public ReferenceVarNode(PhpExprNode accessNode,
+                            FrameSlot slot,
+                            FrameSlot bindingSlot,
+                            boolean writes) {
+        this.accessNode = accessNode;
+        this.bindingSlot = bindingSlot;
+        this.writes = writes;
+        this.loadNode = WriteLocalVarNodeGen.create(null, slot);
+        this.readNode = ReadLocalVarNodeGen.create(slot);
+        this.storeNode = ArrayWriteNode.create();
+    }
+
+    /**
+     * @return name of the frame slot which holds the binding of given variable
+     */
+    public static String bindingName(String variable) {
+        return variable + BINDING_SUFFIX;
+    }
+
+    public static void bind(VirtualFrame frame, FrameSlot bindingSlot, PhpArray array, Object key) {
+        frame.setObject(bindingSlot, new ElementReference(array, key));
+    }
+
+    @Override
+    public Object executeGeneric(VirtualFrame frame) {
+        final ElementReference before = getBinding(frame);
+        if (bound.profile(before != null)) {
+            load(frame, before);
+        }
+        final Object result = accessNode.executeGeneric(frame);
+        if (writes) {
+            store(frame);
+        }
+        return result;
+    }
+
+    /**
+     * Store the variable into the element it is bound to, if any
+     */
+    public void store(VirtualFrame frame) {
+        final ElementReference binding = getBinding(frame);
+        if (binding != null) {
+            storeNode.executeWriteKey(binding.getArray(), binding.getKey(),
+                    readNode.executeGeneric(frame));
+        }
+    }
+
+    /**
+     * A by value foreach iterates over a snapshot of the array. Like in PHP, the element the
+     * variable is bound to is not part of the snapshot but read from the array.
+     * XXX: Other copies of the array do not share the bound element.
+     *
+     * @return element at key if variable is bound to it, otherwise value of the snapshot
+     */
+    public Object readIterated(VirtualFrame frame, PhpArray array, Object key, Object value) {
+        final ElementReference binding = getBinding(frame);
+        if (binding != null && binding.getArray() == array && binding.getKey().equals(key)) {
+            final Object element = readElement(binding);
+            return element == null ? value : element;
+        }
+        return value;
+    }
+
+    private ElementReference getBinding(VirtualFrame frame) {
+        final Object binding = frame.getValue(bindingSlot);
+        return binding instanceof ElementReference ? (ElementReference) binding : null;
+    }
+
+    // a removed element keeps the value of the variable, like in PHP
+    private void load(VirtualFrame frame, ElementReference binding) {
+        final Object value = readElement(binding);
+        if (value != null) {
+            loadNode.executeWrite(frame, value);
+        }
+    }
+
+    // null if element was removed
+    private Object readElement(ElementReference binding) {
+        final PhpArray array = binding.getArray();
+        final Object backend = array.getBackend();
+        if (library.isHashArray(backend)) {
+            return library.readKey(backend, binding.getKey());
+        }
+        final long index = (long) binding.getKey();
+        return index < array.getSize() ? library.read(backend, (int) index) : null;
+    }
+
+    @Override
+    public String toString() {
+        return "ReferenceVarNode{binding: " + bindingSlot + "; access: " + accessNode + "}";
+    }
+}
@@ -28,6 +28,11 @@ public abstract class WriteLocalVarNode extends PhpExprNode {
     // storage slot in frame
     protected abstract FrameSlot getSlot();
 
+    /**
+     * write value without evaluating the child, used if node is created without child
+     */
+    public abstract Object executeWrite(VirtualFrame frame, Object value);
+
     @Specialization(guards = "isSlotBoolOrIllegal(frame)")
     protected boolean writeBool(VirtualFrame frame, boolean val) {
         frame.getFrameDescriptor().setFrameSlotKind(getSlot(), FrameSlotKind.Boolean);
@@ -3,6 +3,7 @@ package org.graalphp.nodes.unary;
 import com.oracle.truffle.api.dsl.Specialization;
 import org.graalphp.nodes.PhpExprNode;
 import org.graalphp.runtime.array.PhpArray;
+import org.graalphp.types.PhpString;
 
 /**
  * In PHP, a value used in a condition is automatically converted to boolean
@@ -35,11 +36,15 @@ public abstract class PhpConvertToBooleanNode extends PhpUnaryNode {
         return val != 0.0;
     }
 
+    // "" and "0" are false
+    @Specialization
+    protected boolean doString(PhpString val) {
+        return !(val.length() == 0 || (val.length() == 1 && val.byteAt(0) == '0'));
+    }
+
     @Specialization
     protected boolean doArray(PhpArray array) {
-        // XXX: Depending on the backend, a capacity may be higher than what is already stored
-        // see ArrayLibrary
-        return array.getCapacity() == 0;
+        return array.getSize() != 0;
     }
 
     @Override
@@ -0,0 +1,81 @@
+package org.graalphp.nodes.unary;
+
+import com.oracle.truffle.api.dsl.Specialization;
+import org.graalphp.nodes.PhpExprNode;
+import org.graalphp.runtime.PhpNumberFormat;
+import org.graalphp.runtime.array.PhpArray;
+import org.graalphp.types.PhpNull;
+import org.graalphp.types.PhpString;
+
+import java.util.Arrays;
+
+/**
+ * Convert a value to a string, e.g. an operand of a concatenation.
+ * <p>
+ * https://www.php.net/manual/en/language.types.string.php#language.types.string.casting
+ *
+ * @author abertschi
+ */
+public abstract class PhpConvertToStringNode extends PhpUnaryNode {
+
+    private static final PhpString TRUE = PhpString.fromJavaString("1");
+    private static final PhpString ARRAY = PhpString.fromJavaString("Array");
+
+    public static PhpConvertToStringNode createAndWrap(PhpExprNode n) {
+        if (n instanceof PhpConvertToStringNode) {
+            return (PhpConvertToStringNode) n;
+        } else {
+            return PhpConvertToStringNodeGen.create(n);
+        }
+    }
+
+    public static PhpConvertToStringNode createWithoutChild() {
+        return PhpConvertToStringNodeGen.create(null);
+    }
+
+    public abstract PhpString executeConvert(Object value);
+
+    @Specialization
+    protected PhpString doString(PhpString val) {
+        return val;
+    }
+
+    // XXX: must precede doLong, booleans are implicitly cast to long
+    @Specialization
+    protected PhpString doBoolean(boolean val) {
+        return val ? TRUE : PhpString.EMPTY;
+    }
+
+    @Specialization
+    protected PhpString doLong(long val) {
+        final byte[] buf = new byte[PhpNumberFormat.MAX_LONG_LENGTH];
+        return toPhpString(buf, PhpNumberFormat.formatLong(val, buf, 0));
+    }
+
+    // Same format as print, 4.0 is converted to "4"
+    @Specialization
+    protected PhpString doDouble(double val) {
+        final byte[] buf = new byte[PhpNumberFormat.MAX_DOUBLE_LENGTH];
+        return toPhpString(buf, PhpNumberFormat.formatDouble(val, buf, 0));
+    }
+
+    @Specialization
+    protected PhpString doNull(PhpNull val) {
+        return PhpString.EMPTY;
+    }
+
+    // XXX: PHP emits a notice "Array to string conversion"
+    @Specialization
+    protected PhpString doArray(PhpArray val) {
+        return ARRAY;
+    }
+
+    private static PhpString toPhpString(byte[] buf, int length) {
+        return new PhpString(Arrays.copyOf(buf, length));
+    }
+
+    @Override
+    public String toString() {
+        return "PhpConvertToStringNode{" + getValueNode() + "}";
+    }
+}
@@ -1,7 +1,9 @@
 package org.graalphp.nodes.unary;
 
+import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.nodes.NodeInfo;
+import com.oracle.truffle.api.profiles.BranchProfile;
 
 /**
  * @author abertschi
@@ -14,6 +16,17 @@ public abstract class PhpNegNode extends PhpUnaryNode {
         return Math.negateExact(val);
     }
 
+    // -PHP_INT_MIN overflows to float
+    @Specialization
+    protected Object negOrOverflow(long val, @Cached BranchProfile overflow) {
+        try {
+            return Math.negateExact(val);
+        } catch (ArithmeticException e) {
+            overflow.enter();
+            return -(double) val;
+        }
+    }
+
     @Specialization
     protected double neg(double val) {
         return - val;
@@ -1,5 +1,6 @@
 package org.graalphp.nodes.unary;
 
+import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.NodeField;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.frame.FrameSlot;
@@ -7,6 +8,7 @@ import com.oracle.truffle.api.frame.FrameSlotKind;
 import com.oracle.truffle.api.frame.FrameUtil;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.nodes.NodeInfo;
+import com.oracle.truffle.api.profiles.BranchProfile;
 import org.graalphp.exception.PhpException;
 import org.graalphp.nodes.PhpExprNode;
 
@@ -43,11 +45,17 @@ public abstract class PostfixArithmeticNode extends PhpExprNode {
         return val;
     }
 
+    // variable becomes a float on overflow, later increments of a long remain long
     @Specialization(guards = "f.isLong(getSlot())")
-    protected double readLongOverUnderflow(VirtualFrame f) {
-        double val = FrameUtil.getLongSafe(f, getSlot());
-        f.getFrameDescriptor().setFrameSlotKind(getSlot(), FrameSlotKind.Double);
-        f.setDouble(getSlot(), val + getOperator());
+    protected long readLongOverUnderflow(VirtualFrame f, @Cached BranchProfile overflow) {
+        long val = FrameUtil.getLongSafe(f, getSlot());
+        try {
+            f.setLong(getSlot(), Math.addExact(val, getOperator()));
+        } catch (ArithmeticException e) {
+            overflow.enter();
+            f.getFrameDescriptor().setFrameSlotKind(getSlot(), FrameSlotKind.Double);
+            f.setDouble(getSlot(), (double) val + getOperator());
+        }
         return val;
     }
 
@@ -1,5 +1,6 @@
 package org.graalphp.nodes.unary;
 
+import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.NodeField;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.frame.FrameSlot;
@@ -7,6 +8,7 @@ import com.oracle.truffle.api.frame.FrameSlotKind;
 import com.oracle.truffle.api.frame.FrameUtil;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.nodes.NodeInfo;
+import com.oracle.truffle.api.profiles.BranchProfile;
 import org.graalphp.exception.PhpException;
 import org.graalphp.nodes.PhpExprNode;
 
@@ -47,13 +49,21 @@ public abstract class PrefixArithmeticNode extends PhpExprNode {
         return val;
     }
 
+    // variable becomes a float on overflow, later increments of a long remain long
     @Specialization(guards = "f.isLong(getSlot())")
-    protected double readLongOverflow(VirtualFrame f) {
-        double val = FrameUtil.getLongSafe(f, getSlot());
-        val = val + getOperator();
-        f.getFrameDescriptor().setFrameSlotKind(getSlot(), FrameSlotKind.Double); // slow path
-        f.setDouble(getSlot(), val);
-        return val;
+    protected Object readLongOverflow(VirtualFrame f, @Cached BranchProfile overflow) {
+        long val = FrameUtil.getLongSafe(f, getSlot());
+        try {
+            val = Math.addExact(val, getOperator());
+            f.setLong(getSlot(), val);
+            return val;
+        } catch (ArithmeticException e) {
+            overflow.enter();
+            double newVal = (double) val + getOperator();
+            f.getFrameDescriptor().setFrameSlotKind(getSlot(), FrameSlotKind.Double); // slow path
+            f.setDouble(getSlot(), newVal);
+            return newVal;
+        }
     }
 
     @Specialization(guards = "f.isDouble(getSlot())")
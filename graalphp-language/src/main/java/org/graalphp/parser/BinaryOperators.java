@@ -95,6 +95,8 @@ public enum BinaryOperators {
                 return OP_SL;
             case Assignment.OP_SR_EQUAL:
                 return OP_SR;
+            case Assignment.OP_CONCAT_EQUAL:
+                return OP_CONCAT;
             default:
                 return OP_NOT_IMPLEMENTED;
         }
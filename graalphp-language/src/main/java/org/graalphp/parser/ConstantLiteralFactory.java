@@ -0,0 +1,44 @@
+package org.graalphp.parser;
+
+import org.graalphp.nodes.PhpExprNode;
+import org.graalphp.nodes.literal.PhpLongNode;
+import org.graalphp.nodes.literal.PhpNullNode;
+import org.graalphp.nodes.literal.PhpStringNode;
+import org.graalphp.runtime.PhpInternTable;
+
+/**
+ * Factory to create a literal node for a predefined constant, constants are
+ * resolved at parse time.
+ * <p>
+ * https://www.php.net/manual/en/reserved.constants.php
+ *
+ * @author abertschi
+ */
+public class ConstantLiteralFactory {
+
+    // XXX: PHP_EOL is platform specific in PHP, we always use \n
+    private static final String PHP_EOL = "\n";
+
+    /**
+     * @return literal node of constant name or null if name is no predefined constant
+     */
+    public static PhpExprNode createConstant(String name, PhpInternTable internTable) {
+        // true, false and null are case insensitive
+        if (name.equalsIgnoreCase("null")) {
+            return new PhpNullNode();
+        }
+        switch (name) {
+            case "PHP_EOL":
+                return new PhpStringNode(internTable.intern(PHP_EOL));
+            case "PHP_INT_MAX":
+                return new PhpLongNode(PhpLongNode.PHP_INT_MAX);
+            case "PHP_INT_MIN":
+                return new PhpLongNode(PhpLongNode.PHP_INT_MIN);
+            case "PHP_INT_SIZE":
+                // size in bytes
+                return new PhpLongNode(PhpLongNode.PHP_INT_SIZE / Byte.SIZE);
+            default:
+                return null;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package org.graalphp.parser;
 
+import com.oracle.truffle.api.dsl.NodeFactory;
 import com.oracle.truffle.api.frame.FrameSlot;
 import com.oracle.truffle.api.frame.FrameSlotKind;
 import org.eclipse.php.core.ast.nodes.ASTNode;
@@ -21,18 +22,24 @@ import org.eclipse.php.core.ast.nodes.UnaryOperation;
 import org.eclipse.php.core.ast.nodes.Variable;
 import org.eclipse.php.core.ast.visitor.HierarchicalVisitor;
 import org.graalphp.PhpLanguage;
+import org.graalphp.builtins.PhpBuiltinNode;
 import org.graalphp.builtins.language.PrintArgsBuiltin;
 import org.graalphp.builtins.language.PrintArgsBuiltinNodeGen;
 import org.graalphp.exception.PhpException;
+import org.graalphp.nodes.EmptyExprNode;
 import org.graalphp.nodes.PhpExprNode;
 import org.graalphp.nodes.PhpStmtNode;
+import org.graalphp.nodes.array.ArrayAppendNodeGen;
 import org.graalphp.nodes.array.ArrayReadNodeGen;
+import org.graalphp.nodes.array.ArraySeparateNodeGen;
 import org.graalphp.nodes.array.ArrayWriteNodeGen;
 import org.graalphp.nodes.array.ExecuteValuesNode;
 import org.graalphp.nodes.array.NewArrayInitialValuesNodeGen;
+import org.graalphp.nodes.array.NewArrayKeyedValuesNode;
 import org.graalphp.nodes.array.NewArrayNode;
 import org.graalphp.nodes.assign.FunctionAssignmentBehaviorNode;
 import org.graalphp.nodes.binary.PhpAddNodeGen;
+import org.graalphp.nodes.binary.PhpConcatNodeGen;
 import org.graalphp.nodes.binary.PhpDivNodeGen;
 import org.graalphp.nodes.binary.PhpMulNodeGen;
 import org.graalphp.nodes.binary.PhpRightShiftNodeGen;
@@ -50,7 +57,9 @@ import org.graalphp.nodes.controlflow.PhpIfInlineNode;
 import org.graalphp.nodes.function.PhpFunctionLookupNode;
 import org.graalphp.nodes.function.PhpInvokeNode;
 import org.graalphp.nodes.literal.PhpBooleanNode;
+import org.graalphp.nodes.localvar.ReadArrayVarNode;
 import org.graalphp.nodes.localvar.ReadLocalVarNodeGen;
+import org.graalphp.nodes.localvar.ReferenceVarNode;
 import org.graalphp.nodes.unary.PhpNegNodeGen;
 import org.graalphp.nodes.unary.PhpNotNode;
 import org.graalphp.nodes.unary.PhpPosNodeGen;
@@ -58,9 +67,11 @@ import org.graalphp.nodes.unary.PostfixArithmeticNode;
 import org.graalphp.nodes.unary.PostfixArithmeticNodeGen;
 import org.graalphp.nodes.unary.PrefixArithmeticNode;
 import org.graalphp.nodes.unary.PrefixArithmeticNodeGen;
+import org.graalphp.runtime.PhpInternTable;
 import org.graalphp.runtime.PhpUnsetNode;
 import org.graalphp.runtime.PhpUnsetNodeGen;
 import org.graalphp.runtime.assign.AssignRuntimeFactory;
+import org.graalphp.types.PhpFunction;
 import org.graalphp.util.Logger;
 import org.graalphp.util.PhpLogger;
 
@@ -80,7 +91,11 @@ public class ExprVisitor extends HierarchicalVisitor {
     private PhpExprNode currExpr = null;
     private ParseScope scope;
 
+    private final PhpInternTable internTable;
+
     public ExprVisitor(PhpLanguage language) {
+        // XXX: parser tests do not provide a language
+        this.internTable = language == null ? new PhpInternTable() : language.getInternTable();
     }
 
     // XXX: not thread safe
@@ -136,7 +151,7 @@ public class ExprVisitor extends HierarchicalVisitor {
 
         PostfixArithmeticNode postfixNode = PostfixArithmeticNodeGen.create(frameSlot, op);
         setSource(postfixNode, postfixExpression);
-        currExpr = postfixNode;
+        currExpr = createReferenceAccess(varName, frameSlot, postfixNode, true, postfixExpression);
 
         return false;
     }
@@ -164,7 +179,7 @@ public class ExprVisitor extends HierarchicalVisitor {
 
         final PrefixArithmeticNode prefixNode = PrefixArithmeticNodeGen.create(frameSlot, op);
         setSource(prefixNode, prefixExpression);
-        currExpr = prefixNode;
+        currExpr = createReferenceAccess(varName, frameSlot, prefixNode, true, prefixExpression);
         return false;
     }
 
@@ -196,6 +211,9 @@ public class ExprVisitor extends HierarchicalVisitor {
             case OP_DIV:
                 result = PhpDivNodeGen.create(left, right);
                 break;
+            case OP_CONCAT:
+                result = PhpConcatNodeGen.create(left, right);
+                break;
             case OP_IS_EQUAL:
                 result = PhpEqNodeGen.create(left, right);
                 break;
@@ -282,8 +300,13 @@ public class ExprVisitor extends HierarchicalVisitor {
                 final String v = scalar.getStringValue();
                 if (NumberLiteralFactory.isBooleanLiteral(v)) {
                     currExpr = new PhpBooleanNode(NumberLiteralFactory.booleanLiteralToValue(v));
+                } else if (StringLiteralFactory.isStringLiteral(v)) {
+                    currExpr = StringLiteralFactory.parseString(v, internTable);
                 } else {
-                    throw new UnsupportedOperationException("Strings not yet supported: " + scalar);
+                    currExpr = ConstantLiteralFactory.createConstant(v, internTable);
+                    if (currExpr == null) {
+                        throw new UnsupportedOperationException("Constant not supported: " + scalar);
+                    }
                 }
                 break;
             default:
@@ -316,10 +339,24 @@ public class ExprVisitor extends HierarchicalVisitor {
         final PhpExprNode varNode = ReadLocalVarNodeGen.create(varSlot);
         setSource(varNode, variable);
 
-        currExpr = varNode;
+        currExpr = createReferenceAccess(name, varSlot, varNode, false, variable);
         return false;
     }
 
+    // a variable which foreach ($A as &$v) binds to an array element loads the element
+    // before it is accessed and stores it after it is written
+    private PhpExprNode createReferenceAccess(String name,
+                                              FrameSlot slot,
+                                              PhpExprNode access,
+                                              boolean writes,
+                                              ASTNode source) {
+        final FrameSlot bindingSlot = scope.findReferenceSlot(name);
+        if (bindingSlot == null) {
+            return access;
+        }
+        return setSource(new ReferenceVarNode(access, slot, bindingSlot, writes), source);
+    }
+
     // ---------------- local variable write --------------------
 
     @Override
@@ -346,7 +383,10 @@ public class ExprVisitor extends HierarchicalVisitor {
 
             // XXX: We dont need local assignment if we write into arrays
             // we already have their reference
-            return VisitorHelpers.createLocalAssignment(scope, assignName, rhsNode, null, ass);
+            final PhpExprNode assignNode =
+                    VisitorHelpers.createLocalAssignment(scope, assignName, rhsNode, null, ass);
+            return createReferenceAccess(assignName, scope.getVars().get(assignName),
+                    assignNode, true, ass);
         }
     }
 
@@ -363,6 +403,12 @@ public class ExprVisitor extends HierarchicalVisitor {
             final PhpExprNode rhsOp1 = initAndAcceptExpr(ass.getLeftHandSide());
             final PhpExprNode rhsOp2 = initAndAcceptExpr(ass.getRightHandSide());
             rhsNode = createBinaryOperationNode(rhsOpType, rhsOp1, rhsOp2, ass);
+        } else if (isAssignmentByReference(ass)
+                && ((Reference) ass.getRightHandSide()).getExpression() instanceof ArrayAccess) {
+            // expression: $a = &$A[...]
+            // nested array is aliased, separate its parent like in a write
+            final ArrayAccess rhs = (ArrayAccess) ((Reference) ass.getRightHandSide()).getExpression();
+            rhsNode = createArrayWriteAccess(rhs, createArrayWriteTarget(rhs), rhs);
         } else {
             // expression: $a = ...
             rhsNode = initAndAcceptExpr(ass.getRightHandSide());
@@ -382,19 +428,34 @@ public class ExprVisitor extends HierarchicalVisitor {
         // if we immediately assign function result to a variable.
         // We do not know function definition yet. as it may appear below assignment
         // this is why we have to look up function at runtime
-        if (enableOptimization && ass.getRightHandSide() instanceof FunctionInvocation) {
+        if (isFreshValue(source, ass)) {
+            return source;
+        } else if (source instanceof PhpBuiltinNode) {
+            // builtins are inlined and may return an argument, e.g. println($A)
+            return copyBehaviorForAssignmentDefault(source, ass);
+        } else if (enableOptimization && ass.getRightHandSide() instanceof FunctionInvocation) {
             return copyBehaviorForAssignmentOptimized(source, ass);
         } else {
             return copyBehaviorForAssignmentDefault(source, ass);
         }
     }
 
+    // values which are not referenced anywhere else need no copy-on-write,
+    // $A = array(...) or $A = array_fill(...)
+    private boolean isFreshValue(PhpExprNode source, Assignment ass) {
+        if (isAssignmentByReference(ass)) {
+            return false;
+        }
+        return ass.getRightHandSide() instanceof ArrayCreation
+                || (source instanceof PhpBuiltinNode && ((PhpBuiltinNode) source).isResultFresh());
+    }
+
     // create a copy if we dont assign by reference and are not assigning function result
     // $A [&] = foo();
     private PhpExprNode copyBehaviorForAssignmentOptimized(PhpExprNode source, Assignment ass) {
         final Identifier fnName = getFunctionName((FunctionInvocation) ass.getRightHandSide());
         final PhpFunctionLookupNode lookupNode =
-                setSource(new PhpFunctionLookupNode(fnName.getName(), scope), ass);
+                setSource(PhpFunctionLookupNode.create(fnName.getName()), ass);
 
         final PhpExprNode node = new FunctionAssignmentBehaviorNode(
                 isAssignmentByReference(ass),
@@ -415,12 +476,57 @@ public class ExprVisitor extends HierarchicalVisitor {
                                              Expression arrayIndex,
                                              PhpExprNode value,
                                              Expression sourceSection) {
-        final PhpExprNode arrayTargetNode = initAndAcceptExpr(arrayTarget);
+        final PhpExprNode arrayTargetNode = createArrayWriteTarget(arrayTarget);
+        if (arrayIndex == null) {
+            // $A[] = ...
+            final PhpExprNode appendNode = ArrayAppendNodeGen.create(arrayTargetNode, value);
+            setSource(appendNode, sourceSection);
+            return createArrayWriteAccess(arrayTarget, appendNode, sourceSection);
+        }
         final PhpExprNode arrayIndexNode = initAndAcceptExpr(arrayIndex);
         final PhpExprNode arrayWriteNode =
                 ArrayWriteNodeGen.create(arrayTargetNode, arrayIndexNode, value);
         setSource(arrayWriteNode, sourceSection);
-        return arrayWriteNode;
+        return createArrayWriteAccess(arrayTarget, arrayWriteNode, sourceSection);
+    }
+
+    // a write into $A[...][...] writes variable $A
+    private PhpExprNode createArrayWriteAccess(Expression target,
+                                               PhpExprNode writeNode,
+                                               ASTNode source) {
+        while (target instanceof ArrayAccess) {
+            target = ((ArrayAccess) target).getName();
+        }
+        if (!(target instanceof Variable)
+                || !(((Variable) target).getName() instanceof Identifier)) {
+            return writeNode;
+        }
+        final String name = ((Identifier) ((Variable) target).getName()).getName();
+        return createReferenceAccess(name, scope.getVars().get(name), writeNode, true, source);
+    }
+
+    // create Node which reads the array we are about to write into
+    // arrays may share their backend (copy-on-write). For nested arrays $A[0][1] = ...,
+    // $A is separated before $A[0] is read, otherwise we write into a nested array shared
+    // with copies of $A.
+    private PhpExprNode createArrayWriteTarget(Expression target) {
+        if (target instanceof Variable && ((Variable) target).getName() instanceof Identifier) {
+            // $A[...] = ... declares $A if it is undefined
+            final String name = ((Identifier) ((Variable) target).getName()).getName();
+            FrameSlot slot = scope.getVars().get(name);
+            if (slot == null) {
+                slot = VisitorHelpers.createLocalVariable(scope, name, null);
+            }
+            return setSource(new ReadArrayVarNode(slot), target);
+        } else if (!(target instanceof ArrayAccess)) {
+            return initAndAcceptExpr(target);
+        }
+        final ArrayAccess access = (ArrayAccess) target;
+        final PhpExprNode parentNode =
+                setSource(ArraySeparateNodeGen.create(createArrayWriteTarget(access.getName())),
+                        access.getName());
+        final PhpExprNode indexNode = initAndAcceptExpr(access.getIndex());
+        return setSource(ArrayReadNodeGen.create(parentNode, indexNode), access);
     }
 
     // ---------------- function invocations --------------------
@@ -449,7 +555,13 @@ public class ExprVisitor extends HierarchicalVisitor {
             final PhpExprNode arg = initAndAcceptExpr(e);
             args.add(arg);
         }
-        final PhpFunctionLookupNode lookupNode = new PhpFunctionLookupNode(fnId.getName(), scope);
+        final PhpFunction function = scope.resolveFunction(fnId.getName());
+        if (function != null && function.isBuiltin()
+                && function.getBuiltinFactory().getExecutionSignature().size() == args.size()) {
+            currExpr = setSource(createBuiltin(function.getBuiltinFactory(), args), fn);
+            return false;
+        }
+        final PhpFunctionLookupNode lookupNode = PhpFunctionLookupNode.create(fnId.getName());
         setSource(lookupNode, fn);
 
         final PhpInvokeNode invokeNode =
@@ -460,6 +572,13 @@ public class ExprVisitor extends HierarchicalVisitor {
         return false;
     }
 
+    // Builtins cannot be redefined, so we inline them at the call site.
+    // Builtins do not write to their arguments, so they are not copied either.
+    private PhpExprNode createBuiltin(NodeFactory<? extends PhpBuiltinNode> factory,
+                                      List<PhpExprNode> args) {
+        return factory.createNode((Object) args.toArray(new PhpExprNode[0]));
+    }
+
     // some builtin functions cannot be treated as regular functions
     private boolean isLanguageFunctionOperator(String name) {
         return name.equals(UNSET_OPERATOR) || name.equals(PrintArgsBuiltin.NAME);
@@ -478,7 +597,7 @@ public class ExprVisitor extends HierarchicalVisitor {
                     names.add(id);
                 }
                 final PhpUnsetNode unsetNode =
-                        PhpUnsetNodeGen.create(names.toArray(new String[names.size()]), scope);
+                        PhpUnsetNodeGen.create(names.toArray(new String[names.size()]));
                 setSource(unsetNode, fn);
                 return unsetNode;
 
@@ -511,11 +630,16 @@ public class ExprVisitor extends HierarchicalVisitor {
 
     @Override
     public boolean visit(ArrayCreation arrayCreation) {
-        List<PhpExprNode> arrayInitVals = new LinkedList<>();
+        final List<PhpExprNode> arrayInitVals = new LinkedList<>();
+        final List<PhpExprNode> arrayKeys = new LinkedList<>();
+        boolean hasKeys = false;
         for (ArrayElement e : arrayCreation.elements()) {
-            final Expression key = e.getKey(); // TODO: no support for keys yet
+            final Expression key = e.getKey();
             if (key != null) {
-                throw new UnsupportedOperationException("Arrays with keys not yet supported");
+                hasKeys = true;
+                arrayKeys.add(initAndAcceptExpr(key));
+            } else {
+                arrayKeys.add(new EmptyExprNode());
             }
             final Expression val = e.getValue();
             arrayInitVals.add(initAndAcceptExpr(val));
@@ -525,6 +649,8 @@ public class ExprVisitor extends HierarchicalVisitor {
         final PhpExprNode newArrayNode;
         if (arrayInitVals.size() == 0) {
             newArrayNode = new NewArrayNode();
+        } else if (hasKeys) {
+            newArrayNode = createKeyedArrayNode(arrayKeys, arrayInitVals);
         } else {
             newArrayNode = NewArrayInitialValuesNodeGen.create(arrayInitVals);
         }
@@ -533,6 +659,16 @@ public class ExprVisitor extends HierarchicalVisitor {
         return false;
     }
 
+    private PhpExprNode createKeyedArrayNode(List<PhpExprNode> keys, List<PhpExprNode> values) {
+        final PhpExprNode[] keyNodes = keys.toArray(new PhpExprNode[keys.size()]);
+        final boolean[] hasKey = new boolean[keyNodes.length];
+        for (int i = 0; i < keyNodes.length; i++) {
+            hasKey[i] = !(keyNodes[i] instanceof EmptyExprNode);
+        }
+        return new NewArrayKeyedValuesNode(
+                keyNodes, values.toArray(new PhpExprNode[values.size()]), hasKey);
+    }
+
     @Override
     public boolean visit(ArrayAccess arrayAccess) {
         if (arrayAccess.getArrayType() == ArrayAccess.VARIABLE_HASHTABLE) {
@@ -0,0 +1,58 @@
+package org.graalphp.parser;
+
+import org.eclipse.php.core.ast.nodes.ASTNode;
+import org.eclipse.php.core.ast.nodes.ForEachStatement;
+import org.eclipse.php.core.ast.nodes.FunctionDeclaration;
+import org.eclipse.php.core.ast.nodes.Identifier;
+import org.eclipse.php.core.ast.nodes.Reference;
+import org.eclipse.php.core.ast.nodes.Variable;
+import org.eclipse.php.core.ast.visitor.HierarchicalVisitor;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Finds the variables which foreach ($A as &$v) binds to array elements.
+ * <p>
+ * A bound variable stays bound after the loop, such that all accesses of the variable in
+ * the function or program must load and store the element, see
+ * {@link org.graalphp.nodes.localvar.ReferenceVarNode}. Other variables are not affected.
+ *
+ * @author abertschi
+ */
+public final class ForeachByReferenceVisitor extends HierarchicalVisitor {
+
+    private final ASTNode scopeRoot;
+    private final Set<String> references = new HashSet<>();
+
+    private ForeachByReferenceVisitor(ASTNode scopeRoot) {
+        this.scopeRoot = scopeRoot;
+    }
+
+    /**
+     * @param scopeRoot function or program which declares the variables
+     * @return names of variables bound by reference
+     */
+    public static Set<String> findReferences(ASTNode scopeRoot) {
+        final ForeachByReferenceVisitor visitor = new ForeachByReferenceVisitor(scopeRoot);
+        scopeRoot.accept(visitor);
+        return visitor.references;
+    }
+
+    @Override
+    public boolean visit(FunctionDeclaration function) {
+        // nested functions have their own variables
+        return function == scopeRoot;
+    }
+
+    @Override
+    public boolean visit(ForEachStatement forEach) {
+        if (forEach.getValue() instanceof Reference) {
+            final ASTNode value = ((Reference) forEach.getValue()).getExpression();
+            if (value instanceof Variable && ((Variable) value).getName() instanceof Identifier) {
+                references.add(((Identifier) ((Variable) value).getName()).getName());
+            }
+        }
+        return true;
+    }
+}
@@ -3,11 +3,17 @@ package org.graalphp.parser;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.frame.FrameDescriptor;
 import com.oracle.truffle.api.frame.FrameSlot;
+import com.oracle.truffle.api.frame.FrameSlotKind;
 import org.graalphp.FunctionRegistry;
+import org.graalphp.nodes.localvar.ReferenceVarNode;
 import org.graalphp.types.PhpFunction;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Pojo to represent scoping in PHP
@@ -25,6 +31,16 @@ public class ParseScope {
     private Map<String, FrameSlot> vars;
     private FunctionRegistry functions;
 
+    // functions declared in source, defined in the context once the source is executed
+    private final List<PhpFunction> declaredFunctions = new ArrayList<>();
+
+    // variables bound to array elements by foreach by reference
+    private Set<String> references = Collections.emptySet();
+
+    // set if self calls in return position of this function are tail calls
+    private String tailCallFunction;
+    private int tailCallParameterCount;
+
     private ParseScope(FrameDescriptor frameDesc) {
         this.frameDesc = frameDesc;
         this.vars = new HashMap<>();
@@ -83,6 +99,18 @@ public class ParseScope {
         return slot;
     }
 
+    /**
+     * Register a function declared in source, see {@link #getDeclaredFunctions()}
+     */
+    public void declareFunction(PhpFunction function) {
+        this.functions.register(function.getName(), function, false);
+        this.global.declaredFunctions.add(function);
+    }
+
+    public PhpFunction[] getDeclaredFunctions() {
+        return declaredFunctions.toArray(new PhpFunction[0]);
+    }
+
     public FunctionRegistry getFunctions() {
         return this.functions;
     }
@@ -111,6 +139,41 @@ public class ParseScope {
         this.vars = vars;
     }
 
+    /**
+     * Set the variables which foreach ($A as &$v) binds to array elements in this scope,
+     * see {@link ForeachByReferenceVisitor}
+     */
+    public void setReferences(Set<String> references) {
+        this.references = references;
+    }
+
+    /**
+     * @return slot of the binding of a variable to an array element,
+     * null if variable is never bound, see {@link ReferenceVarNode}
+     */
+    public FrameSlot findReferenceSlot(String name) {
+        if (!references.contains(name)) {
+            return null;
+        }
+        return frameDesc.findOrAddFrameSlot(ReferenceVarNode.bindingName(name),
+                FrameSlotKind.Object);
+    }
+
+    /**
+     * Mark scope as body of a function whose self calls with given number
+     * of arguments can be turned into tail calls
+     */
+    public void setTailCallFunction(String name, int parameterCount) {
+        this.tailCallFunction = name;
+        this.tailCallParameterCount = parameterCount;
+    }
+
+    public boolean isTailCall(String name, int argumentCount) {
+        return tailCallFunction != null
+                && tailCallFunction.equals(name)
+                && tailCallParameterCount == argumentCount;
+    }
+
     public boolean isGlobalScope() {
         assert global != null : "global can never be null";
         return this.global == this;
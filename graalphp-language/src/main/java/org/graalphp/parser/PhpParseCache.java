@@ -0,0 +1,106 @@
+package org.graalphp.parser;
+
+import com.oracle.truffle.api.CallTarget;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.source.Source;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache of parsed sources, similar to the opcache of PHP.
+ * <p>
+ * Sources are identified by the SHA-256 hash of their content and the options which change
+ * the parsed AST. The engine already caches equal sources, i.e. sources of same name, path
+ * and content. This cache in addition finds the same include file loaded under another name
+ * or path, and does so for all contexts of the language. It keeps the hash, not the content.
+ * Sources built with cached(false) are neither cached nor looked up.
+ * The least recently used entry is evicted once the cache holds {@link #MAX_ENTRIES}.
+ * <p>
+ * XXX: A cached AST keeps the source sections of the source it was parsed from,
+ * even if the same content is loaded under another name.
+ *
+ * @author abertschi
+ */
+public final class PhpParseCache {
+
+    public static final int MAX_ENTRIES = 1024;
+
+    private final Map<Key, CallTarget> entries =
+            new LinkedHashMap<Key, CallTarget>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Key, CallTarget> eldest) {
+                    return size() > MAX_ENTRIES;
+                }
+            };
+
+    /**
+     * @return call target of a source with same content parsed with same options, or null
+     */
+    @TruffleBoundary
+    public synchronized CallTarget get(Source source, boolean returnLastExpr) {
+        if (!source.isCached()) {
+            return null;
+        }
+        return entries.get(new Key(source, returnLastExpr));
+    }
+
+    @TruffleBoundary
+    public synchronized void put(Source source, boolean returnLastExpr, CallTarget target) {
+        if (!source.isCached()) {
+            return;
+        }
+        entries.put(new Key(source, returnLastExpr), target);
+    }
+
+    @TruffleBoundary
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private static final class Key {
+
+        private final byte[] contentHash;
+        private final boolean returnLastExpr;
+        private final int hash;
+
+        Key(Source source, boolean returnLastExpr) {
+            this.contentHash = sha256(source.getCharacters().toString());
+            this.returnLastExpr = returnLastExpr;
+            this.hash = 31 * Arrays.hashCode(contentHash) + Boolean.hashCode(returnLastExpr);
+        }
+
+        private static byte[] sha256(String content) {
+            try {
+                return MessageDigest.getInstance("SHA-256")
+                        .digest(content.getBytes(StandardCharsets.UTF_8));
+            } catch (NoSuchAlgorithmException e) {
+                // every JVM provides SHA-256
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) o;
+            return hash == other.hash
+                    && returnLastExpr == other.returnLastExpr
+                    && Arrays.equals(contentHash, other.contentHash);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -7,6 +7,7 @@ import org.eclipse.php.core.ast.error.ErrorEvent;
 import org.eclipse.php.core.ast.nodes.ASTParser;
 import org.eclipse.php.core.ast.nodes.Program;
 import org.graalphp.PhpLanguage;
+import org.graalphp.types.PhpFunction;
 import org.graalphp.util.PhpLogger;
 import org.graalphp.util.Logger;
 
@@ -48,9 +49,13 @@ public class PhpParser {
             // not an exception we through already ourselves
             throwGeneralParsingError(source, e.getMessage());
         }
+        // XXX: parsing must not depend on a context, ASTs are shared by all contexts
+        final ParseScope rootScope = ParseScope.newGlobalScope();
+        for (PhpFunction builtin : lang.getBuiltins().getFunctions()) {
+            rootScope.getFunctions().register(builtin.getName(), builtin, false);
+        }
         StmtVisitor visitor = new StmtVisitor(lang);
-        StmtVisitor.StmtVisitorContext res =
-                visitor.createPhpAst(pgm, lang.getCurrentContext().getRootScope());
+        StmtVisitor.StmtVisitorContext res = visitor.createPhpAst(pgm, rootScope);
         return res;
     }
 
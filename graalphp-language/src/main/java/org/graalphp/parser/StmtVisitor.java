@@ -2,23 +2,29 @@ package org.graalphp.parser;
 
 import com.oracle.truffle.api.Truffle;
 import com.oracle.truffle.api.frame.FrameDescriptor;
+import com.oracle.truffle.api.frame.FrameSlot;
 import org.eclipse.php.core.ast.nodes.ASTNode;
 import org.eclipse.php.core.ast.nodes.BreakStatement;
 import org.eclipse.php.core.ast.nodes.ContinueStatement;
 import org.eclipse.php.core.ast.nodes.DoStatement;
 import org.eclipse.php.core.ast.nodes.Expression;
 import org.eclipse.php.core.ast.nodes.ExpressionStatement;
+import org.eclipse.php.core.ast.nodes.ForEachStatement;
 import org.eclipse.php.core.ast.nodes.ForStatement;
 import org.eclipse.php.core.ast.nodes.FormalParameter;
 import org.eclipse.php.core.ast.nodes.FunctionDeclaration;
+import org.eclipse.php.core.ast.nodes.FunctionInvocation;
+import org.eclipse.php.core.ast.nodes.Identifier;
 import org.eclipse.php.core.ast.nodes.IfStatement;
 import org.eclipse.php.core.ast.nodes.Program;
 import org.eclipse.php.core.ast.nodes.Reference;
 import org.eclipse.php.core.ast.nodes.ReturnStatement;
 import org.eclipse.php.core.ast.nodes.Statement;
+import org.eclipse.php.core.ast.nodes.Variable;
 import org.eclipse.php.core.ast.nodes.WhileStatement;
 import org.eclipse.php.core.ast.visitor.HierarchicalVisitor;
 import org.graalphp.PhpLanguage;
+import org.graalphp.exception.PhpException;
 import org.graalphp.nodes.EmptyExprNode;
 import org.graalphp.nodes.PhpExprNode;
 import org.graalphp.nodes.PhpStmtNode;
@@ -27,10 +33,12 @@ import org.graalphp.nodes.controlflow.PhpBreakNode;
 import org.graalphp.nodes.controlflow.PhpContinueNode;
 import org.graalphp.nodes.controlflow.PhpDoWhileNode;
 import org.graalphp.nodes.controlflow.PhpForWhileNode;
+import org.graalphp.nodes.controlflow.PhpForeachNode;
 import org.graalphp.nodes.controlflow.PhpIfNode;
 import org.graalphp.nodes.controlflow.PhpReturnNode;
 import org.graalphp.nodes.controlflow.PhpWhileNode;
 import org.graalphp.nodes.function.PhpFunctionRootNode;
+import org.graalphp.nodes.function.PhpTailCallNode;
 import org.graalphp.nodes.localvar.ReadArgNode;
 import org.graalphp.runtime.assign.AssignRuntimeFactory;
 import org.graalphp.types.PhpFunction;
@@ -61,6 +69,7 @@ public class StmtVisitor extends HierarchicalVisitor {
     public StmtVisitorContext createPhpAst(Program p, ParseScope rootScope) {
         this.stmts = new LinkedList<>();
         this.scope = rootScope;
+        rootScope.setReferences(ForeachByReferenceVisitor.findReferences(p));
         for (Statement s : p.statements()) {
             s.accept(this);
         }
@@ -99,9 +108,11 @@ public class StmtVisitor extends HierarchicalVisitor {
 
     @Override
     public boolean visit(ReturnStatement ret) {
-        final PhpReturnNode returnNode;
+        final PhpStmtNode returnNode;
         if (ret.getExpression() == null) {
             returnNode = new PhpReturnNode(new EmptyExprNode());
+        } else if (isTailCall(ret.getExpression())) {
+            returnNode = createTailCall((FunctionInvocation) ret.getExpression());
         } else {
             final PhpExprNode ex = this.exprVisitor
                     .createExprAst(ret.getExpression(), getCurrentScope());
@@ -115,6 +126,27 @@ public class StmtVisitor extends HierarchicalVisitor {
         return false;
     }
 
+    private boolean isTailCall(Expression e) {
+        if (!(e instanceof FunctionInvocation)) {
+            return false;
+        }
+        final FunctionInvocation fn = (FunctionInvocation) e;
+        final Identifier fnId = new IdentifierVisitor()
+                .getIdentifierName(fn.getFunctionName().getName());
+        return fnId != null
+                && getCurrentScope().isTailCall(fnId.getName(), fn.parameters().size());
+    }
+
+    // return foo(...) in function foo, reuses frame of current invocation
+    private PhpStmtNode createTailCall(FunctionInvocation fn) {
+        final List<PhpExprNode> args =
+                visitExpressions(this.exprVisitor, getCurrentScope(), fn.parameters());
+        final PhpTailCallNode tailCallNode =
+                new PhpTailCallNode(args.toArray(new PhpExprNode[0]));
+        setSourceSection(tailCallNode, fn);
+        return tailCallNode;
+    }
+
     // ---------------- function definition --------------------
 
     private int currFunctionArgumentCount = 0;
@@ -144,7 +176,12 @@ public class StmtVisitor extends HierarchicalVisitor {
         final String fnName = fnParse.getFunctionName().getName();
         this.currFunctionArgumentCount = 0;
         this.currFunctionScope = new ParseScope(new FrameDescriptor(), this.scope.getGlobal());
+        this.currFunctionScope.setReferences(ForeachByReferenceVisitor.findReferences(fnParse));
         List<PhpStmtNode> bodyStmts = parseParameters(fnParse.formalParameters());
+        if (!fnParse.isReference()) {
+            // XXX: we assume that functions are not redefined
+            this.currFunctionScope.setTailCallFunction(fnName, fnParse.formalParameters().size());
+        }
 
         if (fnParse.getBody() != null) {
             final StmtVisitor fnVisitor = new StmtVisitor(this.language);
@@ -160,7 +197,7 @@ public class StmtVisitor extends HierarchicalVisitor {
                 Truffle.getRuntime().createCallTarget(fnRoot));
         function.setReturnReference(fnParse.isReference());
 
-        scope.getFunctions().register(fnName, function, false);
+        scope.declareFunction(function);
         LOG.fine("create call target for " + fnName);
 
         this.currFunctionScope = null;
@@ -188,8 +225,10 @@ public class StmtVisitor extends HierarchicalVisitor {
 
         // XXX: We currently support copy by reference semantics for Arrays
         boolean isRef = isParameterReference(formalParameter);
-        final PhpExprNode readArgNode = AssignRuntimeFactory
-                .createForwardValueNode(isRef, new ReadArgNode(this.currFunctionArgumentCount));
+        final PhpExprNode defaultValue = formalParameter.getDefaultValue() == null ? null
+                : exprVisitor.createExprAst(formalParameter.getDefaultValue(), currFunctionScope);
+        final PhpExprNode readArgNode = AssignRuntimeFactory.createForwardValueNode(isRef,
+                new ReadArgNode(this.currFunctionArgumentCount, defaultValue));
 
         final String name = formalParameter.getParameterNameIdentifier().getName();
 
@@ -306,6 +345,54 @@ public class StmtVisitor extends HierarchicalVisitor {
         return false;
     }
 
+    @Override
+    public boolean visit(ForEachStatement forEach) {
+        final PhpExprNode subject =
+                exprVisitor.createExprAst(forEach.getExpression(), getCurrentScope());
+
+        Expression value = forEach.getValue();
+        final boolean byReference = value instanceof Reference;
+        if (byReference) {
+            value = ((Reference) value).getExpression();
+        }
+        final FrameSlot valueSlot = createLoopVariable(value);
+        if (byReference && (!(forEach.getExpression() instanceof Variable)
+                || new ExpectsSingleVariable().resolveName(forEach.getExpression()) == null)) {
+            throw new PhpException("foreach by reference is only supported " +
+                    "for array variables: " + forEach.getExpression(), null);
+        }
+        final FrameSlot keySlot =
+                forEach.getKey() == null ? null : createLoopVariable(forEach.getKey());
+        final FrameSlot valueBindingSlot =
+                getCurrentScope().findReferenceSlot((String) valueSlot.getIdentifier());
+        final FrameSlot keyBindingSlot = keySlot == null
+                ? null : getCurrentScope().findReferenceSlot((String) keySlot.getIdentifier());
+
+        final StmtVisitorContext bodyCtx = new StmtVisitor(this.language)
+                .createPhpStmtAst(forEach.getStatement(), getCurrentScope());
+        final StmtListNode stmtListNode = new StmtListNode(bodyCtx.stmts);
+        setSourceSection(stmtListNode, forEach.getStatement());
+
+        // hidden variables of the loop state are named after the loop position
+        final PhpForeachNode foreachNode = new PhpForeachNode(subject, keySlot, keyBindingSlot,
+                valueSlot, valueBindingSlot, byReference, stmtListNode,
+                getCurrentScope().getFrameDesc(),
+                "foreach@" + forEach.getStart());
+        setSourceSection(foreachNode, forEach);
+        stmts.add(foreachNode);
+        return false;
+    }
+
+    private FrameSlot createLoopVariable(Expression var) {
+        if (!(var instanceof Variable)) {
+            // XXX: list() and array() destructuring is not supported yet
+            throw new PhpException(
+                    "Other foreach targets than Variable not supported: " + var, null);
+        }
+        final String name = new IdentifierVisitor().getIdentifierName(var).getName();
+        return VisitorHelpers.createLocalVariable(getCurrentScope(), name, null);
+    }
+
     private List<PhpExprNode> visitExpressions(ExprVisitor visitor,
                                                ParseScope scope,
                                                List<Expression> exprs) {
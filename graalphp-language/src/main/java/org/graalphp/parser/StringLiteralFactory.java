@@ -0,0 +1,146 @@
+package org.graalphp.parser;
+
+import org.graalphp.nodes.PhpExprNode;
+import org.graalphp.nodes.literal.PhpStringNode;
+import org.graalphp.runtime.PhpInternTable;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Factory to create a string node from a quoted string literal
+ * <p>
+ * https://www.php.net/manual/en/language.types.string.php
+ *
+ * @author abertschi
+ */
+public class StringLiteralFactory {
+
+    public static boolean isStringLiteral(String str) {
+        return str.length() >= 2
+                && (isQuoted(str, '\'') || isQuoted(str, '"'));
+    }
+
+    private static boolean isQuoted(String str, char quote) {
+        return str.charAt(0) == quote && str.charAt(str.length() - 1) == quote;
+    }
+
+    /**
+     * @param internTable literals are interned such that equal literals share an instance
+     */
+    public static PhpExprNode parseString(String str, PhpInternTable internTable) {
+        final String body = str.substring(1, str.length() - 1);
+        final byte[] bytes = str.charAt(0) == '\''
+                ? unescapeSingleQuoted(body)
+                : unescapeDoubleQuoted(body);
+        return new PhpStringNode(internTable.intern(bytes));
+    }
+
+    // only \' and \\ are escape sequences
+    private static byte[] unescapeSingleQuoted(String body) {
+        final StringBuilder out = new StringBuilder(body.length());
+        for (int i = 0; i < body.length(); i++) {
+            final char c = body.charAt(i);
+            if (c == '\\' && i + 1 < body.length()
+                    && (body.charAt(i + 1) == '\'' || body.charAt(i + 1) == '\\')) {
+                i++;
+                out.append(body.charAt(i));
+            } else {
+                out.append(c);
+            }
+        }
+        return out.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    // XXX: Variable parsing ("$a") is not supported yet
+    private static byte[] unescapeDoubleQuoted(String body) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(body.length());
+        int i = 0;
+        while (i < body.length()) {
+            final char c = body.charAt(i);
+            if (c != '\\' || i + 1 == body.length()) {
+                i = appendUtf8(out, body, i);
+                continue;
+            }
+            final char e = body.charAt(i + 1);
+            i += 2;
+            switch (e) {
+                case 'n':
+                    out.write('\n');
+                    break;
+                case 't':
+                    out.write('\t');
+                    break;
+                case 'r':
+                    out.write('\r');
+                    break;
+                case 'v':
+                    out.write(0x0B);
+                    break;
+                case 'e':
+                    out.write(0x1B);
+                    break;
+                case 'f':
+                    out.write('\f');
+                    break;
+                case '\\':
+                case '$':
+                case '"':
+                    out.write(e);
+                    break;
+                case 'x':
+                    final int hexEnd = digitsEnd(body, i, 2, 16);
+                    if (hexEnd == i) {
+                        out.write('\\');
+                        out.write('x');
+                    } else {
+                        out.write(Integer.parseInt(body.substring(i, hexEnd), 16));
+                        i = hexEnd;
+                    }
+                    break;
+                case 'u':
+                    final int close = body.indexOf('}', i);
+                    if (i < body.length() && body.charAt(i) == '{' && close > i + 1) {
+                        final int codePoint = Integer.parseInt(body.substring(i + 1, close), 16);
+                        final byte[] utf8 = new String(Character.toChars(codePoint))
+                                .getBytes(StandardCharsets.UTF_8);
+                        out.write(utf8, 0, utf8.length);
+                        i = close + 1;
+                    } else {
+                        out.write('\\');
+                        out.write('u');
+                    }
+                    break;
+                default:
+                    final int octalEnd = digitsEnd(body, i - 1, 3, 8);
+                    if (octalEnd > i - 1) {
+                        // octal values overflow silently like in PHP, "\400" === "\000"
+                        out.write(Integer.parseInt(body.substring(i - 1, octalEnd), 8) & 0xFF);
+                        i = octalEnd;
+                    } else {
+                        // unknown sequences are kept as is
+                        out.write('\\');
+                        i = appendUtf8(out, body, i - 1);
+                    }
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static int digitsEnd(String s, int start, int maxDigits, int radix) {
+        int end = start;
+        while (end < s.length() && end - start < maxDigits
+                && Character.digit(s.charAt(end), radix) >= 0) {
+            end++;
+        }
+        return end;
+    }
+
+    // appends the code point at index and returns index of the next one
+    private static int appendUtf8(ByteArrayOutputStream out, String s, int index) {
+        final int end = index + Character.charCount(s.codePointAt(index));
+        final byte[] utf8 = s.substring(index, end).getBytes(StandardCharsets.UTF_8);
+        out.write(utf8, 0, utf8.length);
+        return end;
+    }
+}
@@ -26,14 +26,21 @@ public class VisitorHelpers {
                                                     PhpExprNode source,
                                                     Integer argumentId,
                                                     ASTNode sourceSection) {
-        final FrameSlot frameSlot =
-                scope.getFrameDesc().findOrAddFrameSlot(target, argumentId, FrameSlotKind.Illegal);
-        scope.getVars().put(target, frameSlot);
-
+        final FrameSlot frameSlot = createLocalVariable(scope, target, argumentId);
         PhpExprNode node = WriteLocalVarNodeGen.create(source, frameSlot);
         if (sourceSection != null) {
             setSourceSection(node, sourceSection);
         }
         return node;
     }
+
+    // declare a variable with given target name in the current frame
+    public static FrameSlot createLocalVariable(ParseScope scope,
+                                                String target,
+                                                Integer argumentId) {
+        final FrameSlot frameSlot =
+                scope.getFrameDesc().findOrAddFrameSlot(target, argumentId, FrameSlotKind.Illegal);
+        scope.getVars().put(target, frameSlot);
+        return frameSlot;
+    }
 }
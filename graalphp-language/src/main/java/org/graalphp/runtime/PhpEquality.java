@@ -0,0 +1,140 @@
+package org.graalphp.runtime;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import org.graalphp.runtime.array.ArrayLibrary;
+import org.graalphp.runtime.array.PhpArray;
+import org.graalphp.types.PhpNull;
+import org.graalphp.types.PhpString;
+
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Pattern;
+
+/**
+ * PHP loose comparison (==) of values of any type, following the comparison table of PHP 8.
+ * <p>
+ * Used where values are not specialized, i.e. for array elements and values of mixed
+ * types in {@link org.graalphp.nodes.binary.logical.PhpEqNode}.
+ * A bool compares with the other value converted to bool, null equals "", false, 0 and
+ * an empty array. A number equals a numeric string of the same value, otherwise it
+ * is compared as string.
+ * XXX: Like PhpEqNode, two strings are equal if their bytes are. PHP compares two
+ * numeric strings as numbers.
+ *
+ * @author abertschi
+ */
+public final class PhpEquality {
+
+    // PHP numeric string, leading and trailing whitespace is allowed
+    private static final Pattern NUMERIC =
+            Pattern.compile("[ \\t\\n\\r\\v\\f]*[+-]?(\\d+(\\.\\d*)?|\\.\\d+)([eE][+-]?\\d+)?"
+                    + "[ \\t\\n\\r\\v\\f]*");
+    private static final Pattern INTEGER = Pattern.compile("\\s*[+-]?\\d+\\s*");
+
+    private PhpEquality() {
+    }
+
+    public static boolean looseEquals(Object a, Object b) {
+        if (a instanceof Long && b instanceof Long) {
+            return (long) a == (long) b;
+        } else if (a instanceof Double && b instanceof Double) {
+            return (double) a == (double) b;
+        } else if (a instanceof PhpString && b instanceof PhpString) {
+            return a == b || a.equals(b);
+        }
+        return mixedEquals(a, b);
+    }
+
+    @TruffleBoundary
+    private static boolean mixedEquals(Object a, Object b) {
+        if (a == b) {
+            return true;
+        } else if (a instanceof PhpArray && b instanceof PhpArray) {
+            return arrayEquals((PhpArray) a, (PhpArray) b);
+        } else if (a instanceof Boolean || b instanceof Boolean) {
+            return toBoolean(a) == toBoolean(b);
+        } else if (a == PhpNull.SINGLETON) {
+            return nullEquals(b);
+        } else if (b == PhpNull.SINGLETON) {
+            return nullEquals(a);
+        } else if (a instanceof Number && b instanceof Number) {
+            return numberEquals((Number) a, (Number) b);
+        } else if (a instanceof Number && b instanceof PhpString) {
+            return numberEqualsString((Number) a, (PhpString) b);
+        } else if (b instanceof Number && a instanceof PhpString) {
+            return numberEqualsString((Number) b, (PhpString) a);
+        }
+        // an array equals no scalar
+        return false;
+    }
+
+    private static boolean arrayEquals(PhpArray a, PhpArray b) {
+        return a.getSize() == b.getSize() && ArrayLibrary.getUncached()
+                .contentEquals(a.getBackend(), b.getBackend(), a.getSize());
+    }
+
+    // null is converted to "" if compared with a string, to bool otherwise
+    private static boolean nullEquals(Object value) {
+        if (value instanceof PhpString) {
+            return ((PhpString) value).length() == 0;
+        }
+        return !toBoolean(value);
+    }
+
+    private static boolean numberEquals(Number a, Number b) {
+        if (a instanceof Long && b instanceof Long) {
+            return a.longValue() == b.longValue();
+        }
+        return a.doubleValue() == b.doubleValue();
+    }
+
+    private static boolean numberEqualsString(Number number, PhpString string) {
+        final String value = new String(string.getBytes(), 0, string.length(),
+                StandardCharsets.ISO_8859_1);
+        if (NUMERIC.matcher(value).matches()) {
+            return numberEquals(number, parseNumber(value.trim()));
+        }
+        return toPhpString(number).equals(string);
+    }
+
+    private static Number parseNumber(String numeric) {
+        if (INTEGER.matcher(numeric).matches()) {
+            try {
+                return Long.parseLong(numeric.startsWith("+") ? numeric.substring(1) : numeric);
+            } catch (NumberFormatException e) {
+                // out of range of long, like PHP use a double
+            }
+        }
+        return Double.parseDouble(numeric);
+    }
+
+    private static PhpString toPhpString(Number number) {
+        final byte[] buf;
+        final int length;
+        if (number instanceof Long) {
+            buf = new byte[PhpNumberFormat.MAX_LONG_LENGTH];
+            length = PhpNumberFormat.formatLong(number.longValue(), buf, 0);
+        } else {
+            buf = new byte[PhpNumberFormat.MAX_DOUBLE_LENGTH];
+            length = PhpNumberFormat.formatDouble(number.doubleValue(), buf, 0);
+        }
+        final byte[] bytes = new byte[length];
+        System.arraycopy(buf, 0, bytes, 0, length);
+        return new PhpString(bytes);
+    }
+
+    private static boolean toBoolean(Object value) {
+        if (value instanceof Boolean) {
+            return (boolean) value;
+        } else if (value instanceof Long) {
+            return (long) value != 0;
+        } else if (value instanceof Double) {
+            return (double) value != 0.0;
+        } else if (value instanceof PhpString) {
+            final PhpString string = (PhpString) value;
+            return !(string.length() == 0 || (string.length() == 1 && string.byteAt(0) == '0'));
+        } else if (value instanceof PhpArray) {
+            return ((PhpArray) value).getSize() != 0;
+        }
+        return value != null && value != PhpNull.SINGLETON;
+    }
+}
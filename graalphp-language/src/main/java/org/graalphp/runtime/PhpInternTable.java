@@ -0,0 +1,55 @@
+package org.graalphp.runtime;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import org.graalphp.types.PhpString;
+
+import java.lang.ref.WeakReference;
+import java.util.WeakHashMap;
+
+/**
+ * Intern table for string literals and constants.
+ * <p>
+ * There is one table per PhpLanguage which is shared by all contexts and parses.
+ * Equal literals thus resolve to the same PhpString and equality checks
+ * succeed on reference equality. Entries are weak and evicted once no AST
+ * or value references a string anymore.
+ *
+ * @author abertschi
+ */
+public final class PhpInternTable {
+
+    // values are weak too, a strong value would keep its own key alive
+    private final WeakHashMap<PhpString, WeakReference<PhpString>> table = new WeakHashMap<>();
+
+    /**
+     * @return the canonical instance of a string equal to string
+     */
+    @TruffleBoundary
+    public synchronized PhpString intern(PhpString string) {
+        final WeakReference<PhpString> ref = table.get(string);
+        final PhpString interned = ref == null ? null : ref.get();
+        if (interned != null) {
+            return interned;
+        }
+        table.put(string, new WeakReference<>(string));
+        return string;
+    }
+
+    @TruffleBoundary
+    public PhpString intern(byte[] bytes) {
+        return intern(new PhpString(bytes));
+    }
+
+    @TruffleBoundary
+    public PhpString intern(String string) {
+        return intern(PhpString.fromJavaString(string));
+    }
+
+    /**
+     * @return number of strings which have not been evicted yet
+     */
+    @TruffleBoundary
+    public synchronized int size() {
+        return table.size();
+    }
+}
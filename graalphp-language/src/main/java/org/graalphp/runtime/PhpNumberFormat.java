@@ -0,0 +1,184 @@
+package org.graalphp.runtime;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Formats numbers into a byte array the way PHP converts them to strings.
+ * <p>
+ * Doubles are formatted like PHP with the default ini setting precision=14,
+ * i.e. 14 significant digits without trailing zeros: 0.1 + 0.2 is 0.3, 4.0 is 4
+ * and 1e15 is 1.0E+15. No intermediate String is created.
+ *
+ * @author abertschi
+ */
+public final class PhpNumberFormat {
+
+    public static final int PRECISION = 14;
+
+    /** upper bound of bytes written by {@link #formatLong} **/
+    public static final int MAX_LONG_LENGTH = 20;
+
+    /** upper bound of bytes written by {@link #formatDouble}, e.g. -1.2345678901234E-308 **/
+    public static final int MAX_DOUBLE_LENGTH = 24;
+
+    private static final long MIN_DIGITS = 10_000_000_000_000L; // 10^(PRECISION - 1)
+    private static final long MAX_DIGITS = 100_000_000_000_000L; // 10^PRECISION
+
+    // exactly representable as double
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private static final byte[] LONG_MIN_VALUE =
+            Long.toString(Long.MIN_VALUE).getBytes(StandardCharsets.US_ASCII);
+
+    private PhpNumberFormat() {
+    }
+
+    /**
+     * Write decimal representation of value to buf at pos.
+     *
+     * @return position after the last written byte
+     */
+    public static int formatLong(long value, byte[] buf, int pos) {
+        if (value == Long.MIN_VALUE) {
+            System.arraycopy(LONG_MIN_VALUE, 0, buf, pos, LONG_MIN_VALUE.length);
+            return pos + LONG_MIN_VALUE.length;
+        }
+        if (value < 0) {
+            buf[pos++] = '-';
+            value = -value;
+        }
+        return writeDigits(value, buf, pos);
+    }
+
+    /**
+     * Write value with {@link #PRECISION} significant digits to buf at pos.
+     * XXX: Digits are computed in double arithmetic and not by an exact conversion.
+     * The last digit may be off by one if the value lies almost exactly halfway between
+     * two 14 digit decimals.
+     *
+     * @return position after the last written byte
+     */
+    public static int formatDouble(double value, byte[] buf, int pos) {
+        if (Double.isNaN(value)) {
+            return writeAscii(buf, pos, 'N', 'A', 'N');
+        }
+        if (value < 0 || (value == 0 && 1 / value < 0)) {
+            buf[pos++] = '-';
+            value = -value;
+        }
+        if (Double.isInfinite(value)) {
+            return writeAscii(buf, pos, 'I', 'N', 'F');
+        }
+        if (value == 0) {
+            buf[pos++] = '0';
+            return pos;
+        }
+
+        int exponent = (int) Math.floor(Math.log10(value));
+        long digits = scaleToDigits(value, exponent);
+        // log10 may be off by one at powers of ten, rounding may carry into a new digit
+        if (digits >= MAX_DIGITS) {
+            exponent++;
+            digits = scaleToDigits(value, exponent);
+        } else if (digits < MIN_DIGITS) {
+            exponent--;
+            digits = scaleToDigits(value, exponent);
+        }
+        if (digits >= MAX_DIGITS) {
+            digits /= 10;
+            exponent++;
+        }
+
+        int count = PRECISION;
+        while (digits % 10 == 0) {
+            digits /= 10;
+            count--;
+        }
+
+        if (exponent < -4 || exponent >= PRECISION) {
+            return writeExponential(digits, count, exponent, buf, pos);
+        } else if (exponent < 0) {
+            buf[pos++] = '0';
+            buf[pos++] = '.';
+            for (int i = -1; i > exponent; i--) {
+                buf[pos++] = '0';
+            }
+            return writeDigits(digits, buf, pos);
+        } else {
+            final int start = pos;
+            pos = writeDigits(digits, buf, pos);
+            for (int i = count; i <= exponent; i++) {
+                buf[pos++] = '0';
+            }
+            if (count > exponent + 1) {
+                // make room for decimal point after integer part
+                final int point = start + exponent + 1;
+                System.arraycopy(buf, point, buf, point + 1, pos - point);
+                buf[point] = '.';
+                pos++;
+            }
+            return pos;
+        }
+    }
+
+    // 1.0E+25, 1.5E-7
+    private static int writeExponential(long digits, int count, int exponent, byte[] buf, int pos) {
+        final int start = pos;
+        pos = writeDigits(digits, buf, pos);
+        System.arraycopy(buf, start + 1, buf, start + 2, pos - start - 1);
+        buf[start + 1] = '.';
+        pos++;
+        if (count == 1) {
+            buf[pos++] = '0';
+        }
+        buf[pos++] = 'E';
+        buf[pos++] = (byte) (exponent < 0 ? '-' : '+');
+        return writeDigits(Math.abs(exponent), buf, pos);
+    }
+
+    // value scaled to PRECISION digits if exponent is the decimal exponent of value
+    private static long scaleToDigits(double value, int exponent) {
+        final int shift = PRECISION - 1 - exponent;
+        double scaled = value;
+        if (shift > 0) {
+            for (int s = shift; s > 0; s -= 22) {
+                scaled *= POWERS_OF_TEN[Math.min(s, 22)];
+            }
+        } else if (shift < 0) {
+            for (int s = -shift; s > 0; s -= 22) {
+                scaled /= POWERS_OF_TEN[Math.min(s, 22)];
+            }
+        }
+        return Math.round(scaled);
+    }
+
+    // value must not be negative
+    private static int writeDigits(long value, byte[] buf, int pos) {
+        final int end = pos + countDigits(value);
+        int i = end;
+        do {
+            buf[--i] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        return end;
+    }
+
+    private static int countDigits(long value) {
+        int digits = 1;
+        while (value >= 10) {
+            value /= 10;
+            digits++;
+        }
+        return digits;
+    }
+
+    private static int writeAscii(byte[] buf, int pos, char a, char b, char c) {
+        buf[pos] = (byte) a;
+        buf[pos + 1] = (byte) b;
+        buf[pos + 2] = (byte) c;
+        return pos + 3;
+    }
+}
@@ -0,0 +1,207 @@
+package org.graalphp.runtime;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import org.graalphp.exception.PhpException;
+import org.graalphp.types.PhpString;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Output of a context along with the stack of PHP output buffers (ob_start).
+ * <p>
+ * Output is written to a growable byte buffer rather than to the output stream.
+ * The bottom buffer is written to the stream once it exceeds {@link #FLUSH_THRESHOLD}.
+ * Buffers started with ob_start are only written to the buffer below by ob_flush.
+ * All buffers are written to the stream after a script was executed and once the
+ * context is closed.
+ *
+ * @author abertschi
+ */
+public final class PhpOutput {
+
+    public static final int FLUSH_THRESHOLD = 1 << 13;
+
+    private final OutputStream out;
+
+    private final ByteBuffer bottom = new ByteBuffer();
+
+    // buffers started with ob_start, last one is written to
+    private final ArrayList<ByteBuffer> buffers = new ArrayList<>();
+
+    // top of stack
+    private ByteBuffer current = bottom;
+
+    public PhpOutput(OutputStream out) {
+        this.out = out;
+    }
+
+    // numbers are formatted into the buffer and can be partially evaluated
+    public void print(long value) {
+        final ByteBuffer buffer = current;
+        buffer.ensureCapacity(PhpNumberFormat.MAX_LONG_LENGTH);
+        buffer.length = PhpNumberFormat.formatLong(value, buffer.bytes, buffer.length);
+        written();
+    }
+
+    public void print(double value) {
+        final ByteBuffer buffer = current;
+        buffer.ensureCapacity(PhpNumberFormat.MAX_DOUBLE_LENGTH);
+        buffer.length = PhpNumberFormat.formatDouble(value, buffer.bytes, buffer.length);
+        written();
+    }
+
+    @TruffleBoundary
+    public void print(PhpString value) {
+        current.write(value.getBytes(), value.length());
+        written();
+    }
+
+    @TruffleBoundary
+    public void print(String value) {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        current.write(bytes, bytes.length);
+        written();
+    }
+
+    @TruffleBoundary
+    public void println() {
+        current.write((byte) '\n');
+        written();
+    }
+
+    @TruffleBoundary
+    public void println(String value) {
+        print(value);
+        println();
+    }
+
+    /**
+     * ob_start, following output is buffered until the buffer is flushed or cleaned
+     */
+    @TruffleBoundary
+    public void startBuffer() {
+        current = new ByteBuffer();
+        buffers.add(current);
+    }
+
+    /**
+     * ob_get_clean, contents of the top buffer, which is removed
+     *
+     * @return contents, or null if there is no buffer
+     */
+    @TruffleBoundary
+    public PhpString getAndEndBuffer() {
+        if (buffers.isEmpty()) {
+            return null;
+        }
+        final ByteBuffer buffer = buffers.remove(buffers.size() - 1);
+        current = buffers.isEmpty() ? bottom : buffers.get(buffers.size() - 1);
+        return new PhpString(buffer.toByteArray());
+    }
+
+    /**
+     * ob_flush, write contents of the top buffer to the buffer below
+     *
+     * @return false if there is no buffer
+     */
+    @TruffleBoundary
+    public boolean flushBuffer() {
+        if (buffers.isEmpty()) {
+            return false;
+        }
+        final ByteBuffer below = buffers.size() == 1 ? bottom : buffers.get(buffers.size() - 2);
+        current.writeTo(below);
+        current.reset();
+        if (below == bottom) {
+            flushIfFull();
+        }
+        return true;
+    }
+
+    /**
+     * Write bottom buffer to the output stream, does not flush buffers of ob_start
+     */
+    @TruffleBoundary
+    public void flush() {
+        try {
+            out.write(bottom.bytes, 0, bottom.length);
+            out.flush();
+            bottom.reset();
+        } catch (IOException e) {
+            throw new PhpException("Could not write output: " + e.getMessage(), null);
+        }
+    }
+
+    /**
+     * Flush all buffers, like PHP does at the end of a script
+     */
+    @TruffleBoundary
+    public void close() {
+        while (!buffers.isEmpty()) {
+            flushBuffer();
+            getAndEndBuffer();
+        }
+        flush();
+    }
+
+    public int getBufferLevel() {
+        return buffers.size();
+    }
+
+    private void written() {
+        if (current == bottom) {
+            flushIfFull();
+        }
+    }
+
+    private void flushIfFull() {
+        if (bottom.length >= FLUSH_THRESHOLD) {
+            flush();
+        }
+    }
+
+    private static final class ByteBuffer {
+
+        private byte[] bytes = new byte[256];
+        private int length;
+
+        void ensureCapacity(int additional) {
+            final int required = length + additional;
+            if (required > bytes.length) {
+                grow(required);
+            }
+        }
+
+        @TruffleBoundary
+        private void grow(int required) {
+            bytes = Arrays.copyOf(bytes, Math.max(required, bytes.length * 2));
+        }
+
+        void write(byte b) {
+            ensureCapacity(1);
+            bytes[length++] = b;
+        }
+
+        void write(byte[] b, int len) {
+            ensureCapacity(len);
+            System.arraycopy(b, 0, bytes, length, len);
+            length += len;
+        }
+
+        void writeTo(ByteBuffer other) {
+            other.write(bytes, length);
+        }
+
+        void reset() {
+            length = 0;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, length);
+        }
+    }
+}
@@ -3,11 +3,12 @@ package org.graalphp.runtime;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.NodeField;
 import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.FrameDescriptor;
 import com.oracle.truffle.api.frame.FrameSlot;
 import com.oracle.truffle.api.frame.FrameSlotKind;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import org.graalphp.nodes.PhpExprNode;
-import org.graalphp.parser.ParseScope;
+import org.graalphp.nodes.localvar.ReferenceVarNode;
 import org.graalphp.types.PhpNull;
 
 import java.util.Arrays;
@@ -21,13 +22,10 @@ import java.util.Arrays;
  * @author abertschi
  */
 @NodeField(name = "names", type = String[].class)
-@NodeField(name = "parseScope", type = ParseScope.class)
 public abstract class PhpUnsetNode extends PhpExprNode {
 
     protected abstract String[] getNames();
 
-    protected abstract ParseScope getParseScope();
-
     /*
      * We currently implement a subset of the unset operator
      * https://github.com/php/php-langspec/blob/master/spec/11-statements.md#the-unset-statement
@@ -49,13 +47,26 @@ public abstract class PhpUnsetNode extends PhpExprNode {
     }
 
     private void unset(VirtualFrame f, String name) {
-        FrameSlot frameSlot = getParseScope().resolveVariable(name);
+        FrameSlot frameSlot = findFrameSlot(f.getFrameDescriptor(), name);
         if (frameSlot == null) {
             // we ignore unset of non existing variables
             return;
         }
         f.getFrameDescriptor().setFrameSlotKind(frameSlot, FrameSlotKind.Object);
         f.setObject(frameSlot, PhpUnset.SINGLETON);
+
+        // unset($v) removes the binding of foreach ($A as &$v) but not the element
+        final FrameSlot bindingSlot =
+                findFrameSlot(f.getFrameDescriptor(), ReferenceVarNode.bindingName(name));
+        if (bindingSlot != null) {
+            f.setObject(bindingSlot, PhpUnset.SINGLETON);
+        }
+    }
+
+    // variables are declared in the frame descriptor of their function or global scope
+    @TruffleBoundary
+    private static FrameSlot findFrameSlot(FrameDescriptor descriptor, String name) {
+        return descriptor.findFrameSlot(name);
     }
 
     @Override
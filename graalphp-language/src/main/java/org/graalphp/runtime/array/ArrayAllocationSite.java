@@ -0,0 +1,128 @@
+package org.graalphp.runtime.array;
+
+import com.oracle.truffle.api.Assumption;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.Truffle;
+import org.graalphp.runtime.PhpRuntime;
+
+/**
+ * Feedback of an array allocation site (a memento).
+ * <p>
+ * Arrays remember the site they were created at and report backend generalizations and
+ * growth. Later allocations at the same site start with the most general backend and
+ * the peak capacity seen so far. This saves the transition copies of arrays which
+ * always end up in the same backend, e.g. arrays of doubles or arrays of arrays.
+ *
+ * @author abertschi
+ */
+public final class ArrayAllocationSite {
+
+    // we do not presize arrays larger than this, a single large array would
+    // otherwise inflate all arrays created at the same site
+    private static final int MAX_CAPACITY = 1 << 12;
+
+    @CompilationFinal
+    private ArrayAllocator allocator;
+
+    @CompilationFinal
+    private int capacity;
+
+    /** utility to assume that allocator and capacity do not change **/
+    @CompilationFinal
+    private Assumption stable = createAssumption();
+
+    public ArrayAllocationSite() {
+        this(PhpRuntime.INITIAL_ARRAY_CAPACITY);
+    }
+
+    public ArrayAllocationSite(int capacity) {
+        this.allocator = LongArrayAllocator.INSTANCE;
+        this.capacity = capacity;
+    }
+
+    public PhpArray allocate() {
+        return allocate(0);
+    }
+
+    /**
+     * Allocate array with enough capacity for at least minCapacity elements
+     */
+    public PhpArray allocate(int minCapacity) {
+        final PhpArray array;
+        if (stable.isValid()) {
+            final int cap = Math.max(capacity, minCapacity);
+            array = new PhpArray(allocator.createArray(cap), cap);
+        } else {
+            // feedback changed, we read the latest state
+            array = allocateUncached(minCapacity);
+        }
+        array.setAllocationSite(this);
+        return array;
+    }
+
+    @TruffleBoundary
+    private PhpArray allocateUncached(int minCapacity) {
+        final int cap = Math.max(capacity, minCapacity);
+        return new PhpArray(allocator.createArray(cap), cap);
+    }
+
+    /**
+     * An array created at this site changed its backend from one allocator to another
+     * or grew to a new capacity.
+     * <p>
+     * Backend changes are only taken over if the array started with the
+     * current allocator of this site. Feedback thus only generalizes.
+     * Conversions to a hash array are ignored. A single sparse write would otherwise
+     * turn all later arrays of this site into hash arrays without packed fast paths.
+     * Each array converts on its own instead.
+     */
+    public void update(ArrayAllocator from, ArrayAllocator to, int newCapacity) {
+        if (to == HashArrayAllocator.INSTANCE) {
+            return;
+        }
+        final boolean generalize = from == allocator && to != allocator;
+        final boolean grow = newCapacity > capacity && capacity < MAX_CAPACITY;
+        if (generalize || grow) {
+            doUpdate(generalize ? to : allocator, Math.min(newCapacity, MAX_CAPACITY));
+        }
+    }
+
+    @TruffleBoundary
+    private void doUpdate(ArrayAllocator newAllocator, int newCapacity) {
+        this.allocator = newAllocator;
+        this.capacity = Math.max(capacity, newCapacity);
+        stable.invalidate();
+        stable = createAssumption();
+    }
+
+    private static Assumption createAssumption() {
+        return Truffle.getRuntime().createAssumption("array allocation site");
+    }
+
+    /**
+     * Report change of an array to the site it was allocated at, if any
+     */
+    public static void report(PhpArray array, ArrayAllocator from, ArrayAllocator to) {
+        final ArrayAllocationSite site = array.getAllocationSite();
+        if (site != null) {
+            site.update(from, to, array.getCapacity());
+        }
+    }
+
+    public ArrayAllocator getAllocator() {
+        return allocator;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public String toString() {
+        return "ArrayAllocationSite{" +
+                "allocator=" + allocator.getClass().getSimpleName() +
+                ", capacity=" + capacity +
+                '}';
+    }
+}
@@ -7,6 +7,11 @@ import org.graalphp.runtime.PhpRuntime;
  */
 public final class ArrayFactory {
 
+    private static final int INCREASE_FACTOR = 2;
+
+    // some VMs reserve header words in an array
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
     public static PhpArray newArray() {
         final int capacity = PhpRuntime.INITIAL_ARRAY_CAPACITY;
         return newArray(capacity);
@@ -19,4 +24,64 @@ public final class ArrayFactory {
     public static PhpArray newArray(Object backend, int cap) {
         return new PhpArray(backend, cap);
     }
+
+    /**
+     * Create a copy of source which shares its backend.
+     * Both arrays are marked as shared and copy the backend on their next write.
+     */
+    public static PhpArray newCopyOnWriteArray(PhpArray source) {
+        source.setShared(true);
+        final PhpArray copy = new PhpArray(source.getBackend(), source.getCapacity());
+        copy.setSize(source.getSize());
+        copy.setShared(true);
+        return copy;
+    }
+
+    /**
+     * Capacity of a packed backend which is full. Grows geometrically such that
+     * appends are amortized constant time.
+     */
+    public static int growCapacity(int capacity) {
+        final long newCapacity = (long) capacity * INCREASE_FACTOR;
+        return (int) Math.max(
+                Math.min(newCapacity, MAX_CAPACITY), PhpRuntime.INITIAL_ARRAY_CAPACITY);
+    }
+
+    /**
+     * Grow a packed backend to newCapacity. Backends which can be stored off-heap
+     * are moved off-heap if requested.
+     */
+    public static Object growBackend(ArrayLibrary library,
+                                     Object backend,
+                                     int size,
+                                     int newCapacity,
+                                     boolean offHeap) {
+        if (offHeap) {
+            final ArrayAllocator offHeapAllocator = library.getOffHeapAllocator(backend);
+            if (offHeapAllocator != null && offHeapAllocator != library.getArrayAllocator(backend)) {
+                final Object newBackend = offHeapAllocator.createArray(newCapacity);
+                library.copyRange(backend, 0, newBackend, 0, size);
+                return newBackend;
+            }
+        }
+        return library.grow(backend, newCapacity);
+    }
+
+    /**
+     * Allocator of a packed backend which can store value in addition to the size
+     * elements of backend.
+     * <p>
+     * An empty array of the initial long[] backend takes the backend which suits value best,
+     * e.g. boolean[] for flag arrays. Otherwise the library generalizes such that
+     * existing values keep their type.
+     */
+    public static ArrayAllocator generalizeForValue(ArrayLibrary library,
+                                                    Object backend,
+                                                    int size,
+                                                    Object value) {
+        if (size == 0 && library.getArrayAllocator(backend) == LongArrayAllocator.INSTANCE) {
+            return ArrayLibrary.getArrayCreatorForValue(value);
+        }
+        return library.generalizeForValue(backend, value);
+    }
 }
@@ -0,0 +1,83 @@
+package org.graalphp.runtime.array;
+
+import org.graalphp.types.PhpString;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Conversion of string keys to array keys.
+ * <p>
+ * Like PHP, a string which is the canonical decimal representation of an integer
+ * is an integer key: $a["5"] and $a[5] are the same element, whereas "05", "5.0",
+ * " 5" and "-0" remain string keys.
+ *
+ * @author abertschi
+ */
+public final class ArrayKey {
+
+    // digits of Long.MAX_VALUE
+    private static final int MAX_DIGITS = 19;
+
+    private static final byte[] MAX_VALUE_DIGITS =
+            Long.toString(Long.MAX_VALUE).getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] MIN_VALUE_DIGITS =
+            Long.toString(Long.MIN_VALUE).substring(1).getBytes(StandardCharsets.US_ASCII);
+
+    private ArrayKey() {
+    }
+
+    /**
+     * @return true if key is used as integer key, see {@link #toLongKey(PhpString)}
+     */
+    public static boolean isLongKey(PhpString key) {
+        final int length = key.length();
+        if (length == 0 || length > MAX_DIGITS + 1) {
+            return false;
+        }
+        final byte[] bytes = key.getBytes();
+        final boolean negative = bytes[0] == '-';
+        final int start = negative ? 1 : 0;
+        final int digits = length - start;
+        if (digits == 0 || digits > MAX_DIGITS) {
+            return false;
+        }
+        if (bytes[start] == '0') {
+            // "0" is an integer key, "-0" and leading zeros are not
+            return length == 1;
+        }
+        for (int i = start; i < length; i++) {
+            if (bytes[i] < '0' || bytes[i] > '9') {
+                return false;
+            }
+        }
+        if (digits == MAX_DIGITS) {
+            return fitsLong(bytes, start, negative);
+        }
+        return true;
+    }
+
+    /**
+     * @param key string for which {@link #isLongKey(PhpString)} holds
+     */
+    public static long toLongKey(PhpString key) {
+        final byte[] bytes = key.getBytes();
+        final boolean negative = bytes[0] == '-';
+        long value = 0;
+        // accumulate negative to cover Long.MIN_VALUE
+        for (int i = negative ? 1 : 0; i < bytes.length; i++) {
+            value = value * 10 - (bytes[i] - '0');
+        }
+        return negative ? value : -value;
+    }
+
+    private static boolean fitsLong(byte[] bytes, int start, boolean negative) {
+        final byte[] limit = negative ? MIN_VALUE_DIGITS : MAX_VALUE_DIGITS;
+        for (int i = 0; i < MAX_DIGITS; i++) {
+            final byte b = bytes[start + i];
+            if (b != limit[i]) {
+                return b < limit[i];
+            }
+        }
+        return true;
+    }
+}
@@ -22,13 +22,17 @@ import com.oracle.truffle.api.library.LibraryFactory;
  */
 @GenerateLibrary
 @DefaultExport(LongArrayLibrary.class)
+@DefaultExport(DoubleArrayLibrary.class)
+@DefaultExport(BooleanArrayLibrary.class)
 @DefaultExport(ObjectArrayLibrary.class)
+@DefaultExport(HashArrayLibrary.class)
+@DefaultExport(NativeLongArrayLibrary.class)
+@DefaultExport(NativeDoubleArrayLibrary.class)
 public abstract class ArrayLibrary extends Library {
 
-    public static final String SPECIALIZATION_LIMIT = "2";
+    public static final String SPECIALIZATION_LIMIT = "3";
 
     // TODO for spec compliance;
-    //  - Implement Map like backend for string keys, and irregular indices (i.e. -1)
     //  - capacity may be larger than currently set. PHP throws an error if an uninitialized
     //    entry is accessed
     //    - with primitive implementations this cannot easily be achieved. We could keep track of
@@ -66,6 +70,53 @@ public abstract class ArrayLibrary extends Library {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * true if receiver is a map like backend which is accessed with keys
+     * rather than with indices
+     **/
+    public boolean isHashArray(Object receiver) {
+        return false;
+    }
+
+    /**
+     * read from map like receiver with key, key is either long or PhpString.
+     * A key which does not exist reads as Java null
+     **/
+    public Object readKey(Object receiver, Object key) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * write to map like receiver with key, key is either long or PhpString
+     *
+     * @return true if key did not exist yet
+     **/
+    public boolean writeKey(Object receiver, Object key, Object value) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * next integer key to append a value to map like receiver
+     **/
+    public long nextKey(Object receiver) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * key of the entry at position in iteration order, positions range from 0 to size - 1.
+     * Packed backends store key i at position i
+     **/
+    public Object iterationKey(Object receiver, int position) {
+        return (long) position;
+    }
+
+    /**
+     * value of the entry at position in iteration order
+     **/
+    public Object iterationValue(Object receiver, int position) {
+        return read(receiver, position);
+    }
+
     /**
      * get current capacity
      **/
@@ -90,7 +141,16 @@ public abstract class ArrayLibrary extends Library {
     }
 
     /**
-     * upgrade a receiver to store more generalized types, for example. long[] -> Object[]
+     * allocator to store receiver off-heap, null if receiver cannot be stored off-heap
+     **/
+    public ArrayAllocator getOffHeapAllocator(Object receiver) {
+        return null;
+    }
+
+    /**
+     * upgrade a receiver to store more generalized types.
+     * Backends generalize along long[] -> double[] or boolean[] -> Object[].
+     * Packed backends convert to HashArray on sparse, negative or non integer keys.
      **/
     public ArrayAllocator generalizeForValue(Object receiver, Object newValue) {
         throw new UnsupportedOperationException();
@@ -110,11 +170,36 @@ public abstract class ArrayLibrary extends Library {
 
     /**
      * Create a deep copy by copy arrays of arrays.
+     * Nested arrays are copied on write, see {@link ArrayFactory#newCopyOnWriteArray(PhpArray)}.
      */
     public void copyDeepContents(Object receiver, Object target, int length) {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Copy length elements of receiver starting at srcPos into destination starting at destPos.
+     * Backends of the same type copy in bulk (System.arraycopy).
+     */
+    public void copyRange(Object receiver, int srcPos, Object destination, int destPos, int length) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * write value to receiver from fromIndex (inclusive) to toIndex (exclusive).
+     * receiver must accept value.
+     **/
+    public void fill(Object receiver, int fromIndex, int toIndex, Object value) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * true if the first length elements of receiver and other are equal (PHP ==).
+     * Backends of the same type compare without boxing.
+     **/
+    public boolean contentEquals(Object receiver, Object other, int length) {
+        throw new UnsupportedOperationException();
+    }
+
     /**
      * grow receiver to new size, create a copy
      **/
@@ -125,6 +210,10 @@ public abstract class ArrayLibrary extends Library {
     public static ArrayAllocator getArrayCreatorForValue(Object obj) {
         if (obj instanceof Long) {
             return LongArrayAllocator.INSTANCE;
+        } else if (obj instanceof Double) {
+            return DoubleArrayAllocator.INSTANCE;
+        } else if (obj instanceof Boolean) {
+            return BooleanArrayAllocator.INSTANCE;
         } else {
             return ObjectArrayAllocator.INSTANCE;
         }
@@ -0,0 +1,23 @@
+package org.graalphp.runtime.array;
+
+/**
+ * Allocation strategy for boolean[].
+ *
+ * @author abertschi
+ */
+public class BooleanArrayAllocator implements ArrayAllocator {
+
+    public static final BooleanArrayAllocator INSTANCE = new BooleanArrayAllocator();
+
+    private BooleanArrayAllocator() {}
+
+    @Override
+    public Object createArray(int capacity) {
+        return new boolean[capacity];
+    }
+
+    @Override
+    public boolean acceptsValue(Object value) {
+        return value instanceof Boolean;
+    }
+}
@@ -0,0 +1,163 @@
+package org.graalphp.runtime.array;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.GenerateUncached;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.library.ExportLibrary;
+import com.oracle.truffle.api.library.ExportMessage;
+
+import java.util.Arrays;
+
+/**
+ * Array backend for boolean[] based values, i.e. flag arrays of a sieve.
+ * A boolean takes a byte instead of a reference to a boxed Boolean.
+ *
+ * @author abertschi
+ */
+@ExportLibrary(value = ArrayLibrary.class, receiverType = boolean[].class)
+@GenerateUncached
+public class BooleanArrayLibrary {
+
+    // Semantic messages
+
+    @ExportMessage
+    protected static boolean isArray(boolean[] store) {
+        return true;
+    }
+
+    @ExportMessage
+    protected static boolean read(boolean[] store, int index) {
+        return store[index];
+    }
+
+    @ExportMessage
+    static class Write {
+        @Specialization
+        protected static void write(boolean[] store, int index, boolean value) {
+            store[index] = value;
+        }
+    }
+
+    // technical messages
+
+    @ExportMessage
+    protected static boolean acceptsValue(boolean[] receiver, Object value) {
+        return value instanceof Boolean;
+    }
+
+    @ExportMessage
+    protected static BooleanArrayAllocator getArrayAllocator(boolean[] receiver) {
+        return BooleanArrayAllocator.INSTANCE;
+    }
+
+    @ExportMessage
+    @TruffleBoundary
+    protected static String arrayToString(boolean[] receiver) {
+        return Arrays.toString(receiver);
+    }
+
+    /*
+     * XXX: We keep boolean semantics of existing values and fall back to Object[].
+     * An empty array is generalized by the array nodes, see ArrayFactory.generalizeForValue
+     */
+    @ExportMessage
+    static class GeneralizeForValue {
+        @Specialization
+        protected static ArrayAllocator generalizeForValue(boolean[] receiver, boolean newValue) {
+            return BooleanArrayAllocator.INSTANCE;
+        }
+
+        @Specialization
+        protected static ArrayAllocator generalizeForValue(boolean[] receiver, Object newValue) {
+            return ObjectArrayAllocator.INSTANCE;
+        }
+    }
+
+    @ExportMessage
+    protected static int capacity(boolean[] receiver) {
+        return receiver.length;
+    }
+
+    @ExportMessage
+    protected static boolean[] grow(boolean[] receiver, int newSize) {
+        return Arrays.copyOf(receiver, newSize);
+    }
+
+    @ExportMessage
+    protected static void copyContents(
+            boolean[] receiver,
+            Object destination,
+            int length,
+            @CachedLibrary("receiver") ArrayLibrary self) {
+        self.copyRange(receiver, 0, destination, 0, length);
+    }
+
+    // XXX: Same as copy contents as boolean[] cannot store other arrays
+    @ExportMessage
+    protected static void copyDeepContents(
+            boolean[] receiver,
+            Object destination,
+            int length,
+            @CachedLibrary("receiver") ArrayLibrary self) {
+        self.copyRange(receiver, 0, destination, 0, length);
+    }
+
+    @ExportMessage
+    static class CopyRange {
+        @Specialization
+        protected static void copyRange(boolean[] receiver,
+                                        int srcPos,
+                                        boolean[] destination,
+                                        int destPos,
+                                        int length) {
+            System.arraycopy(receiver, srcPos, destination, destPos, length);
+        }
+
+        @Specialization(limit = ArrayLibrary.SPECIALIZATION_LIMIT)
+        protected static void copyRange(boolean[] receiver,
+                                        int srcPos,
+                                        Object destination,
+                                        int destPos,
+                                        int length,
+                                        @CachedLibrary("destination") ArrayLibrary destinations) {
+            for (int i = 0; i < length; i++) {
+                destinations.write(destination, destPos + i, receiver[srcPos + i]);
+            }
+        }
+    }
+
+    @ExportMessage
+    static class Fill {
+        @Specialization
+        protected static void fill(boolean[] receiver, int fromIndex, int toIndex, boolean value) {
+            Arrays.fill(receiver, fromIndex, toIndex, value);
+        }
+    }
+
+    @ExportMessage
+    static class ContentEquals {
+        @Specialization
+        protected static boolean contentEquals(boolean[] receiver, boolean[] other, int length) {
+            for (int i = 0; i < length; i++) {
+                if (receiver[i] != other[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Specialization(limit = ArrayLibrary.SPECIALIZATION_LIMIT)
+        protected static boolean contentEquals(boolean[] receiver,
+                                               Object other,
+                                               int length,
+                                               @CachedLibrary("other") ArrayLibrary others) {
+            for (int i = 0; i < length; i++) {
+                if (!ObjectArrayLibrary.elementEquals(receiver[i], others, other, i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
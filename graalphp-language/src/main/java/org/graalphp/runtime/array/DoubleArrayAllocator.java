@@ -0,0 +1,23 @@
+package org.graalphp.runtime.array;
+
+/**
+ * Allocation strategy for double[].
+ *
+ * @author abertschi
+ */
+public class DoubleArrayAllocator implements ArrayAllocator {
+
+    public static final DoubleArrayAllocator INSTANCE = new DoubleArrayAllocator();
+
+    private DoubleArrayAllocator() {}
+
+    @Override
+    public Object createArray(int capacity) {
+        return new double[capacity];
+    }
+
+    @Override
+    public boolean acceptsValue(Object value) {
+        return value instanceof Double;
+    }
+}
@@ -0,0 +1,172 @@
+package org.graalphp.runtime.array;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.GenerateUncached;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.library.ExportLibrary;
+import com.oracle.truffle.api.library.ExportMessage;
+
+import java.util.Arrays;
+
+/**
+ * Array backend for double[] based values
+ *
+ * @author abertschi
+ */
+@ExportLibrary(value = ArrayLibrary.class, receiverType = double[].class)
+@GenerateUncached
+public class DoubleArrayLibrary {
+
+    // Semantic messages
+
+    @ExportMessage
+    protected static boolean isArray(double[] store) {
+        return true;
+    }
+
+    @ExportMessage
+    protected static double read(double[] store, int index) {
+        return store[index];
+    }
+
+    @ExportMessage
+    static class Write {
+        @Specialization
+        protected static void write(double[] store, int index, double value) {
+            store[index] = value;
+        }
+    }
+
+    // technical messages
+
+    @ExportMessage
+    protected static boolean acceptsValue(double[] receiver, Object value) {
+        return value instanceof Double;
+    }
+
+    @ExportMessage
+    protected static DoubleArrayAllocator getArrayAllocator(double[] receiver) {
+        return DoubleArrayAllocator.INSTANCE;
+    }
+
+    @ExportMessage
+    protected static NativeDoubleArrayAllocator getOffHeapAllocator(double[] receiver) {
+        return NativeDoubleArrayAllocator.INSTANCE;
+    }
+
+    @ExportMessage
+    @TruffleBoundary
+    protected static String arrayToString(double[] receiver) {
+        return Arrays.toString(receiver);
+    }
+
+    @ExportMessage
+    static class GeneralizeForValue {
+        @Specialization
+        protected static ArrayAllocator generalizeForValue(double[] receiver, double newValue) {
+            return DoubleArrayAllocator.INSTANCE;
+        }
+
+        @Specialization
+        protected static ArrayAllocator generalizeForValue(double[] receiver, Object newValue) {
+            return ObjectArrayAllocator.INSTANCE;
+        }
+    }
+
+    @ExportMessage
+    protected static int capacity(double[] receiver) {
+        return receiver.length;
+    }
+
+    @ExportMessage
+    protected static double[] grow(double[] receiver, int newSize) {
+        return Arrays.copyOf(receiver, newSize);
+    }
+
+    @ExportMessage
+    protected static void copyContents(
+            double[] receiver,
+            Object destination,
+            int length,
+            @CachedLibrary("receiver") ArrayLibrary self) {
+        self.copyRange(receiver, 0, destination, 0, length);
+    }
+
+    // XXX: Same as copy contents as double[] cannot store other arrays
+    @ExportMessage
+    protected static void copyDeepContents(
+            double[] receiver,
+            Object destination,
+            int length,
+            @CachedLibrary("receiver") ArrayLibrary self) {
+        self.copyRange(receiver, 0, destination, 0, length);
+    }
+
+    @ExportMessage
+    static class CopyRange {
+        @Specialization
+        protected static void copyRange(double[] receiver,
+                                        int srcPos,
+                                        double[] destination,
+                                        int destPos,
+                                        int length) {
+            System.arraycopy(receiver, srcPos, destination, destPos, length);
+        }
+
+        @Specialization
+        protected static void copyRange(double[] receiver,
+                                        int srcPos,
+                                        NativeDoubleArray destination,
+                                        int destPos,
+                                        int length) {
+            destination.copyFrom(receiver, srcPos, destPos, length);
+        }
+
+        @Specialization(limit = ArrayLibrary.SPECIALIZATION_LIMIT)
+        protected static void copyRange(double[] receiver,
+                                        int srcPos,
+                                        Object destination,
+                                        int destPos,
+                                        int length,
+                                        @CachedLibrary("destination") ArrayLibrary destinations) {
+            for (int i = 0; i < length; i++) {
+                destinations.write(destination, destPos + i, receiver[srcPos + i]);
+            }
+        }
+    }
+
+    @ExportMessage
+    static class Fill {
+        @Specialization
+        protected static void fill(double[] receiver, int fromIndex, int toIndex, double value) {
+            Arrays.fill(receiver, fromIndex, toIndex, value);
+        }
+    }
+
+    @ExportMessage
+    static class ContentEquals {
+        @Specialization
+        protected static boolean contentEquals(double[] receiver, double[] other, int length) {
+            for (int i = 0; i < length; i++) {
+                if (receiver[i] != other[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Specialization(limit = ArrayLibrary.SPECIALIZATION_LIMIT)
+        protected static boolean contentEquals(double[] receiver,
+                                               Object other,
+                                               int length,
+                                               @CachedLibrary("other") ArrayLibrary others) {
+            for (int i = 0; i < length; i++) {
+                if (!ObjectArrayLibrary.elementEquals(receiver[i], others, other, i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
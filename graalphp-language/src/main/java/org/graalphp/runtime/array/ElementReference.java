@@ -0,0 +1,34 @@
+package org.graalphp.runtime.array;
+
+/**
+ * Binding of a variable to an array element, created by foreach ($A as &$v).
+ * <p>
+ * XXX: We only support references to arrays. The variable keeps its own value, which is
+ * loaded from and stored into the element on every access of the variable,
+ * see {@link org.graalphp.nodes.localvar.ReferenceVarNode}.
+ *
+ * @author abertschi
+ */
+public final class ElementReference {
+
+    private final PhpArray array;
+    private final Object key;
+
+    public ElementReference(PhpArray array, Object key) {
+        this.array = array;
+        this.key = key;
+    }
+
+    public PhpArray getArray() {
+        return array;
+    }
+
+    public Object getKey() {
+        return key;
+    }
+
+    @Override
+    public String toString() {
+        return "ElementReference{key: " + key + "}";
+    }
+}
@@ -0,0 +1,255 @@
+package org.graalphp.runtime.array;
+
+import org.graalphp.types.PhpString;
+
+import java.util.Arrays;
+
+/**
+ * Insertion ordered hash map to back PHP arrays which are not packed,
+ * i.e. arrays with string keys, negative or sparse integer keys.
+ * <p>
+ * Entries are stored in insertion order. Keys are looked up with open addressing
+ * (linear probing). Integer and string keys are kept in separate tables such that
+ * integer keys are stored as primitive long and never boxed.
+ * Memory scales with the number of entries, not with the largest key.
+ * <p>
+ * XXX: Entries cannot be removed yet, we do not support unset of array elements.
+ *
+ * @author abertschi
+ */
+public final class HashArray {
+
+    private static final int MIN_CAPACITY = 8;
+
+    // a table slot stores entry position + 1, 0 marks an empty slot
+    private static final int EMPTY = 0;
+
+    // entries in insertion order
+    private Object[] values;
+    private long[] longKeys;
+
+    // null if entry has a long key, lazily allocated
+    private PhpString[] stringKeys;
+
+    private int size;
+
+    // open addressing tables, length is a power of two and twice the entry capacity
+    private int[] longTable;
+
+    // lazily allocated once the first string key is inserted
+    private int[] stringTable;
+
+    // next integer key used if we append a value
+    private long nextIndex;
+
+    public HashArray(int capacity) {
+        final int cap = Math.max(capacity, MIN_CAPACITY);
+        this.values = new Object[cap];
+        this.longKeys = new long[cap];
+        this.longTable = new int[tableSizeFor(cap)];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return values.length;
+    }
+
+    public long getNextIndex() {
+        return nextIndex;
+    }
+
+    // ---------------- long keys --------------------
+
+    /**
+     * @return value or null if key does not exist
+     */
+    public Object get(long key) {
+        final int pos = findLong(key);
+        return pos < 0 ? null : values[pos];
+    }
+
+    /**
+     * @return true if a new entry was inserted
+     */
+    public boolean put(long key, Object value) {
+        final int pos = findLong(key);
+        if (pos >= 0) {
+            values[pos] = value;
+            return false;
+        }
+        final int newPos = addEntry(value);
+        longKeys[newPos] = key;
+        insertSlot(longTable, hash(key), newPos);
+        if (key >= nextIndex) {
+            nextIndex = key == Long.MAX_VALUE ? key : key + 1;
+        }
+        return true;
+    }
+
+    private int findLong(long key) {
+        final int mask = longTable.length - 1;
+        int slot = hash(key) & mask;
+        while (true) {
+            final int entry = longTable[slot];
+            if (entry == EMPTY) {
+                return -1;
+            }
+            if (longKeys[entry - 1] == key) {
+                return entry - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    // ---------------- string keys --------------------
+
+    /**
+     * String keys must not be integer keys, see {@link ArrayKey}
+     *
+     * @return value or null if key does not exist
+     */
+    public Object get(PhpString key) {
+        final int pos = findString(key);
+        return pos < 0 ? null : values[pos];
+    }
+
+    /**
+     * @return true if a new entry was inserted
+     */
+    public boolean put(PhpString key, Object value) {
+        final int pos = findString(key);
+        if (pos >= 0) {
+            values[pos] = value;
+            return false;
+        }
+        if (stringTable == null) {
+            stringKeys = new PhpString[values.length];
+            stringTable = new int[longTable.length];
+        }
+        final int newPos = addEntry(value);
+        stringKeys[newPos] = key;
+        insertSlot(stringTable, hash(key), newPos);
+        return true;
+    }
+
+    private int findString(PhpString key) {
+        if (stringTable == null) {
+            return -1;
+        }
+        final int mask = stringTable.length - 1;
+        int slot = hash(key) & mask;
+        while (true) {
+            final int entry = stringTable[slot];
+            if (entry == EMPTY) {
+                return -1;
+            }
+            if (key.equals(stringKeys[entry - 1])) {
+                return entry - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    // ---------------- entries in insertion order --------------------
+
+    public boolean isStringKey(int position) {
+        return stringKeys != null && stringKeys[position] != null;
+    }
+
+    public long getLongKey(int position) {
+        return longKeys[position];
+    }
+
+    public PhpString getStringKey(int position) {
+        return stringKeys[position];
+    }
+
+    /**
+     * @return key of entry, either Long or PhpString
+     */
+    public Object getKey(int position) {
+        return isStringKey(position) ? stringKeys[position] : (Object) longKeys[position];
+    }
+
+    public Object getValue(int position) {
+        return values[position];
+    }
+
+    public HashArray copy(int capacity) {
+        final HashArray copy = new HashArray(Math.max(capacity, size));
+        for (int i = 0; i < size; i++) {
+            if (isStringKey(i)) {
+                copy.put(stringKeys[i], values[i]);
+            } else {
+                copy.put(longKeys[i], values[i]);
+            }
+        }
+        return copy;
+    }
+
+    // ---------------- internals --------------------
+
+    private int addEntry(Object value) {
+        if (size == values.length) {
+            resize(values.length * 2);
+        }
+        final int pos = size++;
+        values[pos] = value;
+        return pos;
+    }
+
+    private void resize(int newCapacity) {
+        values = Arrays.copyOf(values, newCapacity);
+        longKeys = Arrays.copyOf(longKeys, newCapacity);
+        longTable = new int[tableSizeFor(newCapacity)];
+        if (stringTable != null) {
+            stringKeys = Arrays.copyOf(stringKeys, newCapacity);
+            stringTable = new int[longTable.length];
+        }
+        for (int i = 0; i < size; i++) {
+            if (isStringKey(i)) {
+                insertSlot(stringTable, hash(stringKeys[i]), i);
+            } else {
+                insertSlot(longTable, hash(longKeys[i]), i);
+            }
+        }
+    }
+
+    private static void insertSlot(int[] table, int hash, int position) {
+        final int mask = table.length - 1;
+        int slot = hash & mask;
+        while (table[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = position + 1;
+    }
+
+    private static int tableSizeFor(int capacity) {
+        return Integer.highestOneBit(capacity * 2 - 1) << 1;
+    }
+
+    private static int hash(long key) {
+        final long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static int hash(PhpString key) {
+        final int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder buf = new StringBuilder("{");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                buf.append(", ");
+            }
+            buf.append(getKey(i)).append("=>").append(values[i]);
+        }
+        return buf.append("}").toString();
+    }
+}
@@ -0,0 +1,24 @@
+package org.graalphp.runtime.array;
+
+/**
+ * Allocation strategy for hash arrays.
+ *
+ * @author abertschi
+ */
+public class HashArrayAllocator implements ArrayAllocator {
+
+    public static final HashArrayAllocator INSTANCE = new HashArrayAllocator();
+
+    private HashArrayAllocator() {
+    }
+
+    @Override
+    public Object createArray(int capacity) {
+        return new HashArray(capacity);
+    }
+
+    @Override
+    public boolean acceptsValue(Object value) {
+        return true;
+    }
+}
@@ -0,0 +1,188 @@
+package org.graalphp.runtime.array;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.GenerateUncached;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.library.ExportLibrary;
+import com.oracle.truffle.api.library.ExportMessage;
+import org.graalphp.runtime.PhpEquality;
+import org.graalphp.types.PhpNull;
+import org.graalphp.types.PhpString;
+
+/**
+ * Array backend for map like arrays with long and string keys
+ *
+ * @author abertschi
+ * @see HashArray
+ */
+@ExportLibrary(value = ArrayLibrary.class, receiverType = HashArray.class)
+@GenerateUncached
+public class HashArrayLibrary {
+
+    // Semantic messages
+
+    @ExportMessage
+    protected static boolean isArray(HashArray receiver) {
+        return true;
+    }
+
+    @ExportMessage
+    protected static boolean isHashArray(HashArray receiver) {
+        return true;
+    }
+
+    @ExportMessage
+    protected static Object read(HashArray receiver, int index) {
+        return nullToPhpNull(receiver.get(index));
+    }
+
+    @ExportMessage
+    protected static void write(HashArray receiver, int index, Object value) {
+        receiver.put(index, value);
+    }
+
+    @ExportMessage
+    static class ReadKey {
+        @Specialization
+        protected static Object readKey(HashArray receiver, long key) {
+            return receiver.get(key);
+        }
+
+        @Specialization
+        protected static Object readKey(HashArray receiver, PhpString key) {
+            return receiver.get(key);
+        }
+    }
+
+    @ExportMessage
+    static class WriteKey {
+        @Specialization
+        protected static boolean writeKey(HashArray receiver, long key, Object value) {
+            return receiver.put(key, value);
+        }
+
+        @Specialization
+        protected static boolean writeKey(HashArray receiver, PhpString key, Object value) {
+            return receiver.put(key, value);
+        }
+    }
+
+    @ExportMessage
+    protected static long nextKey(HashArray receiver) {
+        return receiver.getNextIndex();
+    }
+
+    @ExportMessage
+    protected static Object iterationKey(HashArray receiver, int position) {
+        return receiver.getKey(position);
+    }
+
+    @ExportMessage
+    protected static Object iterationValue(HashArray receiver, int position) {
+        return receiver.getValue(position);
+    }
+
+    // technical messages
+
+    @ExportMessage
+    protected static boolean acceptsValue(HashArray receiver, Object value) {
+        return true;
+    }
+
+    @ExportMessage
+    protected static HashArrayAllocator getArrayAllocator(HashArray receiver) {
+        return HashArrayAllocator.INSTANCE;
+    }
+
+    @ExportMessage
+    protected static ArrayAllocator generalizeForValue(HashArray receiver, Object newValue) {
+        return HashArrayAllocator.INSTANCE;
+    }
+
+    @ExportMessage
+    @TruffleBoundary
+    protected static String arrayToString(HashArray receiver) {
+        return receiver.toString();
+    }
+
+    @ExportMessage
+    protected static int capacity(HashArray receiver) {
+        return receiver.capacity();
+    }
+
+    @ExportMessage
+    protected static HashArray grow(HashArray receiver, int newSize) {
+        return receiver.copy(newSize);
+    }
+
+    /*
+     * XXX: length is ignored, a hash array is not packed and we copy all entries
+     */
+    @ExportMessage
+    static class CopyContents {
+        @Specialization(limit = ArrayLibrary.SPECIALIZATION_LIMIT)
+        protected static void copyContents(HashArray receiver,
+                                           Object destination,
+                                           int length,
+                                           @CachedLibrary("destination") ArrayLibrary destinations) {
+            for (int i = 0; i < receiver.size(); i++) {
+                destinations.writeKey(destination, receiver.getKey(i), receiver.getValue(i));
+            }
+        }
+    }
+
+    @ExportMessage
+    static class CopyDeepContents {
+        @Specialization(limit = ArrayLibrary.SPECIALIZATION_LIMIT)
+        protected static void copyDeepContents(
+                HashArray receiver,
+                Object destination,
+                int length,
+                @CachedLibrary("destination") ArrayLibrary destinations) {
+
+            for (int i = 0; i < receiver.size(); i++) {
+                destinations.writeKey(destination, receiver.getKey(i),
+                        ObjectArrayLibrary.copyNested(receiver.getValue(i)));
+            }
+        }
+    }
+
+    /*
+     * Compares key/value pairs regardless of insertion order.
+     * A key missing in other is unequal, even if the value is null
+     */
+    @ExportMessage
+    static class ContentEquals {
+        @Specialization(limit = ArrayLibrary.SPECIALIZATION_LIMIT)
+        protected static boolean contentEquals(HashArray receiver,
+                                               Object other,
+                                               int length,
+                                               @CachedLibrary("other") ArrayLibrary others) {
+            final boolean otherIsHash = others.isHashArray(other);
+            for (int i = 0; i < receiver.size(); i++) {
+                final Object otherValue;
+                if (otherIsHash) {
+                    otherValue = others.readKey(other, receiver.getKey(i));
+                    if (otherValue == null) {
+                        return false;
+                    }
+                } else if (receiver.isStringKey(i)
+                        || receiver.getLongKey(i) < 0
+                        || receiver.getLongKey(i) >= length) {
+                    return false;
+                } else {
+                    otherValue = others.read(other, (int) receiver.getLongKey(i));
+                }
+                if (!PhpEquality.looseEquals(receiver.getValue(i), otherValue)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static Object nullToPhpNull(Object value) {
+        return value == null ? PhpNull.SINGLETON : value;
+    }
+}
@@ -50,6 +50,11 @@ public class LongArrayLibrary {
         return LongArrayAllocator.INSTANCE;
     }
 
+    @ExportMessage
+    protected static NativeLongArrayAllocator getOffHeapAllocator(long[] receiver) {
+        return NativeLongArrayAllocator.INSTANCE;
+    }
+
     @ExportMessage
     @TruffleBoundary
     protected static String arrayToString(long[] receiver) {
@@ -63,6 +68,10 @@ public class LongArrayLibrary {
             return LongArrayAllocator.INSTANCE;
         }
 
+        /*
+         * XXX: We keep long semantics of existing values and fall back to Object[].
+         * An empty array is generalized by the array nodes, see ArrayFactory.generalizeForValue
+         */
         @Specialization
         protected static ArrayAllocator generalizeForValue(long[] receiver, Object newValue) {
             return ObjectArrayAllocator.INSTANCE;
@@ -80,29 +89,88 @@ public class LongArrayLibrary {
     }
 
     @ExportMessage
-    static class CopyContents {
+    protected static void copyContents(
+            long[] receiver,
+            Object destination,
+            int length,
+            @CachedLibrary("receiver") ArrayLibrary self) {
+        self.copyRange(receiver, 0, destination, 0, length);
+    }
+
+    // XXX: Same as copy contents as long[] cannot store other arrays
+    @ExportMessage
+    protected static void copyDeepContents(
+            long[] receiver,
+            Object destination,
+            int length,
+            @CachedLibrary("receiver") ArrayLibrary self) {
+        self.copyRange(receiver, 0, destination, 0, length);
+    }
+
+    @ExportMessage
+    static class CopyRange {
+        @Specialization
+        protected static void copyRange(long[] receiver,
+                                        int srcPos,
+                                        long[] destination,
+                                        int destPos,
+                                        int length) {
+            System.arraycopy(receiver, srcPos, destination, destPos, length);
+        }
+
+        @Specialization
+        protected static void copyRange(long[] receiver,
+                                        int srcPos,
+                                        NativeLongArray destination,
+                                        int destPos,
+                                        int length) {
+            destination.copyFrom(receiver, srcPos, destPos, length);
+        }
+
         @Specialization(limit = ArrayLibrary.SPECIALIZATION_LIMIT)
-        protected static void copyContents(long[] receiver,
-                                           Object destination,
-                                           int length,
-                                           @CachedLibrary("destination") ArrayLibrary destinationLibrary) {
+        protected static void copyRange(long[] receiver,
+                                        int srcPos,
+                                        Object destination,
+                                        int destPos,
+                                        int length,
+                                        @CachedLibrary("destination") ArrayLibrary destinations) {
             for (int i = 0; i < length; i++) {
-                destinationLibrary.write(destination, i, receiver[i]);
+                destinations.write(destination, destPos + i, receiver[srcPos + i]);
             }
         }
     }
 
     @ExportMessage
-    static class CopyDeepContents {
-        // XXX: Same as copy contents as long[] cannot store other arrays
+    static class Fill {
+        @Specialization
+        protected static void fill(long[] receiver, int fromIndex, int toIndex, long value) {
+            Arrays.fill(receiver, fromIndex, toIndex, value);
+        }
+    }
+
+    @ExportMessage
+    static class ContentEquals {
+        @Specialization
+        protected static boolean contentEquals(long[] receiver, long[] other, int length) {
+            for (int i = 0; i < length; i++) {
+                if (receiver[i] != other[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
         @Specialization(limit = ArrayLibrary.SPECIALIZATION_LIMIT)
-        protected static void copyDeepContents(long[] receiver,
-                                               Object destination,
+        protected static boolean contentEquals(long[] receiver,
+                                               Object other,
                                                int length,
-                                               @CachedLibrary("destination") ArrayLibrary destinationLibrary) {
+                                               @CachedLibrary("other") ArrayLibrary others) {
             for (int i = 0; i < length; i++) {
-                destinationLibrary.write(destination, i, receiver[i]);
+                if (!ObjectArrayLibrary.elementEquals(receiver[i], others, other, i)) {
+                    return false;
+                }
             }
+            return true;
         }
     }
 }
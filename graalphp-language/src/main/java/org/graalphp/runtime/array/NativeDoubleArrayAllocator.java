@@ -0,0 +1,24 @@
+package org.graalphp.runtime.array;
+
+/**
+ * Allocation strategy for off-heap double arrays.
+ *
+ * @author abertschi
+ */
+public class NativeDoubleArrayAllocator implements ArrayAllocator {
+
+    public static final NativeDoubleArrayAllocator INSTANCE = new NativeDoubleArrayAllocator();
+
+    private NativeDoubleArrayAllocator() {
+    }
+
+    @Override
+    public Object createArray(int capacity) {
+        return new NativeDoubleArray(capacity);
+    }
+
+    @Override
+    public boolean acceptsValue(Object value) {
+        return value instanceof Double;
+    }
+}
@@ -0,0 +1,171 @@
+package org.graalphp.runtime.array;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.GenerateUncached;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.library.ExportLibrary;
+import com.oracle.truffle.api.library.ExportMessage;
+
+/**
+ * Array backend for off-heap double values
+ *
+ * @author abertschi
+ * @see NativeDoubleArray
+ */
+@ExportLibrary(value = ArrayLibrary.class, receiverType = NativeDoubleArray.class)
+@GenerateUncached
+public class NativeDoubleArrayLibrary {
+
+    // Semantic messages
+
+    @ExportMessage
+    protected static boolean isArray(NativeDoubleArray store) {
+        return true;
+    }
+
+    @ExportMessage
+    protected static double read(NativeDoubleArray store, int index) {
+        return store.get(index);
+    }
+
+    @ExportMessage
+    static class Write {
+        @Specialization
+        protected static void write(NativeDoubleArray store, int index, double value) {
+            store.set(index, value);
+        }
+    }
+
+    // technical messages
+
+    @ExportMessage
+    protected static boolean acceptsValue(NativeDoubleArray receiver, Object value) {
+        return value instanceof Double;
+    }
+
+    @ExportMessage
+    protected static NativeDoubleArrayAllocator getArrayAllocator(NativeDoubleArray receiver) {
+        return NativeDoubleArrayAllocator.INSTANCE;
+    }
+
+    @ExportMessage
+    protected static NativeDoubleArrayAllocator getOffHeapAllocator(NativeDoubleArray receiver) {
+        return NativeDoubleArrayAllocator.INSTANCE;
+    }
+
+    @ExportMessage
+    @TruffleBoundary
+    protected static String arrayToString(NativeDoubleArray receiver) {
+        final StringBuilder buf = new StringBuilder("[");
+        for (int i = 0; i < receiver.capacity(); i++) {
+            if (i > 0) {
+                buf.append(", ");
+            }
+            buf.append(receiver.get(i));
+        }
+        return buf.append("]").toString();
+    }
+
+    @ExportMessage
+    static class GeneralizeForValue {
+        @Specialization
+        protected static ArrayAllocator generalizeForValue(NativeDoubleArray receiver, double newValue) {
+            return NativeDoubleArrayAllocator.INSTANCE;
+        }
+
+        // XXX: Generalized arrays move back on the heap
+        @Specialization
+        protected static ArrayAllocator generalizeForValue(NativeDoubleArray receiver, Object newValue) {
+            return ObjectArrayAllocator.INSTANCE;
+        }
+    }
+
+    @ExportMessage
+    protected static int capacity(NativeDoubleArray receiver) {
+        return receiver.capacity();
+    }
+
+    @ExportMessage
+    protected static NativeDoubleArray grow(NativeDoubleArray receiver, int newSize) {
+        final NativeDoubleArray newArray = new NativeDoubleArray(newSize);
+        receiver.copyTo(0, newArray, 0, Math.min(receiver.capacity(), newSize));
+        return newArray;
+    }
+
+    @ExportMessage
+    protected static void copyContents(
+            NativeDoubleArray receiver,
+            Object destination,
+            int length,
+            @CachedLibrary("receiver") ArrayLibrary self) {
+        self.copyRange(receiver, 0, destination, 0, length);
+    }
+
+    // XXX: Same as copy contents as double values cannot be other arrays
+    @ExportMessage
+    protected static void copyDeepContents(
+            NativeDoubleArray receiver,
+            Object destination,
+            int length,
+            @CachedLibrary("receiver") ArrayLibrary self) {
+        self.copyRange(receiver, 0, destination, 0, length);
+    }
+
+    @ExportMessage
+    static class CopyRange {
+        @Specialization
+        protected static void copyRange(NativeDoubleArray receiver,
+                                        int srcPos,
+                                        NativeDoubleArray destination,
+                                        int destPos,
+                                        int length) {
+            receiver.copyTo(srcPos, destination, destPos, length);
+        }
+
+        @Specialization
+        protected static void copyRange(NativeDoubleArray receiver,
+                                        int srcPos,
+                                        double[] destination,
+                                        int destPos,
+                                        int length) {
+            receiver.copyTo(srcPos, destination, destPos, length);
+        }
+
+        @Specialization(limit = ArrayLibrary.SPECIALIZATION_LIMIT)
+        protected static void copyRange(NativeDoubleArray receiver,
+                                        int srcPos,
+                                        Object destination,
+                                        int destPos,
+                                        int length,
+                                        @CachedLibrary("destination") ArrayLibrary destinations) {
+            for (int i = 0; i < length; i++) {
+                destinations.write(destination, destPos + i, receiver.get(srcPos + i));
+            }
+        }
+    }
+
+    @ExportMessage
+    static class Fill {
+        @Specialization
+        protected static void fill(NativeDoubleArray receiver, int fromIndex, int toIndex, double value) {
+            receiver.fill(fromIndex, toIndex, value);
+        }
+    }
+
+    @ExportMessage
+    static class ContentEquals {
+        @Specialization(limit = ArrayLibrary.SPECIALIZATION_LIMIT)
+        protected static boolean contentEquals(NativeDoubleArray receiver,
+                                               Object other,
+                                               int length,
+                                               @CachedLibrary("other") ArrayLibrary others) {
+            for (int i = 0; i < length; i++) {
+                if (!ObjectArrayLibrary.elementEquals(receiver.get(i), others, other, i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
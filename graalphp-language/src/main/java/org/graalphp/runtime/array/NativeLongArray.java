@@ -0,0 +1,110 @@
+package org.graalphp.runtime.array;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+import java.nio.Buffer;
+import java.nio.LongBuffer;
+
+/**
+ * Fixed size array of long values stored off-heap.
+ * <p>
+ * Memory is freed with the buffer once this array is unreachable, see {@link NativeMemory}.
+ * The buffer is cast to its exact class such that reads and writes compile to plain
+ * memory accesses after a bounds check.
+ *
+ * @author abertschi
+ */
+public final class NativeLongArray {
+
+    private static final int ELEMENT_SIZE = 8;
+
+    private static final Class<? extends LongBuffer> BUFFER_CLASS =
+            NativeMemory.allocate(0, ELEMENT_SIZE).asLongBuffer().getClass();
+
+    private final LongBuffer buffer;
+    private final int capacity;
+
+    public NativeLongArray(int capacity) {
+        this.capacity = capacity;
+        this.buffer = NativeMemory.allocate(capacity, ELEMENT_SIZE).asLongBuffer();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public long get(int index) {
+        checkIndex(index);
+        return buffer().get(index);
+    }
+
+    public void set(int index, long value) {
+        checkIndex(index);
+        buffer().put(index, value);
+    }
+
+    public void fill(int fromIndex, int toIndex, long value) {
+        checkRange(fromIndex, toIndex - fromIndex);
+        final LongBuffer buf = buffer();
+        for (int i = fromIndex; i < toIndex; i++) {
+            buf.put(i, value);
+        }
+    }
+
+    @TruffleBoundary
+    public void copyTo(int srcPos, NativeLongArray destination, int destPos, int length) {
+        checkRange(srcPos, length);
+        destination.checkRange(destPos, length);
+        destination.slice(destPos).put(slice(srcPos, length));
+    }
+
+    @TruffleBoundary
+    public void copyTo(int srcPos, long[] destination, int destPos, int length) {
+        checkRange(srcPos, length);
+        checkRange(destination.length, destPos, length);
+        slice(srcPos, length).get(destination, destPos, length);
+    }
+
+    @TruffleBoundary
+    public void copyFrom(long[] source, int srcPos, int destPos, int length) {
+        checkRange(source.length, srcPos, length);
+        checkRange(destPos, length);
+        slice(destPos).put(source, srcPos, length);
+    }
+
+    private LongBuffer buffer() {
+        return CompilerDirectives.castExact(buffer, BUFFER_CLASS);
+    }
+
+    // view of the buffer starting at position, Buffer methods return LongBuffer only since Java 9
+    private LongBuffer slice(int position) {
+        final LongBuffer view = buffer.duplicate();
+        ((Buffer) view).position(position);
+        return view;
+    }
+
+    private LongBuffer slice(int position, int length) {
+        final LongBuffer view = slice(position);
+        ((Buffer) view).limit(position + length);
+        return view;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= capacity) {
+            CompilerDirectives.transferToInterpreter();
+            throw new ArrayIndexOutOfBoundsException(index);
+        }
+    }
+
+    private void checkRange(int from, int length) {
+        checkRange(capacity, from, length);
+    }
+
+    private static void checkRange(int capacity, int from, int length) {
+        if (from < 0 || length < 0 || from > capacity - length) {
+            CompilerDirectives.transferToInterpreter();
+            throw new ArrayIndexOutOfBoundsException(from + length);
+        }
+    }
+}
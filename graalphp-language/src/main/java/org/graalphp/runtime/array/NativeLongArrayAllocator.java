@@ -0,0 +1,24 @@
+package org.graalphp.runtime.array;
+
+/**
+ * Allocation strategy for off-heap long arrays.
+ *
+ * @author abertschi
+ */
+public class NativeLongArrayAllocator implements ArrayAllocator {
+
+    public static final NativeLongArrayAllocator INSTANCE = new NativeLongArrayAllocator();
+
+    private NativeLongArrayAllocator() {
+    }
+
+    @Override
+    public Object createArray(int capacity) {
+        return new NativeLongArray(capacity);
+    }
+
+    @Override
+    public boolean acceptsValue(Object value) {
+        return value instanceof Long;
+    }
+}
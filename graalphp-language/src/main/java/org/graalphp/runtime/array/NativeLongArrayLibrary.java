@@ -0,0 +1,171 @@
+package org.graalphp.runtime.array;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.GenerateUncached;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.library.ExportLibrary;
+import com.oracle.truffle.api.library.ExportMessage;
+
+/**
+ * Array backend for off-heap long values
+ *
+ * @author abertschi
+ * @see NativeLongArray
+ */
+@ExportLibrary(value = ArrayLibrary.class, receiverType = NativeLongArray.class)
+@GenerateUncached
+public class NativeLongArrayLibrary {
+
+    // Semantic messages
+
+    @ExportMessage
+    protected static boolean isArray(NativeLongArray store) {
+        return true;
+    }
+
+    @ExportMessage
+    protected static long read(NativeLongArray store, int index) {
+        return store.get(index);
+    }
+
+    @ExportMessage
+    static class Write {
+        @Specialization
+        protected static void write(NativeLongArray store, int index, long value) {
+            store.set(index, value);
+        }
+    }
+
+    // technical messages
+
+    @ExportMessage
+    protected static boolean acceptsValue(NativeLongArray receiver, Object value) {
+        return value instanceof Long;
+    }
+
+    @ExportMessage
+    protected static NativeLongArrayAllocator getArrayAllocator(NativeLongArray receiver) {
+        return NativeLongArrayAllocator.INSTANCE;
+    }
+
+    @ExportMessage
+    protected static NativeLongArrayAllocator getOffHeapAllocator(NativeLongArray receiver) {
+        return NativeLongArrayAllocator.INSTANCE;
+    }
+
+    @ExportMessage
+    @TruffleBoundary
+    protected static String arrayToString(NativeLongArray receiver) {
+        final StringBuilder buf = new StringBuilder("[");
+        for (int i = 0; i < receiver.capacity(); i++) {
+            if (i > 0) {
+                buf.append(", ");
+            }
+            buf.append(receiver.get(i));
+        }
+        return buf.append("]").toString();
+    }
+
+    @ExportMessage
+    static class GeneralizeForValue {
+        @Specialization
+        protected static ArrayAllocator generalizeForValue(NativeLongArray receiver, long newValue) {
+            return NativeLongArrayAllocator.INSTANCE;
+        }
+
+        // XXX: Generalized arrays move back on the heap
+        @Specialization
+        protected static ArrayAllocator generalizeForValue(NativeLongArray receiver, Object newValue) {
+            return ObjectArrayAllocator.INSTANCE;
+        }
+    }
+
+    @ExportMessage
+    protected static int capacity(NativeLongArray receiver) {
+        return receiver.capacity();
+    }
+
+    @ExportMessage
+    protected static NativeLongArray grow(NativeLongArray receiver, int newSize) {
+        final NativeLongArray newArray = new NativeLongArray(newSize);
+        receiver.copyTo(0, newArray, 0, Math.min(receiver.capacity(), newSize));
+        return newArray;
+    }
+
+    @ExportMessage
+    protected static void copyContents(
+            NativeLongArray receiver,
+            Object destination,
+            int length,
+            @CachedLibrary("receiver") ArrayLibrary self) {
+        self.copyRange(receiver, 0, destination, 0, length);
+    }
+
+    // XXX: Same as copy contents as long values cannot be other arrays
+    @ExportMessage
+    protected static void copyDeepContents(
+            NativeLongArray receiver,
+            Object destination,
+            int length,
+            @CachedLibrary("receiver") ArrayLibrary self) {
+        self.copyRange(receiver, 0, destination, 0, length);
+    }
+
+    @ExportMessage
+    static class CopyRange {
+        @Specialization
+        protected static void copyRange(NativeLongArray receiver,
+                                        int srcPos,
+                                        NativeLongArray destination,
+                                        int destPos,
+                                        int length) {
+            receiver.copyTo(srcPos, destination, destPos, length);
+        }
+
+        @Specialization
+        protected static void copyRange(NativeLongArray receiver,
+                                        int srcPos,
+                                        long[] destination,
+                                        int destPos,
+                                        int length) {
+            receiver.copyTo(srcPos, destination, destPos, length);
+        }
+
+        @Specialization(limit = ArrayLibrary.SPECIALIZATION_LIMIT)
+        protected static void copyRange(NativeLongArray receiver,
+                                        int srcPos,
+                                        Object destination,
+                                        int destPos,
+                                        int length,
+                                        @CachedLibrary("destination") ArrayLibrary destinations) {
+            for (int i = 0; i < length; i++) {
+                destinations.write(destination, destPos + i, receiver.get(srcPos + i));
+            }
+        }
+    }
+
+    @ExportMessage
+    static class Fill {
+        @Specialization
+        protected static void fill(NativeLongArray receiver, int fromIndex, int toIndex, long value) {
+            receiver.fill(fromIndex, toIndex, value);
+        }
+    }
+
+    @ExportMessage
+    static class ContentEquals {
+        @Specialization(limit = ArrayLibrary.SPECIALIZATION_LIMIT)
+        protected static boolean contentEquals(NativeLongArray receiver,
+                                               Object other,
+                                               int length,
+                                               @CachedLibrary("other") ArrayLibrary others) {
+            for (int i = 0; i < length; i++) {
+                if (!ObjectArrayLibrary.elementEquals(receiver.get(i), others, other, i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package org.graalphp.runtime.array;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Off-heap memory for native array backends.
+ * <p>
+ * Memory is a direct buffer in native byte order. The JDK frees it together with the buffer
+ * once the buffer is unreachable, i.e. once no PhpArray references the backend anymore.
+ * A buffer is never freed while it is accessed, unlike memory allocated with Unsafe and freed
+ * by our own cleaner.
+ * <p>
+ * XXX: A direct buffer holds at most 2 GB and counts against -XX:MaxDirectMemorySize.
+ *
+ * @author abertschi
+ */
+final class NativeMemory {
+
+    private NativeMemory() {
+    }
+
+    /**
+     * Allocate zeroed memory of elements * elementSize bytes
+     */
+    static ByteBuffer allocate(int elements, int elementSize) {
+        final long bytes = (long) elements * elementSize;
+        if (elements < 0 || bytes > Integer.MAX_VALUE) {
+            throw new OutOfMemoryError("Off-heap array too large: " + elements + " elements");
+        }
+        return ByteBuffer.allocateDirect((int) bytes).order(ByteOrder.nativeOrder());
+    }
+}
@@ -6,6 +6,7 @@ import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.library.CachedLibrary;
 import com.oracle.truffle.api.library.ExportLibrary;
 import com.oracle.truffle.api.library.ExportMessage;
+import org.graalphp.runtime.PhpEquality;
 
 import java.util.Arrays;
 
@@ -68,69 +69,102 @@ public class ObjectArrayLibrary {
     }
 
     @ExportMessage
-    static class CopyContents {
-        @Specialization(limit = ArrayLibrary.SPECIALIZATION_LIMIT)
-        protected static void copyContentsObject(
-                Object[] receiver,
-                Object destination,
-                int length,
-                @CachedLibrary("destination") ArrayLibrary destinationLibrary) {
+    protected static void copyContents(
+            Object[] receiver,
+            Object destination,
+            int length,
+            @CachedLibrary("receiver") ArrayLibrary self) {
+        self.copyRange(receiver, 0, destination, 0, length);
+    }
+
+    @ExportMessage
+    static class CopyRange {
+        @Specialization
+        protected static void copyRange(Object[] receiver,
+                                        int srcPos,
+                                        Object[] destination,
+                                        int destPos,
+                                        int length) {
+            System.arraycopy(receiver, srcPos, destination, destPos, length);
+        }
 
+        @Specialization(limit = ArrayLibrary.SPECIALIZATION_LIMIT)
+        protected static void copyRange(Object[] receiver,
+                                        int srcPos,
+                                        Object destination,
+                                        int destPos,
+                                        int length,
+                                        @CachedLibrary("destination") ArrayLibrary destinations) {
             for (int i = 0; i < length; i++) {
-                destinationLibrary.write(destination, i, receiver[i]);
+                destinations.write(destination, destPos + i, receiver[srcPos + i]);
             }
         }
     }
 
     @ExportMessage
-    static class CopyDeepContents {
+    protected static void fill(Object[] receiver, int fromIndex, int toIndex, Object value) {
+        Arrays.fill(receiver, fromIndex, toIndex, value);
+    }
+
+    @ExportMessage
+    static class ContentEquals {
+        @Specialization(limit = ArrayLibrary.SPECIALIZATION_LIMIT)
+        protected static boolean contentEquals(Object[] receiver,
+                                               Object other,
+                                               int length,
+                                               @CachedLibrary("other") ArrayLibrary others) {
+            for (int i = 0; i < length; i++) {
+                if (!elementEquals(receiver[i], others, other, i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
 
-        // XXX: We need to introduce a truffle boundary
-        // otherwise we run into PermanentBailoutException if we try to copy
-        // deeply nested arrays
-        @TruffleBoundary(allowInlining = true)
-        protected static void copyNested(
-                PhpArray sourceArray,
-                PhpArray targetArray,
-                ArrayLibrary destinationLibrary) {
-
-            destinationLibrary.copyDeepContents(
-                    sourceArray.getBackend(),
-                    targetArray.getBackend(),
-                    sourceArray.getCapacity());
+    /**
+     * PHP == of a packed element and the element of other at the same index.
+     * A key missing in a hash array is unequal, even if the value is null.
+     */
+    static boolean elementEquals(Object value, ArrayLibrary others, Object other, int index) {
+        final Object otherValue;
+        if (others.isHashArray(other)) {
+            otherValue = others.readKey(other, (long) index);
+            if (otherValue == null) {
+                return false;
+            }
+        } else {
+            otherValue = others.read(other, index);
         }
+        return PhpEquality.looseEquals(value, otherValue);
+    }
 
+    /*
+     * Nested arrays are copied lazily. Their copy shares the backend until either of
+     * them is written to. A copy thus neither recurses nor leaves compiled code.
+     */
+    @ExportMessage
+    static class CopyDeepContents {
         @Specialization(limit = ArrayLibrary.SPECIALIZATION_LIMIT)
         protected static void copyDeepContents(
                 Object[] receiver,
                 Object destination,
                 int length,
-                @CachedLibrary("destination") ArrayLibrary destinations,
-                @CachedLibrary(limit = ArrayLibrary.SPECIALIZATION_LIMIT) ArrayLibrary helpers) {
+                @CachedLibrary("destination") ArrayLibrary destinations) {
 
             for (int i = 0; i < length; i++) {
-                /*
-                 * We need to deep copy nested arrays
-                 * create a new backend and call copyDeepContents on nested array
-                 * For a nested array an element stores a PhpArray itself
-                 */
-                if (receiver[i] instanceof PhpArray) {
-                    final PhpArray array = (PhpArray) receiver[i];
-                    final Object backendCopy =
-                            helpers.getArrayAllocator(array.getBackend())
-                                    .createArray(array.getCapacity());
-
-                    final PhpArray arrayCopy = ArrayFactory
-                            .newArray(backendCopy, array.getCapacity());
-
-                    // XXX: Copy nested arrays
-                    copyNested(array, arrayCopy, helpers);
-
-                    destinations.write(destination, i, arrayCopy);
-                } else {
-                    destinations.write(destination, i, receiver[i]);
-                }
+                destinations.write(destination, i, copyNested(receiver[i]));
             }
         }
     }
+
+    /**
+     * Copy-on-write copy of a nested array, other values are returned as is
+     */
+    static Object copyNested(Object value) {
+        if (value instanceof PhpArray) {
+            return ArrayFactory.newCopyOnWriteArray((PhpArray) value);
+        }
+        return value;
+    }
 }
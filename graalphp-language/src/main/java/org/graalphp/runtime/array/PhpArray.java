@@ -10,6 +10,31 @@ public final class PhpArray implements TruffleObject {
 
     private int capacity;
 
+    /**
+     * Number of elements. Packed backends are dense and store their elements
+     * at index 0 to size - 1, capacity is the length of the backend.
+     */
+    private int size;
+
+    /**
+     * Arrays are passed by value. Instead of copying the backend on every assignment,
+     * the backend is shared between copies and flagged as shared.
+     * A shared backend must be copied before it is written to (copy-on-write).
+     */
+    private boolean shared;
+
+    /**
+     * Number of by value foreach loops which iterate over the current backend.
+     * Like a shared backend, an iterated backend must not be written to in place.
+     */
+    private int iterations;
+
+    /**
+     * Site this array was allocated at, null if unknown.
+     * Backend changes are reported to the site.
+     */
+    private ArrayAllocationSite allocationSite;
+
     public PhpArray(Object backend, int capacity) {
         this.backend = backend;
         this.capacity = capacity;
@@ -34,12 +59,68 @@ public final class PhpArray implements TruffleObject {
         this.capacity = capacity;
     }
 
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    /**
+     * @return true if backend must be copied before it is written to
+     */
+    public boolean isShared() {
+        return shared || iterations != 0;
+    }
+
+    public void setShared(boolean shared) {
+        this.shared = shared;
+    }
+
+    /**
+     * Backend was copied and is referenced by no other array or loop anymore.
+     * Loops keep on iterating over the previous backend.
+     */
+    public void setSeparated() {
+        this.shared = false;
+        this.iterations = 0;
+    }
+
+    /**
+     * A by value foreach loop starts iterating over the current backend
+     */
+    public void enterIteration() {
+        iterations++;
+    }
+
+    /**
+     * A by value foreach loop which iterated over backend completed
+     */
+    public void exitIteration(Object iteratedBackend) {
+        // iterations of a previous backend were reset when the array was separated
+        if (backend == iteratedBackend && iterations != 0) {
+            iterations--;
+        }
+    }
+
+    public ArrayAllocationSite getAllocationSite() {
+        return allocationSite;
+    }
+
+    public void setAllocationSite(ArrayAllocationSite allocationSite) {
+        this.allocationSite = allocationSite;
+    }
+
     @Override
     public String toString() {
         ArrayLibrary arrays = ArrayLibrary.getUncached();
         return "PhpArray{" +
                 "backend=" + arrays.arrayToString(backend) +
                 ", capacity=" + capacity +
+                ", size=" + size +
+                ", shared=" + shared +
+                ", iterations=" + iterations +
                 '}';
     }
 }
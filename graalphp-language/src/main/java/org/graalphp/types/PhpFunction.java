@@ -3,9 +3,11 @@ package org.graalphp.types;
 import com.oracle.truffle.api.Assumption;
 import com.oracle.truffle.api.RootCallTarget;
 import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.dsl.NodeFactory;
 import com.oracle.truffle.api.interop.TruffleObject;
 import com.oracle.truffle.api.utilities.CyclicAssumption;
 import org.graalphp.PhpLanguage;
+import org.graalphp.builtins.PhpBuiltinNode;
 import org.graalphp.nodes.function.UndefFunctionRootNode;
 import org.graalphp.parser.ParseScope;
 
@@ -38,6 +40,11 @@ public final class PhpFunction implements TruffleObject {
      */
     private boolean returnReference = false;
 
+    /**
+     * Factory of the builtin node if this function is a builtin, null otherwise
+     */
+    private NodeFactory<? extends PhpBuiltinNode> builtinFactory;
+
     /** utility to assume that the implementation (rootcalltarget) does not change **/
     private final CyclicAssumption callTargetStable;
 
@@ -79,6 +86,18 @@ public final class PhpFunction implements TruffleObject {
         callTargetStable.invalidate();
     }
 
+    public boolean isBuiltin() {
+        return builtinFactory != null;
+    }
+
+    public NodeFactory<? extends PhpBuiltinNode> getBuiltinFactory() {
+        return builtinFactory;
+    }
+
+    public void setBuiltinFactory(NodeFactory<? extends PhpBuiltinNode> builtinFactory) {
+        this.builtinFactory = builtinFactory;
+    }
+
     public ParseScope getScope() {
         return scope;
     }
@@ -0,0 +1,180 @@
+package org.graalphp.types;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.TruffleObject;
+import com.oracle.truffle.api.library.ExportLibrary;
+import com.oracle.truffle.api.library.ExportMessage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+/**
+ * The PHP type for strings.
+ * <p>
+ * PHP strings are byte sequences without encoding. Literals are stored as UTF-8 bytes.
+ * <p>
+ * A concatenation is a rope node which references both operands and costs O(1).
+ * The rope is flattened into a single byte[] on first access of its contents.
+ * Repeated $s .= $x is thus amortized O(1) instead of copying $s on each iteration.
+ *
+ * @author abertschi
+ */
+@ExportLibrary(InteropLibrary.class)
+public final class PhpString implements TruffleObject {
+
+    public static final PhpString EMPTY = new PhpString(new byte[0]);
+
+    // operands of such a length are copied rather than referenced by a rope node
+    private static final int SHORT_LENGTH = 32;
+
+    private final int length;
+
+    // contents, null as long as this string is an unflattened concatenation
+    private byte[] bytes;
+
+    // 0 if not computed yet
+    private int hash;
+
+    // operands of a concatenation, null once flattened
+    private PhpString left;
+    private PhpString right;
+
+    public PhpString(byte[] bytes) {
+        this.bytes = bytes;
+        this.length = bytes.length;
+    }
+
+    private PhpString(PhpString left, PhpString right, int length) {
+        this.left = left;
+        this.right = right;
+        this.length = length;
+    }
+
+    @TruffleBoundary
+    public static PhpString fromJavaString(String value) {
+        return new PhpString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Concatenation a . b, the result shares the contents of both operands
+     */
+    public static PhpString concat(PhpString a, PhpString b) {
+        if (a.length == 0) {
+            return b;
+        } else if (b.length == 0) {
+            return a;
+        }
+        final int length = Math.addExact(a.length, b.length);
+        if (length <= SHORT_LENGTH && a.isFlat() && b.isFlat()) {
+            return new PhpString(concatBytes(a.bytes, b.bytes));
+        }
+        return new PhpString(a, b, length);
+    }
+
+    @TruffleBoundary
+    private static byte[] concatBytes(byte[] a, byte[] b) {
+        final byte[] result = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, result, a.length, b.length);
+        return result;
+    }
+
+    /**
+     * @return number of bytes
+     */
+    public int length() {
+        return length;
+    }
+
+    public boolean isFlat() {
+        return bytes != null;
+    }
+
+    /**
+     * Contents of this string, must not be modified
+     */
+    public byte[] getBytes() {
+        if (bytes == null) {
+            flatten();
+        }
+        return bytes;
+    }
+
+    public byte byteAt(int index) {
+        return getBytes()[index];
+    }
+
+    /*
+     * Ropes of repeated appends are deeply nested, we thus use a worklist
+     * rather than recursion. Operands are written from the end.
+     */
+    @TruffleBoundary
+    private void flatten() {
+        final byte[] result = new byte[length];
+        final ArrayDeque<PhpString> worklist = new ArrayDeque<>();
+        worklist.push(this);
+        int end = length;
+        while (!worklist.isEmpty()) {
+            final PhpString s = worklist.pop();
+            if (s.bytes != null) {
+                end -= s.length;
+                System.arraycopy(s.bytes, 0, result, end, s.length);
+            } else {
+                worklist.push(s.left);
+                worklist.push(s.right);
+            }
+        }
+        this.bytes = result;
+        this.left = null;
+        this.right = null;
+    }
+
+    @Override
+    @TruffleBoundary
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PhpString)) {
+            return false;
+        }
+        final PhpString other = (PhpString) o;
+        if (length != other.length
+                || (hash != 0 && other.hash != 0 && hash != other.hash)) {
+            return false;
+        }
+        return Arrays.equals(getBytes(), other.getBytes());
+    }
+
+    /*
+     * Hash is cached, interned strings are looked up repeatedly
+     */
+    @Override
+    @TruffleBoundary
+    public int hashCode() {
+        if (hash == 0) {
+            hash = Arrays.hashCode(getBytes());
+        }
+        return hash;
+    }
+
+    /**
+     * Contents decoded as UTF-8, used to output a string
+     */
+    @Override
+    @TruffleBoundary
+    public String toString() {
+        return new String(getBytes(), StandardCharsets.UTF_8);
+    }
+
+    @ExportMessage
+    boolean isString() {
+        return true;
+    }
+
+    @ExportMessage
+    String asString() {
+        return toString();
+    }
+}
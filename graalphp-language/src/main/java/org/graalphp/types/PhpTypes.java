@@ -12,6 +12,7 @@ import org.graalphp.runtime.array.PhpArray;
         boolean.class,
         long.class,
         double.class,
+        PhpString.class,
         PhpArray.class,
         PhpFunction.class,
         Object[].class
@@ -0,0 +1,39 @@
+<?php
+
+/*
+ * Standard library functions implemented in PHP.
+ * Parsed once per language and defined in every context, see PhpLanguage#getPrelude
+ */
+
+function abs($a) {
+    return $a < 0 ? -$a : $a;
+}
+
+function array_sum($a) {
+    $sum = 0;
+    foreach ($a as $v) {
+        $sum = $sum + $v;
+    }
+    return $sum;
+}
+
+// XXX: only numeric ranges. PHP rejects a step of 0, we use 1.
+function range($start, $end, $step = 1) {
+    $step = abs($step);
+    if ($step == 0) {
+        $step = 1;
+    }
+    $a = array();
+    if ($start <= $end) {
+        for ($i = $start; $i <= $end; $i = $i + $step) {
+            $a[] = $i;
+        }
+    } else {
+        for ($i = $start; $i >= $end; $i = $i - $step) {
+            $a[] = $i;
+        }
+    }
+    return $a;
+}
+
+?>
@@ -0,0 +1,48 @@
+package org.graalphp.language;
+
+import com.oracle.truffle.api.Assumption;
+import org.graalphp.nodes.function.ArgumentProfile;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author abertschi
+ */
+public class ArgumentProfileTest {
+
+    @Test
+    public void profileExactTypes() {
+        ArgumentProfile profile = new ArgumentProfile();
+        profile.profile(0, 1L);
+        profile.profile(1, 1.5);
+        Assumption stable = profile.getAssumption();
+
+        Assert.assertEquals(2L, profile.profile(0, 2L));
+        Assert.assertEquals(2.5, profile.profile(1, 2.5));
+        Assert.assertEquals(Long.class, profile.getType(0));
+        Assert.assertEquals(Double.class, profile.getType(1));
+        Assert.assertTrue(stable.isValid());
+    }
+
+    @Test
+    public void mismatchInvalidates() {
+        ArgumentProfile profile = new ArgumentProfile();
+        profile.profile(0, 1L);
+        Assumption stable = profile.getAssumption();
+
+        Assert.assertEquals(1.5, profile.profile(0, 1.5));
+        Assert.assertFalse(stable.isValid());
+        Assert.assertEquals(Object.class, profile.getType(0));
+        Assert.assertTrue(profile.getAssumption().isValid());
+        Assert.assertEquals(2L, profile.profile(0, 2L));
+    }
+
+    @Test
+    public void functionCalledWithChangingTypes() {
+        TestCommons.compareStdout("55\n1.5\n1\n",
+                "function fib($n) { if ($n <= 1) { return $n; } return fib($n - 1) + fib($n - 2); }\n" +
+                        "function id($a) { return $a; }\n" +
+                        "println(fib(10)); for($i = 0; $i < 100; $i++) { id($i); }\n" +
+                        "println(id(1.5)); println(id(true));", true);
+    }
+}
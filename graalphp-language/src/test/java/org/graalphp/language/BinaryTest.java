@@ -71,9 +71,31 @@ public class BinaryTest {
     }
 
 
-    @Test(expected = RuntimeException.class)
-    public void parseDivException1() {
-        TestCommons.evalInteger(1337, "0 / 0");
+    @Test
+    public void parseDivByZero() {
+        TestCommons.evalDouble(Double.NaN, "0 / 0");
+        TestCommons.evalDouble(Double.POSITIVE_INFINITY, "1 / 0");
+        TestCommons.evalDouble(Double.NEGATIVE_INFINITY, "-1 / 0");
+    }
+
+    @Test
+    public void parseDivExact() {
+        TestCommons.evalInteger(2, "6 / 3");
+        TestCommons.evalDouble(3.5, "7 / 2");
+        TestCommons.evalDouble(-(double) Long.MIN_VALUE,
+                String.format("(%d - 1) / -1", Long.MIN_VALUE + 1));
+    }
+
+    @Test
+    public void overflowKeepsLaterOpsLong() {
+        String code = "function add($a, $b) { return $a + $b; }\n" +
+                "println(add(PHP_INT_MAX, 1));\n" +
+                "println(add(1, 2));\n" +
+                "println(-PHP_INT_MIN);\n" +
+                "$i = PHP_INT_MAX; $i++; println($i);\n" +
+                "$j = 1; $j++; println($j);\n";
+        TestCommons.compareStdout("9.2233720368548E+18\n3\n9.2233720368548E+18\n" +
+                "9.2233720368548E+18\n2\n", code, true);
     }
 
     @Test
@@ -1,6 +1,15 @@
 package org.graalphp.language;
 
+import com.oracle.truffle.api.nodes.NodeUtil;
 import org.eclipse.php.core.ast.nodes.Program;
+import org.graalphp.builtins.MinBuiltin;
+import org.graalphp.builtins.MinBuiltinFactory;
+import org.graalphp.nodes.PhpStmtNode;
+import org.graalphp.nodes.function.PhpInvokeNode;
+import org.graalphp.parser.ParseScope;
+import org.graalphp.parser.StmtVisitor;
+import org.graalphp.types.PhpFunction;
+import org.graalvm.polyglot.PolyglotException;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -20,7 +29,57 @@ public class BuiltinTest {
     @Test
     public void testPrint() {
         TestCommons.compareStdout("1337", "print (1337);");
-        TestCommons.compareStdout("1337.0", "print 1337.0;");
+        TestCommons.compareStdout("1337", "print 1337.0;");
+        TestCommons.compareStdout("0.3", "print 0.1 + 0.2;");
+    }
+
+    @Test
+    public void builtinInlinedAtCallSite() throws Exception {
+        Program pgm = TestCommons.parseProgram("$a = min(1, 2) + min(1.0, 2.0);", true);
+        ParseScope scope = ParseScope.newGlobalScope();
+        PhpFunction min = new PhpFunction(MinBuiltin.NAME, scope, null);
+        min.setBuiltinFactory(MinBuiltinFactory.getInstance());
+        scope.getFunctions().register(MinBuiltin.NAME, min, false);
+
+        StmtVisitor.StmtVisitorContext phpAst = new StmtVisitor(null).createPhpAst(pgm, scope);
+        PhpStmtNode stmt = phpAst.getStmts().get(0);
+        Assert.assertNotNull(NodeUtil.findFirstNodeInstance(stmt, MinBuiltin.class));
+        Assert.assertNull(NodeUtil.findFirstNodeInstance(stmt, PhpInvokeNode.class));
+    }
+
+    @Test
+    public void testInlinedBuiltins() {
+        TestCommons.compareStdout("3\n1.5\n2\n",
+                "$a = 0; $b = 0.0;" +
+                        "for($i = 0; $i < 1000; $i++) { $a = max($a, min($i, 3)); }" +
+                        "for($i = 0; $i < 1000; $i++) { $b = max($b, min(sqrt($i), 1.5)); }" +
+                        "println($a); println($b); println(sqrt(4));", true);
+    }
+
+    @Test
+    public void testOutputBuffering() {
+        TestCommons.compareStdout("a|3", "print 'a'; ob_start(); print 123; $s = ob_get_clean(); " +
+                "print '|' . strlen($s);");
+        TestCommons.compareStdout("ab", "ob_start(); print 'a'; ob_flush(); print 'b';");
+        TestCommons.compareStdout("nn", "print ob_get_clean() ? 'y' : 'n'; " +
+                "print ob_flush() ? 'y' : 'n';");
+    }
+
+    @Test
+    public void testPrelude() {
+        TestCommons.compareStdout("3|1.5|55", "print abs(-3) . '|' . abs(1.5) . '|' . " +
+                "array_sum(range(1, 10));");
+    }
+
+    @Test
+    public void testPreludeRange() {
+        TestCommons.compareStdout("5|15|18|4", "$a = range(5, 1); print $a[0] . '|' . " +
+                "array_sum($a) . '|' . array_sum(range(0, 10, 3)) . '|' . count(range(10, 0, -3));");
+    }
+
+    @Test(expected = PolyglotException.class)
+    public void preludeFunctionCannotBeRedefined() {
+        TestCommons.compareStdout("", "function abs($a) { return $a; }");
     }
 
     // we dont support echo yet
@@ -0,0 +1,124 @@
+package org.graalphp.language;
+
+import org.graalvm.polyglot.PolyglotException;
+import org.junit.Test;
+
+/**
+ * @author abertschi
+ * See end to end test for more tests
+ */
+public class ForeachTest {
+
+    @Test
+    public void testForeachValue() {
+        TestCommons.compareStdout("123", "$A = array(1, 2, 3); foreach($A as $v) {print $v;}");
+        TestCommons.compareStdout("", "$A = array(); foreach($A as $v) {print $v;}");
+    }
+
+    @Test
+    public void testForeachKeyValue() {
+        TestCommons.compareStdout("5172",
+                "$A = array(5 => 1, 7 => 2); foreach($A as $k => $v) {print $k; print $v;}");
+    }
+
+    @Test
+    public void testForeachBreakContinue() {
+        TestCommons.compareStdout("13",
+                "$A = array(1, 2, 3, 4); foreach($A as $v) {"
+                        + "if ($v == 2) {continue;} if ($v == 4) {break;} print $v;}");
+    }
+
+    @Test
+    public void testForeachIteratesSnapshot() {
+        TestCommons.compareStdout("1230",
+                "$A = array(1, 2, 3); foreach($A as $k => $v) {$A[$k] = 0; $A[] = 1; print $v;}"
+                        + " print $A[0];");
+    }
+
+    @Test
+    public void testForeachByReference() {
+        TestCommons.compareStdout("246",
+                "$A = array(1, 2, 3); foreach($A as &$v) {$v = $v * 2;}"
+                        + " print $A[0]; print $A[1]; print $A[2];");
+    }
+
+    @Test
+    public void testForeachByReferenceKeepsCopyOnWrite() {
+        TestCommons.compareStdout("21",
+                "$A = array(1); $B = $A; foreach($A as &$v) {$v = 2;} print $A[0]; print $B[0];");
+    }
+
+    @Test
+    public void testForeachByValueSeparatesOnlyDuringLoop() {
+        TestCommons.compareStdout("12250",
+                "$A = array(1, 2); foreach($A as $v) {print $v;} $B = $A; $A[0] = 5;"
+                        + " foreach($A as $v) {$A[1] = 0;} print $B[1]; print $A[0]; print $A[1];");
+    }
+
+    @Test
+    public void testForeachByReferenceUnsetAfterLoop() {
+        TestCommons.compareStdout("2",
+                "$A = array(1); foreach($A as &$v) {$v = 2;} unset($v); $v = 3; print $A[0];");
+    }
+
+    @Test
+    public void testForeachByReferenceArrayInBody() {
+        TestCommons.compareStdout("234",
+                "$A = array(1, 2, 3); foreach($A as $k => &$v) {$v = $A[$k] + 1;}"
+                        + " print $A[0]; print $A[1]; print $A[2];");
+    }
+
+    @Test
+    public void testForeachByReferenceSeesWritesInBody() {
+        TestCommons.compareStdout("25456",
+                "$A = array(1, 2); foreach($A as $k => &$v) {$v = $v * 2; print $A[$k];"
+                        + " $A[$k] = 5; print $v;} $v++; print $A[1];");
+    }
+
+    @Test
+    public void testForeachByReferenceValueAfterLoop() {
+        TestCommons.compareStdout("3",
+                "$A = array(1); foreach($A as &$v) {} $v = 3; print $A[0];");
+    }
+
+    @Test
+    public void testForeachByValueAfterByReference() {
+        // $v still references the last element, which the second loop overwrites
+        TestCommons.compareStdout("122",
+                "$A = array(1, 2, 3); foreach($A as &$v) {} foreach($A as $v) {}"
+                        + " print $A[0]; print $A[1]; print $A[2];");
+    }
+
+    @Test
+    public void testForeachByReferenceNestedArray() {
+        TestCommons.compareStdout("13",
+                "$A = array(array(1), array(2)); foreach($A as &$v) {$v[] = 3;} unset($v);"
+                        + " print $A[0][0]; print $A[1][1];");
+    }
+
+    @Test
+    public void testForeachByReferenceInFunction() {
+        TestCommons.compareStdout("28",
+                "function f($A) {foreach($A as &$v) {$v += $v;} $v *= 2; return $A;}"
+                        + " $B = f(array(1, 2)); print $B[0]; print $B[1];");
+    }
+
+    @Test(expected = PolyglotException.class)
+    public void testForeachListTarget() {
+        TestCommons.evalInteger(1, "$A = array(array(1, 2)); foreach($A as list($a, $b)) {} 1;");
+    }
+
+    @Test
+    public void testForeachReturnInFunction() {
+        TestCommons.compareStdout("3",
+                "function f($A) {foreach($A as $v) {if ($v > 2) {return $v;}} return 0;}"
+                        + " print f(array(1, 3, 5));");
+    }
+
+    @Test
+    public void testForeachByReferenceWritesBackOnBreak() {
+        TestCommons.compareStdout("523",
+                "$A = array(1, 2, 3); foreach($A as &$v) {$v = 5; break;} unset($v);"
+                        + " print $A[0]; print $A[1]; print $A[2];");
+    }
+}
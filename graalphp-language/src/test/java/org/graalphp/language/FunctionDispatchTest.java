@@ -0,0 +1,80 @@
+package org.graalphp.language;
+
+import com.oracle.truffle.api.CallTarget;
+import com.oracle.truffle.api.RootCallTarget;
+import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.RootNode;
+import org.graalphp.nodes.function.PhpDispatchNode;
+import org.graalphp.types.PhpFunction;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author abertschi
+ */
+public class FunctionDispatchTest {
+
+    private static final class ConstantRootNode extends RootNode {
+
+        private final long value;
+
+        ConstantRootNode(long value) {
+            super(null);
+            this.value = value;
+        }
+
+        @Override
+        public Object execute(VirtualFrame frame) {
+            return value;
+        }
+    }
+
+    // calls the function passed as first argument
+    private static final class DispatchRootNode extends RootNode {
+
+        @Child
+        private PhpDispatchNode dispatchNode = PhpDispatchNode.create();
+
+        DispatchRootNode() {
+            super(null);
+        }
+
+        @Override
+        public Object execute(VirtualFrame frame) {
+            return dispatchNode.executeDispatch((PhpFunction) frame.getArguments()[0], new Object[0]);
+        }
+    }
+
+    private static RootCallTarget constant(long value) {
+        return Truffle.getRuntime().createCallTarget(new ConstantRootNode(value));
+    }
+
+    private static CallTarget dispatcher() {
+        return Truffle.getRuntime().createCallTarget(new DispatchRootNode());
+    }
+
+    @Test
+    public void redefinedFunctionIsNotStale() {
+        PhpFunction fn = new PhpFunction("fn", null, constant(1));
+        CallTarget target = dispatcher();
+        Assert.assertEquals(1L, target.call(fn));
+        Assert.assertEquals(1L, target.call(fn));
+
+        fn.setCallTarget(constant(2));
+        Assert.assertEquals(2L, target.call(fn));
+    }
+
+    @Test
+    public void megamorphicCallSite() {
+        CallTarget target = dispatcher();
+        for (int i = 0; i < 2 * PhpDispatchNode.INLINE_CACHE_SIZE; i++) {
+            PhpFunction fn = new PhpFunction("fn" + i, null, constant(i));
+            Assert.assertEquals((long) i, target.call(fn));
+        }
+        PhpFunction fn = new PhpFunction("fn", null, constant(-1));
+        Assert.assertEquals(-1L, target.call(fn));
+        fn.setCallTarget(constant(-2));
+        Assert.assertEquals(-2L, target.call(fn));
+    }
+}
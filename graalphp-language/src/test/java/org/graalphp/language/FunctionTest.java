@@ -85,6 +85,12 @@ public class FunctionTest {
         TestCommons.evalInteger(4, "function foo($a) {return $a + 1;}; foo(1 + foo(1));");
     }
 
+    @Test
+    public void testFnDefaultParameter() {
+        TestCommons.evalInteger(3, "function foo($a, $b = 2) {return $a + $b;}; foo(1);");
+        TestCommons.evalInteger(6, "function foo($a, $b = 2) {return $a + $b;}; foo(1, 5);");
+    }
+
 
 
     private String toString(InputStream in) {
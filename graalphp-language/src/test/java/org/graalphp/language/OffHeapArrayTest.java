@@ -0,0 +1,45 @@
+package org.graalphp.language;
+
+import org.graalvm.polyglot.Context;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * @author abertschi
+ */
+public class OffHeapArrayTest {
+
+    private static String run(String src) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Context ctx = Context.newBuilder("php")
+                .allowExperimentalOptions(true)
+                .option("php.OffHeapArrayThreshold", "64")
+                .out(out)
+                .build();
+        ctx.eval("php", TestCommons.php(src));
+        ctx.close();
+        return out.toString();
+    }
+
+    @Test
+    public void growOffHeap() {
+        String code = "$a = array(); for ($i = 0; $i < 1000; $i++) { $a[] = $i; } " +
+                "$s = 0; for ($i = 0; $i < count($a); $i++) { $s = $s + $a[$i]; } print($s);";
+        Assert.assertEquals("499500", run(code));
+    }
+
+    @Test
+    public void fillOffHeap() {
+        String code = "$a = array_fill(0, 100, 0.5); $b = $a; $b[99] = 1.5; " +
+                "print($a[99]); print($b[99]); print($a == $b);";
+        Assert.assertEquals("0.51.50", run(code));
+    }
+
+    @Test
+    public void generalizeOffHeap() {
+        String code = "$a = array_fill(0, 100, 1); $a[50] = 2.5; print($a[49]); print($a[50]);";
+        Assert.assertEquals("12.5", run(code));
+    }
+}
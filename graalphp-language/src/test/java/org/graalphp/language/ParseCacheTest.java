@@ -0,0 +1,126 @@
+package org.graalphp.language;
+
+import com.oracle.truffle.api.CallTarget;
+import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.RootNode;
+import com.oracle.truffle.api.source.Source;
+import org.graalphp.PhpLanguage;
+import org.graalphp.parser.PhpParseCache;
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * @author abertschi
+ */
+public class ParseCacheTest {
+
+    private static final class EmptyRootNode extends RootNode {
+
+        EmptyRootNode() {
+            super(null);
+        }
+
+        @Override
+        public Object execute(VirtualFrame frame) {
+            return null;
+        }
+    }
+
+    private static CallTarget target() {
+        return Truffle.getRuntime().createCallTarget(new EmptyRootNode());
+    }
+
+    private static Source source(String name, String code) {
+        return Source.newBuilder(PhpLanguage.ID, code, name).build();
+    }
+
+    @Test
+    public void sameContentIsCached() {
+        PhpParseCache cache = new PhpParseCache();
+        CallTarget target = target();
+        cache.put(source("a.php", "<?php print 1;"), true, target);
+
+        Assert.assertSame(target, cache.get(source("a.php", "<?php print 1;"), true));
+        Assert.assertSame(target, cache.get(source("b.php", "<?php print 1;"), true));
+        Assert.assertNull(cache.get(source("a.php", "<?php print 2;"), true));
+        Assert.assertNull(cache.get(source("a.php", "<?php print 1;"), false));
+    }
+
+    @Test
+    public void uncachedSourceIsNotCached() {
+        PhpParseCache cache = new PhpParseCache();
+        Source uncached = Source.newBuilder(PhpLanguage.ID, "<?php print 1;", "a.php")
+                .cached(false).build();
+        cache.put(uncached, true, target());
+        Assert.assertEquals(0, cache.size());
+
+        cache.put(source("a.php", "<?php print 1;"), true, target());
+        Assert.assertNull(cache.get(uncached, true));
+    }
+
+    @Test
+    public void leastRecentlyUsedIsEvicted() {
+        PhpParseCache cache = new PhpParseCache();
+        Source first = source("0.php", "0");
+        CallTarget firstTarget = target();
+        cache.put(first, true, firstTarget);
+        Source second = source("1.php", "1");
+        cache.put(second, true, target());
+        for (int i = 2; i < PhpParseCache.MAX_ENTRIES; i++) {
+            cache.put(source(i + ".php", Integer.toString(i)), true, target());
+        }
+        Assert.assertSame(firstTarget, cache.get(first, true));
+        cache.put(source("new.php", "new"), true, target());
+
+        Assert.assertEquals(PhpParseCache.MAX_ENTRIES, cache.size());
+        Assert.assertSame(firstTarget, cache.get(first, true));
+        Assert.assertNull(cache.get(second, true));
+    }
+
+    private static int parsedSourceCount(Context ctx) {
+        ctx.initialize(PhpLanguage.ID);
+        ctx.enter();
+        try {
+            return PhpLanguage.getCurrentContext().getLanguage().getParsedSourceCount();
+        } finally {
+            ctx.leave();
+        }
+    }
+
+    // same include file under another name in each context
+    private static int parseInManyContexts(Engine engine, boolean cached) {
+        final Context first = Context.newBuilder("php").engine(engine).build();
+        final int before = parsedSourceCount(first);
+        for (int i = 0; i < 5; i++) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            Context ctx = Context.newBuilder("php").engine(engine).out(out).build();
+            ctx.eval(org.graalvm.polyglot.Source.newBuilder("php",
+                    TestCommons.php("function inc($a) { return $a + 1; } print inc(1);"),
+                    "include" + i + ".php").cached(cached).buildLiteral());
+            ctx.close();
+            Assert.assertEquals("2", out.toString());
+        }
+        final int parsed = parsedSourceCount(first) - before;
+        first.close();
+        return parsed;
+    }
+
+    @Test
+    public void includeFileParsedOnce() {
+        Engine engine = Engine.create();
+        Assert.assertEquals(1, parseInManyContexts(engine, true));
+        engine.close();
+    }
+
+    @Test
+    public void uncachedIncludeFileParsedEachTime() {
+        Engine engine = Engine.create();
+        Assert.assertEquals(5, parseInManyContexts(engine, false));
+        engine.close();
+    }
+}
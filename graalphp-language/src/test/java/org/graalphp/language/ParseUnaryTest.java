@@ -29,7 +29,7 @@ public class ParseUnaryTest {
 
     @Test
     public void testNegUnderflow2() {
-        TestCommons.compareStdout("9.223372036854776E18", "$a = -9223372036854775807; $a = $a - 1; $a = -$a; print $a;");
+        TestCommons.compareStdout("9.2233720368548E+18", "$a = -9223372036854775807; $a = $a - 1; $a = -$a; print $a;");
     }
 
     @Test
@@ -0,0 +1,83 @@
+package org.graalphp.language;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
+import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.Source;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Contexts of the same engine share parsed code but not their functions.
+ *
+ * @author abertschi
+ */
+public class SharedEngineTest {
+
+    private static String run(Engine engine, Source... sources) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Context ctx = Context.newBuilder("php").engine(engine).out(out).build();
+        for (Source source : sources) {
+            ctx.eval(source);
+        }
+        ctx.close();
+        return out.toString();
+    }
+
+    private static Source source(String name, String code) {
+        return Source.newBuilder("php", TestCommons.php(code), name).buildLiteral();
+    }
+
+    @Test
+    public void functionsAreDefinedPerContext() {
+        Engine engine = Engine.create();
+        Source one = source("one.php", "function foo() { return 1; }");
+        Source two = source("two.php", "function foo() { return 2; }");
+        Source call = source("call.php", "for ($i = 0; $i < 100; $i++) { $a = foo(); } print $a;");
+
+        Assert.assertEquals("1", run(engine, one, call));
+        Assert.assertEquals("2", run(engine, two, call));
+        Assert.assertEquals("1", run(engine, one, call));
+        engine.close();
+    }
+
+    @Test
+    public void sameSourceInManyContexts() {
+        Engine engine = Engine.create();
+        Source fib = source("fib.php",
+                "function fib($n) { if ($n < 2) { return $n; } return fib($n - 1) + fib($n - 2); }" +
+                        "print fib(15);");
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals("610610", run(engine, fib, fib));
+        }
+        engine.close();
+    }
+
+    @Test
+    public void functionOfOtherContextIsUndefined() {
+        Engine engine = Engine.create();
+        run(engine, source("def.php", "function bar() { return 1; }"));
+        try {
+            run(engine, source("undef.php", "bar();"));
+            Assert.fail("bar is not defined in this context");
+        } catch (PolyglotException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().contains("bar"));
+        }
+        engine.close();
+    }
+
+    @Test
+    public void functionReturnsByReferenceInOneContext() {
+        Engine engine = Engine.create();
+        Source byRef = source("ref.php", "function &foo() { $a = array(1); return $a; }");
+        Source byValue = source("value.php", "function foo() { $a = array(2); return $a; }");
+        Source call = source("call.php", "$b = &foo(); print $b[0];");
+        for (int i = 0; i < 3; i++) {
+            Assert.assertEquals("1", run(engine, byRef, call));
+            Assert.assertEquals("2", run(engine, byValue, call));
+        }
+        engine.close();
+    }
+}
@@ -0,0 +1,61 @@
+package org.graalphp.language;
+
+import org.graalphp.types.PhpString;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author abertschi
+ * See end to end test for more tests
+ */
+public class StringTest {
+
+    @Test
+    public void testLiterals() {
+        TestCommons.compareStdout("abc", "print 'abc';");
+        TestCommons.compareStdout("it's \\n", "print 'it\\'s \\n';");
+        TestCommons.compareStdout("a\tb\nAA$\"", "print \"a\\tb\\n\\x41\\101\\$\\\"\";");
+    }
+
+    @Test
+    public void testConcat() {
+        TestCommons.compareStdout("ab1", "$a = 'a'; print $a . 'b' . 1;");
+        TestCommons.compareStdout("abab", "$a = 'ab'; $a .= $a; print $a;");
+        TestCommons.compareStdout("1.5|1|", "print 1.5 . '|' . true . '|' . false;");
+    }
+
+    @Test
+    public void testStrlenCountsBytes() {
+        TestCommons.compareStdout("3", "print strlen('abc');");
+        TestCommons.compareStdout("2", "print strlen(\"\\u{FC}\");");
+        TestCommons.compareStdout("0", "print strlen('');");
+    }
+
+    @Test
+    public void testConditions() {
+        TestCommons.compareStdout("ftt", "if ('0') {print 't';} else {print 'f';}"
+                + " if ('00') {print 't';} else {print 'f';}"
+                + " if ('a' == 'a') {print 't';} else {print 'f';}");
+    }
+
+    @Test
+    public void testConstants() {
+        TestCommons.compareStdout("a\n", "print 'a' . PHP_EOL;");
+        TestCommons.compareStdout("9223372036854775807", "print PHP_INT_MAX;");
+        TestCommons.compareStdout("8", "print PHP_INT_SIZE;");
+        TestCommons.compareStdout("", "print NULL;");
+    }
+
+    @Test
+    public void deepRopeFlattens() {
+        final PhpString part = PhpString.fromJavaString("0123456789012345678901234567890123456789");
+        PhpString s = PhpString.EMPTY;
+        for (int i = 0; i < 1_000_000; i++) {
+            s = PhpString.concat(s, part);
+        }
+        Assert.assertFalse(s.isFlat());
+        Assert.assertEquals(40_000_000, s.length());
+        Assert.assertEquals('9', s.byteAt(s.length() - 1));
+        Assert.assertTrue(s.isFlat());
+    }
+}
@@ -1,12 +1,16 @@
 package org.graalphp.language;
 
+import com.oracle.truffle.api.nodes.LoopNode;
+import com.oracle.truffle.api.nodes.NodeUtil;
 import org.eclipse.php.core.PHPVersion;
 import org.eclipse.php.core.ast.error.BailoutErrorListener;
 import org.eclipse.php.core.ast.nodes.ASTParser;
 import org.eclipse.php.core.ast.nodes.Program;
 import org.graalphp.nodes.PhpStmtNode;
+import org.graalphp.nodes.StmtListNode;
 import org.graalphp.parser.ParseScope;
 import org.graalphp.parser.StmtVisitor;
+import org.junit.Assert;
 import org.junit.Test;
 
 /**
@@ -63,4 +67,27 @@ public class WhileTest {
         TestCommons.compareStdout("1", "do {print 1; break; } while(false);");
         TestCommons.compareStdout("1", "do {print 1; break; } while(true);");
     }
+
+    @Test
+    public void testDoWhileContinue() {
+        TestCommons.compareStdout("3210",
+                "$a = 4; do { $a--; if ($a == 2) { print 2; continue; } print $a; } while($a > 0);");
+    }
+
+    @Test
+    public void testDoWhileSingleLoop() throws Exception {
+        Program pgm = TestCommons.parseProgram("$a = 1; do { $a--; } while($a > 0);", true);
+        StmtVisitor.StmtVisitorContext phpAst =
+                new StmtVisitor(null).createPhpAst(pgm, ParseScope.newGlobalScope());
+        PhpStmtNode doWhile = phpAst.getStmts().get(1);
+        // body is only executed by the loop node such that it can be compiled with OSR
+        Assert.assertEquals(1, NodeUtil.findAllNodeInstances(doWhile, LoopNode.class).size());
+        Assert.assertEquals(1, NodeUtil.findAllNodeInstances(doWhile, StmtListNode.class).size());
+    }
+
+    @Test
+    public void testForContinueExecutesUpdate() {
+        TestCommons.compareStdout("0134",
+                "for ($i = 0; $i < 5; $i++) { if ($i == 2) { continue; } print $i; }");
+    }
 }
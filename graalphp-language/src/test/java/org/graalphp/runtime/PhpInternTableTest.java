@@ -0,0 +1,45 @@
+package org.graalphp.runtime;
+
+import org.graalphp.types.PhpString;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author abertschi
+ */
+public class PhpInternTableTest {
+
+    @Test
+    public void equalStringsShareInstance() {
+        PhpInternTable table = new PhpInternTable();
+        PhpString a = table.intern("abc");
+        PhpString b = table.intern(new byte[]{'a', 'b', 'c'});
+        Assert.assertSame(a, b);
+        Assert.assertNotSame(a, table.intern("abd"));
+    }
+
+    @Test
+    public void concatenationInternsFlattened() {
+        PhpInternTable table = new PhpInternTable();
+        PhpString literal = table.intern("0123456789012345678901234567890123456789");
+        PhpString rope = PhpString.concat(
+                PhpString.fromJavaString("01234567890123456789"),
+                PhpString.fromJavaString("01234567890123456789"));
+        Assert.assertSame(literal, table.intern(rope));
+    }
+
+    @Test
+    public void unreferencedStringsAreEvicted() throws InterruptedException {
+        PhpInternTable table = new PhpInternTable();
+        PhpString kept = table.intern("kept");
+        for (int i = 0; i < 1000; i++) {
+            table.intern("s" + i);
+        }
+        for (int i = 0; i < 10 && table.size() > 1; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        Assert.assertTrue(table.size() < 1000);
+        Assert.assertSame(kept, table.intern("kept"));
+    }
+}
@@ -0,0 +1,69 @@
+package org.graalphp.runtime;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * @author abertschi
+ */
+public class PhpNumberFormatTest {
+
+    private static String formatDouble(double value) {
+        byte[] buf = new byte[PhpNumberFormat.MAX_DOUBLE_LENGTH];
+        int len = PhpNumberFormat.formatDouble(value, buf, 0);
+        return new String(buf, 0, len, StandardCharsets.US_ASCII);
+    }
+
+    private static String formatLong(long value) {
+        byte[] buf = new byte[PhpNumberFormat.MAX_LONG_LENGTH];
+        int len = PhpNumberFormat.formatLong(value, buf, 0);
+        return new String(buf, 0, len, StandardCharsets.US_ASCII);
+    }
+
+    @Test
+    public void longs() {
+        for (long v : new long[]{0, 9, -9, 10, 1234567890L, Long.MAX_VALUE, Long.MIN_VALUE}) {
+            Assert.assertEquals(Long.toString(v), formatLong(v));
+        }
+    }
+
+    @Test
+    public void doublesWithPrecision14() {
+        Assert.assertEquals("4", formatDouble(4.0));
+        Assert.assertEquals("0", formatDouble(0.0));
+        Assert.assertEquals("-0", formatDouble(-0.0));
+        Assert.assertEquals("1.5", formatDouble(1.5));
+        Assert.assertEquals("-1.5", formatDouble(-1.5));
+        Assert.assertEquals("0.3", formatDouble(0.1 + 0.2));
+        Assert.assertEquals("3.1415926535898", formatDouble(Math.PI));
+        Assert.assertEquals("0.33333333333333", formatDouble(1.0 / 3));
+        Assert.assertEquals("0.66666666666667", formatDouble(2.0 / 3));
+        Assert.assertEquals("1.4142135623731", formatDouble(Math.sqrt(2)));
+        Assert.assertEquals("100", formatDouble(100.0));
+        Assert.assertEquals("1000000", formatDouble(1e6));
+        Assert.assertEquals("12345678901234", formatDouble(12345678901234.0));
+        Assert.assertEquals("0.0001", formatDouble(0.0001));
+        Assert.assertEquals("0.00012", formatDouble(0.00012));
+    }
+
+    @Test
+    public void doublesInExponentialNotation() {
+        Assert.assertEquals("1.0E+14", formatDouble(1e14));
+        Assert.assertEquals("1.2345678901235E+14", formatDouble(123456789012345.0));
+        Assert.assertEquals("1.0E+25", formatDouble(1e25));
+        Assert.assertEquals("9.2233720368548E+18", formatDouble(-(double) Long.MIN_VALUE));
+        Assert.assertEquals("1.0E-5", formatDouble(1e-5));
+        Assert.assertEquals("-2.5E-7", formatDouble(-2.5e-7));
+        Assert.assertEquals("1.7976931348623E+308", formatDouble(Double.MAX_VALUE));
+        Assert.assertEquals("4.9406564584125E-324", formatDouble(Double.MIN_VALUE));
+    }
+
+    @Test
+    public void specialDoubles() {
+        Assert.assertEquals("INF", formatDouble(Double.POSITIVE_INFINITY));
+        Assert.assertEquals("-INF", formatDouble(Double.NEGATIVE_INFINITY));
+        Assert.assertEquals("NAN", formatDouble(Double.NaN));
+    }
+}
@@ -0,0 +1,67 @@
+package org.graalphp.runtime;
+
+import org.graalphp.types.PhpString;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * @author abertschi
+ */
+public class PhpOutputTest {
+
+    @Test
+    public void printLong() {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        PhpOutput out = new PhpOutput(stream);
+        long[] values = {0, 7, -7, 10, 1234567890L, Long.MAX_VALUE, Long.MIN_VALUE};
+        StringBuilder expected = new StringBuilder();
+        for (long v : values) {
+            out.print(v);
+            out.println();
+            expected.append(v).append('\n');
+        }
+        out.flush();
+        Assert.assertEquals(expected.toString(), stream.toString());
+    }
+
+    @Test
+    public void flushedAtThreshold() {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        PhpOutput out = new PhpOutput(stream);
+        out.print(1);
+        Assert.assertEquals(0, stream.size());
+        for (int i = 0; i < PhpOutput.FLUSH_THRESHOLD; i++) {
+            out.print(1);
+        }
+        Assert.assertTrue(stream.size() >= PhpOutput.FLUSH_THRESHOLD);
+        out.close();
+        Assert.assertEquals(PhpOutput.FLUSH_THRESHOLD + 1, stream.size());
+    }
+
+    @Test
+    public void nestedBuffers() {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        PhpOutput out = new PhpOutput(stream);
+        Assert.assertNull(out.getAndEndBuffer());
+        Assert.assertFalse(out.flushBuffer());
+
+        out.print("a");
+        out.startBuffer();
+        out.print("b");
+        out.startBuffer();
+        out.print("c");
+        Assert.assertEquals(2, out.getBufferLevel());
+        Assert.assertTrue(out.flushBuffer());
+        out.print("d");
+        Assert.assertEquals(PhpString.fromJavaString("d"), out.getAndEndBuffer());
+        out.flush();
+        Assert.assertEquals("a", stream.toString());
+
+        // open buffers are written on close
+        out.close();
+        Assert.assertEquals(0, out.getBufferLevel());
+        Assert.assertEquals("abc", stream.toString());
+    }
+}
@@ -0,0 +1,69 @@
+package org.graalphp.runtime.array;
+
+import com.oracle.truffle.api.CallTarget;
+import org.graalphp.nodes.array.NewArrayNode;
+import org.graalphp.nodes.literal.PhpDoubleNode;
+import org.graalphp.nodes.literal.PhpLongNode;
+import org.junit.Assert;
+import org.junit.Test;
+
+import static org.graalphp.runtime.array.ArrayTestNodes.target;
+import static org.graalphp.runtime.array.ArrayTestNodes.write;
+
+/**
+ * @author abertschi
+ */
+public class ArrayAllocationSiteTest {
+
+    @Test
+    public void siteRemembersGeneralizedBackend() {
+        NewArrayNode newArray = new NewArrayNode();
+        CallTarget target = target(write(
+                write(newArray, 0, new PhpLongNode(1)), 1, new PhpDoubleNode(1.5)));
+
+        PhpArray first = (PhpArray) target.call();
+        Assert.assertTrue(first.getBackend() instanceof Object[]);
+        Assert.assertNotNull(first.getAllocationSite());
+
+        PhpArray second = (PhpArray) target.call();
+        Assert.assertTrue(second.getBackend() instanceof Object[]);
+        Assert.assertEquals(ObjectArrayAllocator.INSTANCE,
+                second.getAllocationSite().getAllocator());
+        Assert.assertEquals(1L, ((Object[]) second.getBackend())[0]);
+        Assert.assertEquals(1.5, ((Object[]) second.getBackend())[1]);
+    }
+
+    @Test
+    public void siteRemembersPeakCapacity() {
+        ArrayAllocationSite site = new ArrayAllocationSite();
+        PhpArray array = site.allocate();
+        array.setCapacity(100);
+        ArrayAllocationSite.report(array, LongArrayAllocator.INSTANCE, LongArrayAllocator.INSTANCE);
+
+        Assert.assertEquals(100, site.getCapacity());
+        Assert.assertEquals(100, site.allocate().getCapacity());
+        Assert.assertEquals(200, site.allocate(200).getCapacity());
+    }
+
+    @Test
+    public void siteOnlyGeneralizes() {
+        ArrayAllocationSite site = new ArrayAllocationSite();
+        site.update(LongArrayAllocator.INSTANCE, ObjectArrayAllocator.INSTANCE, 0);
+        // stale feedback of an array allocated before the site generalized
+        site.update(LongArrayAllocator.INSTANCE, DoubleArrayAllocator.INSTANCE, 0);
+
+        Assert.assertEquals(ObjectArrayAllocator.INSTANCE, site.getAllocator());
+        Assert.assertTrue(site.allocate().getBackend() instanceof Object[]);
+    }
+
+    @Test
+    public void hashConversionIsNotTakenOver() {
+        NewArrayNode newArray = new NewArrayNode();
+        CallTarget sparse = target(write(newArray, 100, new PhpLongNode(1)));
+
+        PhpArray first = (PhpArray) sparse.call();
+        Assert.assertTrue(first.getBackend() instanceof HashArray);
+        Assert.assertEquals(LongArrayAllocator.INSTANCE, first.getAllocationSite().getAllocator());
+        Assert.assertTrue(first.getAllocationSite().allocate().getBackend() instanceof long[]);
+    }
+}
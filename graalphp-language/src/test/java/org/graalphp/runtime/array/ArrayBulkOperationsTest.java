@@ -0,0 +1,49 @@
+package org.graalphp.runtime.array;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author abertschi
+ */
+public class ArrayBulkOperationsTest {
+
+    private final ArrayLibrary arrays = ArrayLibrary.getUncached();
+
+    @Test
+    public void copyRangeSameType() {
+        long[] source = {1, 2, 3, 4};
+        long[] dest = new long[4];
+        arrays.copyRange(source, 1, dest, 0, 3);
+        Assert.assertArrayEquals(new long[]{2, 3, 4, 0}, dest);
+    }
+
+    @Test
+    public void copyRangeMixedType() {
+        long[] source = {1, 2};
+        Object[] dest = new Object[3];
+        arrays.copyRange(source, 0, dest, 1, 2);
+        Assert.assertArrayEquals(new Object[]{null, 1L, 2L}, dest);
+    }
+
+    @Test
+    public void fill() {
+        double[] receiver = new double[4];
+        arrays.fill(receiver, 1, 3, 0.5);
+        Assert.assertArrayEquals(new double[]{0, 0.5, 0.5, 0}, receiver, 0);
+    }
+
+    @Test
+    public void contentEquals() {
+        Assert.assertTrue(arrays.contentEquals(new long[]{1, 2, 9}, new long[]{1, 2, 7}, 2));
+        Assert.assertFalse(arrays.contentEquals(new long[]{1, 2}, new long[]{1, 3}, 2));
+        Assert.assertTrue(arrays.contentEquals(new long[]{1, 2}, new double[]{1.0, 2.0}, 2));
+        Assert.assertTrue(arrays.contentEquals(new Object[]{1L, 2.5}, new Object[]{1.0, 2.5}, 2));
+
+        HashArray hash = new HashArray(2);
+        hash.put(1, 2L);
+        hash.put(0, 1L);
+        Assert.assertTrue(arrays.contentEquals(hash, new long[]{1, 2}, 2));
+        Assert.assertTrue(arrays.contentEquals(new long[]{1, 2}, hash, 2));
+    }
+}
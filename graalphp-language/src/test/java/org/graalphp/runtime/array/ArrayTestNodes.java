@@ -0,0 +1,38 @@
+package org.graalphp.runtime.array;
+
+import com.oracle.truffle.api.CallTarget;
+import com.oracle.truffle.api.Truffle;
+import org.graalphp.nodes.PhpExprNode;
+import org.graalphp.nodes.array.ArrayWriteReturnArrayNodeGen;
+import org.graalphp.nodes.literal.PhpLongNode;
+import org.graalphp.runtime.array.EvalObjectArrayTest.ExampleRootNode;
+
+/**
+ * Builds and evaluates array write nodes in tests.
+ *
+ * @author abertschi
+ */
+final class ArrayTestNodes {
+
+    private ArrayTestNodes() {
+    }
+
+    static CallTarget target(PhpExprNode node) {
+        return Truffle.getRuntime().createCallTarget(new ExampleRootNode(node));
+    }
+
+    static PhpArray eval(PhpExprNode node) {
+        return (PhpArray) target(node).call();
+    }
+
+    /**
+     * $array[index] = value, evaluates to the array
+     */
+    static PhpExprNode write(PhpExprNode array, long index, PhpExprNode value) {
+        return ArrayWriteReturnArrayNodeGen.create(array, new PhpLongNode(index), value);
+    }
+
+    static PhpExprNode write(PhpExprNode array, long index, long value) {
+        return write(array, index, new PhpLongNode(value));
+    }
+}
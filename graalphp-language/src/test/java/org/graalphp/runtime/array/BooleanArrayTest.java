@@ -0,0 +1,52 @@
+package org.graalphp.runtime.array;
+
+import org.graalphp.nodes.array.NewArrayNode;
+import org.graalphp.nodes.literal.PhpBooleanNode;
+import org.graalphp.nodes.literal.PhpLongNode;
+import org.junit.Assert;
+import org.junit.Test;
+
+import static org.graalphp.runtime.array.ArrayTestNodes.eval;
+import static org.graalphp.runtime.array.ArrayTestNodes.write;
+
+/**
+ * @author abertschi
+ */
+public class BooleanArrayTest {
+
+    @Test
+    public void emptyLongArrayWidensToBoolean() {
+        PhpArray array = eval(write(write(new NewArrayNode(), 0,
+                new PhpBooleanNode(true)), 1, new PhpBooleanNode(false)));
+        Assert.assertTrue(array.getBackend() instanceof boolean[]);
+        Assert.assertTrue(((boolean[]) array.getBackend())[0]);
+        Assert.assertFalse(((boolean[]) array.getBackend())[1]);
+    }
+
+    @Test
+    public void longArrayWithValuesGeneralizesToObject() {
+        PhpArray array = eval(write(
+                write(new NewArrayNode(), 0, new PhpLongNode(0)), 1, new PhpBooleanNode(true)));
+        Assert.assertTrue(array.getBackend() instanceof Object[]);
+        Assert.assertEquals(0L, ((Object[]) array.getBackend())[0]);
+        Assert.assertEquals(true, ((Object[]) array.getBackend())[1]);
+    }
+
+    @Test
+    public void booleanArrayGeneralizesToObjectForLong() {
+        PhpArray array = eval(write(
+                write(new NewArrayNode(), 0, new PhpBooleanNode(true)), 1, new PhpLongNode(2)));
+        Assert.assertTrue(array.getBackend() instanceof Object[]);
+        Assert.assertEquals(true, ((Object[]) array.getBackend())[0]);
+        Assert.assertEquals(2L, ((Object[]) array.getBackend())[1]);
+    }
+
+    @Test
+    public void contentEqualsComparesWithOtherBackends() {
+        ArrayLibrary lib = ArrayLibrary.getUncached();
+        boolean[] flags = {true, false};
+        Assert.assertTrue(lib.contentEquals(flags, new boolean[]{true, false}, 2));
+        Assert.assertTrue(lib.contentEquals(flags, new Object[]{true, false}, 2));
+        Assert.assertFalse(lib.contentEquals(flags, new boolean[]{true, true}, 2));
+    }
+}
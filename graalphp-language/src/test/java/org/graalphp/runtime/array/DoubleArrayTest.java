@@ -0,0 +1,48 @@
+package org.graalphp.runtime.array;
+
+import org.graalphp.nodes.array.NewArrayNode;
+import org.graalphp.nodes.literal.PhpDoubleNode;
+import org.graalphp.nodes.literal.PhpLongNode;
+import org.junit.Assert;
+import org.junit.Test;
+
+import static org.graalphp.runtime.array.ArrayTestNodes.eval;
+import static org.graalphp.runtime.array.ArrayTestNodes.write;
+
+/**
+ * @author abertschi
+ */
+public class DoubleArrayTest {
+
+    @Test
+    public void emptyLongArrayWidensToDouble() {
+        PhpArray array = eval(write(new NewArrayNode(), 0, new PhpDoubleNode(1.5)));
+        Assert.assertTrue(array.getBackend() instanceof double[]);
+        Assert.assertEquals(1.5, ((double[]) array.getBackend())[0], 0);
+    }
+
+    @Test
+    public void longArrayWithValuesGeneralizesToObject() {
+        PhpArray array = eval(write(
+                write(new NewArrayNode(), 0, new PhpLongNode(1)), 1, new PhpDoubleNode(1.5)));
+        Assert.assertTrue(array.getBackend() instanceof Object[]);
+        Assert.assertEquals(1L, ((Object[]) array.getBackend())[0]);
+    }
+
+    @Test
+    public void longArrayWithZerosKeepsLongs() {
+        PhpArray array = eval(write(
+                write(new NewArrayNode(), 0, new PhpLongNode(0)), 1, new PhpDoubleNode(1.5)));
+        Assert.assertTrue(array.getBackend() instanceof Object[]);
+        Assert.assertEquals(0L, ((Object[]) array.getBackend())[0]);
+    }
+
+    @Test
+    public void doubleArrayGeneralizesToObjectForLong() {
+        PhpArray array = eval(write(
+                write(new NewArrayNode(), 0, new PhpDoubleNode(1.5)), 1, new PhpLongNode(2)));
+        Assert.assertTrue(array.getBackend() instanceof Object[]);
+        Assert.assertEquals(1.5, ((Object[]) array.getBackend())[0]);
+        Assert.assertEquals(2L, ((Object[]) array.getBackend())[1]);
+    }
+}
@@ -0,0 +1,82 @@
+package org.graalphp.runtime.array;
+
+import org.graalphp.nodes.array.NewArrayNode;
+import org.graalphp.types.PhpString;
+import org.junit.Assert;
+import org.junit.Test;
+
+import static org.graalphp.runtime.array.ArrayTestNodes.eval;
+import static org.graalphp.runtime.array.ArrayTestNodes.write;
+
+/**
+ * @author abertschi
+ */
+public class HashArrayTest {
+
+    @Test
+    public void keepsInsertionOrderAndGrows() {
+        HashArray array = new HashArray(0);
+        for (int i = 0; i < 100; i++) {
+            array.put(-i * 1000L, (long) i);
+        }
+        array.put(PhpString.fromJavaString("key"), "value");
+        array.put(0, 42L);
+
+        Assert.assertEquals(101, array.size());
+        Assert.assertEquals(42L, array.get(0));
+        Assert.assertEquals(99L, array.get(-99000L));
+        Assert.assertEquals("value", array.get(PhpString.fromJavaString("key")));
+        Assert.assertNull(array.get(1));
+        Assert.assertNull(array.get(PhpString.fromJavaString("unknown")));
+        Assert.assertEquals(-1000L, array.getKey(1));
+        Assert.assertEquals(PhpString.fromJavaString("key"), array.getKey(100));
+        Assert.assertEquals(1L, array.getNextIndex());
+    }
+
+    @Test
+    public void negativeIndexConvertsToHash() {
+        PhpArray array = eval(write(write(new NewArrayNode(), 0, 1), -1, 2));
+        Assert.assertTrue(array.getBackend() instanceof HashArray);
+        HashArray backend = (HashArray) array.getBackend();
+        Assert.assertEquals(1L, backend.get(0));
+        Assert.assertEquals(2L, backend.get(-1));
+    }
+
+    @Test
+    public void distantIndexConvertsToHash() {
+        PhpArray array = eval(write(new NewArrayNode(), 1 << 20, 1));
+        Assert.assertTrue(array.getBackend() instanceof HashArray);
+        Assert.assertEquals(1L, ((HashArray) array.getBackend()).get(1 << 20));
+    }
+
+    @Test
+    public void gapConvertsToHash() {
+        PhpArray array = eval(write(new NewArrayNode(), 1, 1));
+        Assert.assertTrue(array.getBackend() instanceof HashArray);
+        Assert.assertEquals(1, array.getSize());
+    }
+
+    @Test
+    public void appendStaysPacked() {
+        PhpArray array = eval(write(write(new NewArrayNode(), 0, 1), 1, 2));
+        Assert.assertTrue(array.getBackend() instanceof long[]);
+        Assert.assertEquals(2, array.getSize());
+    }
+
+    @Test
+    public void numericStringKeys() {
+        Assert.assertTrue(ArrayKey.isLongKey(PhpString.fromJavaString("0")));
+        Assert.assertTrue(ArrayKey.isLongKey(PhpString.fromJavaString("-15")));
+        Assert.assertTrue(ArrayKey.isLongKey(PhpString.fromJavaString("9223372036854775807")));
+        Assert.assertTrue(ArrayKey.isLongKey(PhpString.fromJavaString("-9223372036854775808")));
+        Assert.assertFalse(ArrayKey.isLongKey(PhpString.fromJavaString("9223372036854775808")));
+        Assert.assertFalse(ArrayKey.isLongKey(PhpString.fromJavaString("-0")));
+        Assert.assertFalse(ArrayKey.isLongKey(PhpString.fromJavaString("05")));
+        Assert.assertFalse(ArrayKey.isLongKey(PhpString.fromJavaString("5.0")));
+        Assert.assertFalse(ArrayKey.isLongKey(PhpString.fromJavaString("")));
+        Assert.assertFalse(ArrayKey.isLongKey(PhpString.fromJavaString("-")));
+        Assert.assertEquals(-15L, ArrayKey.toLongKey(PhpString.fromJavaString("-15")));
+        Assert.assertEquals(Long.MIN_VALUE,
+                ArrayKey.toLongKey(PhpString.fromJavaString("-9223372036854775808")));
+    }
+}
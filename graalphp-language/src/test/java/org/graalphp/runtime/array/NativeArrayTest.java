@@ -0,0 +1,49 @@
+package org.graalphp.runtime.array;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author abertschi
+ */
+public class NativeArrayTest {
+
+    private final ArrayLibrary arrays = ArrayLibrary.getUncached();
+
+    @Test
+    public void readWrite() {
+        NativeLongArray array = new NativeLongArray(4);
+        Assert.assertEquals(0L, arrays.read(array, 3));
+        arrays.write(array, 3, 42L);
+        Assert.assertEquals(42L, arrays.read(array, 3));
+    }
+
+    @Test(expected = ArrayIndexOutOfBoundsException.class)
+    public void outOfBounds() {
+        new NativeDoubleArray(4).get(4);
+    }
+
+    @Test
+    public void copyBetweenHeapAndNative() {
+        double[] heap = {1.5, 2.5, 3.5};
+        NativeDoubleArray array = new NativeDoubleArray(3);
+        arrays.copyRange(heap, 0, array, 0, 3);
+        NativeDoubleArray grown = (NativeDoubleArray) arrays.grow(array, 6);
+        double[] back = new double[3];
+        arrays.copyRange(grown, 0, back, 0, 3);
+        Assert.assertArrayEquals(heap, back, 0);
+        Assert.assertEquals(6, grown.capacity());
+        Assert.assertTrue(arrays.contentEquals(grown, heap, 3));
+    }
+
+    @Test
+    public void copyBetweenNativeArraysWithOffset() {
+        NativeLongArray source = new NativeLongArray(8);
+        source.fill(2, 6, 7L);
+        NativeLongArray destination = new NativeLongArray(8);
+        source.copyTo(1, destination, 3, 5);
+        long[] back = new long[8];
+        destination.copyTo(0, back, 0, 8);
+        Assert.assertArrayEquals(new long[]{0, 0, 0, 0, 7, 7, 7, 7}, back);
+    }
+}
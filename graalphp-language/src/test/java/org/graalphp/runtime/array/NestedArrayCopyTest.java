@@ -0,0 +1,75 @@
+package org.graalphp.runtime.array;
+
+import org.graalphp.language.TestCommons;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author abertschi
+ */
+public class NestedArrayCopyTest {
+
+    private static PhpArray row(long... values) {
+        final PhpArray row = ArrayFactory.newArray(values, values.length);
+        row.setSize(values.length);
+        return row;
+    }
+
+    @Test
+    public void nestedArraysAreCopiedOnWrite() {
+        final PhpArray row = row(1, 2);
+        final Object[] source = {row, 3L};
+        final Object[] copy = new Object[2];
+        ArrayLibrary.getUncached().copyDeepContents(source, copy, 2);
+
+        final PhpArray rowCopy = (PhpArray) copy[0];
+        Assert.assertNotSame(row, rowCopy);
+        Assert.assertSame(row.getBackend(), rowCopy.getBackend());
+        Assert.assertEquals(2, rowCopy.getSize());
+        Assert.assertTrue(row.isShared());
+        Assert.assertTrue(rowCopy.isShared());
+        Assert.assertEquals(3L, copy[1]);
+    }
+
+    @Test
+    public void hashArrayCopiesNestedArraysOnWrite() {
+        final PhpArray row = row(1);
+        final HashArray source = new HashArray(2);
+        source.put(-1, row);
+        final HashArray copy = new HashArray(2);
+        ArrayLibrary.getUncached().copyDeepContents(source, copy, 1);
+
+        final PhpArray rowCopy = (PhpArray) copy.get(-1);
+        Assert.assertNotSame(row, rowCopy);
+        Assert.assertSame(row.getBackend(), rowCopy.getBackend());
+        Assert.assertTrue(row.isShared());
+    }
+
+    @Test
+    public void writeToCopiedMatrixSeparatesRows() {
+        TestCommons.compareStdout("1191",
+                "$A = array(array(1, 1), array(1, 1)); $B = $A;"
+                        + " $B[1][0] = 9; $A[0][1] = 1;"
+                        + " print $A[1][0]; print $A[0][1]; print $B[1][0]; print $B[0][1];",
+                true);
+    }
+
+    @Test
+    public void iteratedArrayIsSharedOnlyDuringLoop() {
+        final PhpArray array = row(1, 2);
+        final Object backend = array.getBackend();
+        array.enterIteration();
+        Assert.assertTrue(array.isShared());
+        array.exitIteration(backend);
+        Assert.assertFalse(array.isShared());
+
+        array.enterIteration();
+        array.setSeparated();
+        array.setBackend(new long[2]);
+        array.enterIteration();
+        array.exitIteration(backend);
+        Assert.assertTrue(array.isShared());
+        array.exitIteration(array.getBackend());
+        Assert.assertFalse(array.isShared());
+    }
+}
@@ -0,0 +1,23 @@
+<?php
+// arrays of floats are stored unboxed
+// generalize if a different type is written
+
+$n = 5;
+$A = array();
+for($i = 0; $i < $n; $i ++) {
+    $A[$i] = $i + 0.5;
+}
+$A[$n] = 1;
+for($i = 0; $i <= $n; $i ++) {
+    println($A[$i]);
+}
+
+$B = array_fill(0, $n, 0.25);
+$B[1] = $B[0] * 2;
+println($B[0]);
+println($B[1]);
+
+$C = array(1.5, 2.5);
+println($C[0] + $C[1]);
+
+?>
@@ -0,0 +1,42 @@
+<?php
+// arrays share their backend when copied by value
+// backend is copied once either array is written to
+
+function modify($A) {
+    $A[0] = 100;
+    return $A[0];
+}
+
+$A = array(1, 2, 3);
+$B = $A;
+$B[0] = 10;
+println($A[0]); // 1
+println($B[0]); // 10
+
+$A[1] = 20;
+println($A[1]); // 20
+println($B[1]); // 2
+
+println(modify($A)); // 100
+println($A[0]); // 1
+
+// nested arrays are separated from their parent before a nested write
+$M = array(array(1, 2), array(3, 4));
+$N = $M;
+$N[1][0] = 30;
+println($M[1][0]); // 3
+println($N[1][0]); // 30
+
+$R = $M[0];
+$M[0][1] = 20;
+println($R[1]); // 2
+println($M[0][1]); // 20
+
+// reference to a nested array of a copied array
+$O = $M;
+$C = &$O[0];
+$C[0] = 10;
+println($O[0][0]); // 10
+println($M[0][0]); // 1
+
+?>
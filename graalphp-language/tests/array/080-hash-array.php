@@ -0,0 +1,36 @@
+<?php
+// arrays with negative, sparse or explicit keys are stored in a hash array
+
+$A = array();
+$A[-1] = 1;
+$A[-2] = 2;
+println($A[-1] + $A[-2]);
+
+$B = array(1, 2, 3);
+$B[1000000] = 4;
+$B[1] = 5;
+println($B[0]);
+println($B[1]);
+println($B[1000000]);
+
+$C = array(5 => 10, 20, -3 => 30, 1 => 40);
+println($C[5]);
+println($C[6]);
+println($C[-3]);
+println($C[1]);
+
+// copies are separated on write
+$D = $C;
+$D[5] = 50;
+println($C[5]);
+println($D[5]);
+
+// nested hash arrays
+$E = array(10 => array(7 => 1));
+$E[10][7] = 2;
+$F = $E;
+$F[10][7] = 3;
+println($E[10][7]);
+println($F[10][7]);
+
+?>
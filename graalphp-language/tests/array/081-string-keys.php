@@ -0,0 +1,48 @@
+<?php
+// string keys, numeric strings are integer keys
+
+$A = array("a" => 1, "b" => 2, 3);
+println($A["a"] + $A["b"]);
+println($A[0]);
+
+$A["c"] = 4;
+$A["a"] = 5;
+println($A["a"]);
+println($A["c"]);
+println(count($A));
+
+// "5" is the integer key 5, "05" is a string key
+$B = array();
+$B["5"] = 1;
+println($B[5]);
+$B["05"] = 2;
+println($B[5]);
+println($B["05"]);
+$B[] = 3;
+println($B[6]);
+
+// packed arrays convert to hash arrays
+$C = array(1, 2);
+$C["x"] = 3;
+println($C[1] + $C["x"]);
+
+// copies are separated on write
+$D = $C;
+$D["x"] = 4;
+println($C["x"]);
+println($D["x"]);
+
+// nested
+$E = array("outer" => array("inner" => 1));
+$E["outer"]["inner"] = 2;
+println($E["outer"]["inner"]);
+
+foreach ($A as $k => $v) {
+    println($k . "=" . $v);
+}
+
+// missing keys are not equal to null values
+println(array(1 => null) == array(2 => null) ? "equal" : "not equal");
+println(array("a" => 1, "b" => 2) == array("b" => 2, "a" => 1) ? "equal" : "not equal");
+
+?>
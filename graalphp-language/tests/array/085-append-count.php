@@ -0,0 +1,22 @@
+<?php
+// $A[] = v appends at the end, count() returns the number of elements
+$a = array();
+for ($i = 0; $i < 100; $i++) { $a[] = $i; }
+println(count($a));
+println($a[99]);
+$a[] = 1.5;
+println(count($a));
+println($a[100]);
+$b = array(5 => 1);
+$b[] = 2;
+println($b[6]);
+println(count($b));
+$c = array();
+if ($c) { println(1); } else { println(0); }
+$c[] = 3;
+if ($c) { println(1); } else { println(0); }
+$d = $c;
+$d[] = 4;
+println(count($c));
+println(count($d));
+?>
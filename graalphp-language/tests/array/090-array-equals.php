@@ -0,0 +1,31 @@
+<?php
+// arrays are equal if they have the same key/value pairs
+
+$A = array(1, 2, 3);
+$B = array(1, 2, 3);
+$C = array(1.0, 2, 3);
+$D = array(1, 2);
+$E = array(2 => 3, 0 => 1, 1 => 2);
+$F = array(array(1), array(2));
+$G = array(array(1), array(2));
+
+println($A == $B);
+println($A == $C);
+println($A != $D);
+println($A == $E);
+println($F == $G);
+$G[1][0] = 3;
+println($F != $G);
+
+// missing keys are unequal, elements are compared like ==
+println(array(null) == array(1 => null) ? 1 : 0);
+println(array(1) == array("1") ? 1 : 0);
+println(array(1) == array(true) ? 1 : 0);
+println(array(0) == array(null) ? 1 : 0);
+println(array("abc") == array(0) ? 1 : 0);
+println(array(null) == array("0") ? 1 : 0);
+
+$H = array_fill(0, 3, 7);
+println($H[0] + $H[1] + $H[2]);
+
+?>
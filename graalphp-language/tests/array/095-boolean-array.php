@@ -0,0 +1,42 @@
+<?php
+// sieve of eratosthenes on a flag array
+
+function sieve($n) {
+    $flags = array_fill(0, $n + 1, true);
+    $flags[0] = false;
+    $flags[1] = false;
+    $i = 2;
+    while ($i * $i <= $n) {
+        if ($flags[$i]) {
+            $j = $i * $i;
+            while ($j <= $n) {
+                $flags[$j] = false;
+                $j = $j + $i;
+            }
+        }
+        $i = $i + 1;
+    }
+    $count = 0;
+    $i = 0;
+    while ($i <= $n) {
+        if ($flags[$i]) {
+            $count = $count + 1;
+        }
+        $i = $i + 1;
+    }
+    return $count;
+}
+
+println(sieve(100));
+println(sieve(10000));
+
+$visited = array();
+$visited[] = false;
+$visited[] = true;
+println($visited[1]);
+println(count($visited));
+
+$visited[] = 5;
+println($visited[2] + $visited[1]);
+
+?>
@@ -0,0 +1,50 @@
+<?php
+// foreach by value, by reference and with keys
+
+function sum($A) {
+    $s = 0;
+    foreach ($A as $v) {
+        $s = $s + $v;
+    }
+    return $s;
+}
+
+$A = array_fill(0, 100, 2);
+println(sum($A));
+
+$D = array(1.5, 2.5);
+println(sum($D));
+
+foreach ($A as &$v) {
+    $v = $v + 1;
+}
+unset($v);
+println(sum($A));
+
+$H = array(3 => 1, -2 => 2, 10 => 3);
+foreach ($H as $k => $v) {
+    print($k);
+    print($v);
+}
+println(-1);
+
+$M = array(array(1, 2), array(3, 4));
+foreach ($M as $row) {
+    $row[0] = 0;
+}
+println($M[0][0]);
+
+foreach ($M as &$row) {
+    $row[0] = 0;
+}
+unset($row);
+println($M[0][0] + $M[1][0]);
+
+foreach ($M as $i => $row) {
+    foreach ($row as $j => $v) {
+        print($v);
+    }
+}
+println(-1);
+
+?>
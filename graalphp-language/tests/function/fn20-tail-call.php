@@ -0,0 +1,55 @@
+<?php
+// deep tail recursion must not grow the stack
+function sum($n, $acc) {
+    if ($n == 0) {
+        return $acc;
+    }
+    return sum($n - 1, $acc + $n);
+}
+
+// arrays are passed by value in each tail call
+function fill($A, $i) {
+    while ($i < 10) {
+        $A[$i] = $i;
+        return fill($A, $i + 1);
+    }
+    return $A;
+}
+
+function count_down($n) {
+    if ($n > 0) {
+        println($n);
+        return count_down($n - 1);
+    }
+    return 0;
+}
+
+// locals are undefined in each tail call like in a new invocation
+function f($n, $first) {
+    if ($first) {
+        $a = array();
+    }
+    $a[] = $n;
+    if ($n == 0) {
+        return count($a);
+    }
+    return f($n - 1, false);
+}
+
+// tail calls pass parameters which had their default value in the first call
+function acc($n, $acc = 0) {
+    if ($n == 0) {
+        return $acc;
+    }
+    return acc($n - 1, $acc + $n);
+}
+
+println(sum(1000000, 0));
+$A = array(0);
+$B = fill($A, 0);
+println($B[9]);
+println(count($A));
+count_down(3);
+println(f(3, true));
+println(acc(5));
+?>
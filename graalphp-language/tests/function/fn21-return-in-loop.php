@@ -0,0 +1,69 @@
+<?php
+function find($A, $x) {
+    for ($i = 0; $i < count($A); $i++) {
+        if ($A[$i] == $x) {
+            return $i;
+        }
+    }
+    return -1;
+}
+
+function nested($n) {
+    $i = 0;
+    while (true) {
+        $j = 0;
+        do {
+            if ($i * $j == $n) {
+                return $i + $j;
+            }
+            $j++;
+        } while ($j < 10);
+        $i++;
+    }
+}
+
+// while loop nested in foreach, foreach does not report completions
+function in_foreach($A) {
+    foreach ($A as $v) {
+        $i = 0;
+        while ($i < 5) {
+            if ($v + $i == 7) {
+                return $v;
+            }
+            $i++;
+        }
+    }
+    return 0;
+}
+
+function loop_break() {
+    $s = 0;
+    $i = 0;
+    while ($i < 100) {
+        $i++;
+        if ($i == 10) {
+            break;
+        }
+        if ($i > 5) {
+            continue;
+        }
+        $s = $s + $i;
+    }
+    return $s;
+}
+
+$A = array(5, 3, 9, 1);
+println(find($A, 9));
+println(find($A, 4));
+println(nested(12));
+println(in_foreach(array(1, 2, 3, 4, 5)));
+println(loop_break());
+$k = 0;
+while ($k < 100) {
+    $k++;
+    if ($k == 3) {
+        break;
+    }
+}
+println($k);
+?>
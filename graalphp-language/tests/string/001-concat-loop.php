@@ -0,0 +1,31 @@
+<?php
+// build a string with repeated .= and output it
+
+function row($i) {
+    $r = "<tr>";
+    $j = 0;
+    while ($j < 3) {
+        $r .= "<td>" . ($i * 3 + $j) . "</td>";
+        $j = $j + 1;
+    }
+    return $r . "</tr>\n";
+}
+
+$html = "<table>\n";
+$i = 0;
+while ($i < 3) {
+    $html .= row($i);
+    $i = $i + 1;
+}
+$html .= "</table>\n";
+print($html);
+
+$s = '';
+$i = 0;
+while ($i < 100000) {
+    $s .= 'x';
+    $i = $i + 1;
+}
+println(strlen($s));
+
+?>
@@ -9,8 +9,11 @@ fi
 
 # install gu if now available
 
+# builtins and prelude of a pre-initialized context are stored in the image heap
 "$JAVA_HOME"/bin/native-image \
     --macro:truffle --no-fallback --initialize-at-build-time \
+    -Dpolyglot.engine.PreinitializeContexts=php \
+    -H:IncludeResources=org/graalphp/prelude.php \
     -cp ../graalphp-language/target/graalphp.jar:../graalphp-launcher/target/graalphp-launcher.jar \
     org.graalphp.launcher.GraalPhpMain \
     graalphp-native